@@ -0,0 +1,83 @@
+package com.java.stream.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Advanced Collectors Benchmark
+ * Measures the collectors of AdvancedCollectors on a large list of fruit names
+ * with a bounded number of distinct values.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class AdvancedCollectorsBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"1024"})
+    public int distinct;
+
+    private List<String> fruits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fruits = BenchmarkData.fruits(size, distinct);
+    }
+
+    @Benchmark
+    public List<String> toList() {
+        return fruits.stream().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Set<String> toSet() {
+        return fruits.stream().collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Map<String, Integer> toMap() {
+        return fruits.stream().distinct()
+                .collect(Collectors.toMap(fruit -> fruit, String::length));
+    }
+
+    @Benchmark
+    public String joining() {
+        return fruits.stream().collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingBy() {
+        return fruits.stream().collect(Collectors.groupingBy(String::length));
+    }
+
+    @Benchmark
+    public Map<Boolean, List<String>> partitioningBy() {
+        return fruits.stream().collect(Collectors.partitioningBy(fruit -> fruit.length() > 5));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> parallelGroupingBy(PoolState pool) {
+        return pool.invoke(() -> fruits.parallelStream().collect(Collectors.groupingBy(String::length)));
+    }
+}
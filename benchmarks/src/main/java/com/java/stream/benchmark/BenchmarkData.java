@@ -0,0 +1,73 @@
+package com.java.stream.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.java.stream.customclass.Employee;
+
+/**
+ * Benchmark Data
+ * Builds the datasets used by the benchmarks. The generated data mirrors the samples
+ * hard-coded in the example classes, scaled up to the requested size.
+ * A fixed seed keeps every run (and every fork) on exactly the same input.
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 42L;
+
+    private static final String[] FRUITS = {"Apple", "Banana", "Orange", "Grapes", "Mango", "Peach", "Cherry", "Avocado"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales", "Operations"};
+    private static final String[] JOB_TITLES = {"Software Engineer", "HR Manager", "DevOps Engineer", "Financial Analyst",
+            "Finance Manager", "Quality Analyst", "System Administrator", "Recruitment Specialist"};
+    private static final String[] EMPLOYMENT_TYPES = {"Full-time", "Part-time", "Contract"};
+    private static final String[] SKILLS = {"Java", "Python", "Communication", "Recruiting", "DevOps", "Accounting",
+            "Management", "Leadership", "Testing", "Linux", "Networking", "Interviewing"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The boxed 1..size dataset used by ParallelSplitting, ParallelismControl and PerformanceOptimizations.
+     */
+    static List<Integer> integers(int size) {
+        return IntStream.rangeClosed(1, size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fruit names with a bounded number of distinct values, like the AdvancedCollectors sample.
+     */
+    static List<String> fruits(int size, int distinct) {
+        List<String> fruits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int n = i % distinct;
+            fruits.add(FRUITS[n % FRUITS.length] + (n < FRUITS.length ? "" : "-" + n));
+        }
+        return fruits;
+    }
+
+    /**
+     * Random employees shaped like the MapFeatures sample (low-cardinality departments and job titles).
+     */
+    static List<Employee> employees(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "Employee " + i,
+                    1000 + i,
+                    30_000 + random.nextInt(70_000),
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    JOB_TITLES[random.nextInt(JOB_TITLES.length)],
+                    random.nextInt(1, 31),
+                    EMPLOYMENT_TYPES[random.nextInt(EMPLOYMENT_TYPES.length)],
+                    Arrays.asList(SKILLS[random.nextInt(SKILLS.length)], SKILLS[random.nextInt(SKILLS.length)])));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,151 @@
+package com.java.stream.benchmark;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.collector.CountingCollectors;
+import com.java.stream.collector.MultiCollector;
+import com.java.stream.customclass.Employee;
+import com.java.stream.customclass.IndexedEmployees;
+
+/**
+ * Map Features Benchmark
+ * Measures the most common MapFeatures queries (counting, toMap by id, grouping by skill,
+ * max salary per department, high earners per department) on generated employees,
+ * compares selective filters with the IndexedEmployees lookups, and parallel counting with groupingBy,
+ * groupingByConcurrent and the striped CountingCollectors.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class MapFeaturesBenchmark {
+
+    /** At about 150 bytes per Employee plus the indexes, 10M employees is what fits in the fork's 8 GB heap. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private static final MultiCollector.Key<Employee, Map<String, Long>> BY_DEPARTMENT = MultiCollector.key("byDepartment",
+            Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+    private static final MultiCollector.Key<Employee, Map<String, Optional<Integer>>> MAX_SALARY = MultiCollector.key("maxSalaryByDepartment",
+            Collectors.groupingBy(Employee::getDepartment, Collectors.mapping(Employee::getSalary, Collectors.maxBy(Integer::compareTo))));
+    private static final MultiCollector.Key<Employee, Map<String, Long>> HIGH_EARNERS = MultiCollector.key("highEarnersByDepartment",
+            Collectors.filtering(employee -> employee.getSalary() > 50000,
+                    Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
+
+    private List<Employee> employees;
+    private IndexedEmployees indexedEmployees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = BenchmarkData.employees(size);
+        indexedEmployees = IndexedEmployees.of(employees);
+    }
+
+    @Benchmark
+    public Map<String, Long> countByDepartment() {
+        return employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Employee> toMapById() {
+        return employees.stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+    }
+
+    @Benchmark
+    public Map<String, List<Employee>> groupBySkill() {
+        return employees.stream()
+                .flatMap(employee -> employee.getSkills().stream()
+                        .map(skill -> new AbstractMap.SimpleEntry<>(skill, employee)))
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+    }
+
+    @Benchmark
+    public Map<String, Optional<Integer>> maxSalaryByDepartment() {
+        return employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment,
+                        Collectors.mapping(Employee::getSalary, Collectors.maxBy(Integer::compareTo))));
+    }
+
+    @Benchmark
+    public Map<String, Long> highEarnersByDepartment() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() > 50000)
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> topEarnersByDepartmentScan() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() > 95000)
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> topEarnersByDepartmentIndexed() {
+        return indexedEmployees.withSalaryAbove(95000)
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+    }
+
+    @Benchmark
+    public List<Employee> skillLookupScan() {
+        return employees.stream()
+                .filter(employee -> employee.getSkills().contains("Java"))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> skillLookupIndexed() {
+        return indexedEmployees.withSkill("Java").collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<String, Long> parallelCountByDepartment(PoolState pool) {
+        return pool.invoke(() -> employees.parallelStream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> parallelCountByDepartmentConcurrent(PoolState pool) {
+        return pool.invoke(() -> employees.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Employee::getDepartment, Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> parallelCountByDepartmentStriped(PoolState pool) {
+        return pool.invoke(() -> employees.parallelStream()
+                .collect(CountingCollectors.countingBy(Employee::getDepartment)));
+    }
+
+    @Benchmark
+    public Object[] threeSeparatePasses() {
+        return new Object[] {countByDepartment(), maxSalaryByDepartment(), highEarnersByDepartment()};
+    }
+
+    @Benchmark
+    public MultiCollector.Results threeReportsSinglePass() {
+        return employees.stream().collect(MultiCollector.of(BY_DEPARTMENT, MAX_SALARY, HIGH_EARNERS));
+    }
+}
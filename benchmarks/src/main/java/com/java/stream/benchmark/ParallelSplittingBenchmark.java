@@ -0,0 +1,95 @@
+package com.java.stream.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.batch.IntBatchStream;
+import com.java.stream.collector.UnorderedCollectors;
+import com.java.stream.primitive.IntList;
+
+/**
+ * Parallel Splitting Benchmark
+ * Measures the parallel filter/map/collect pipeline of ParallelSplitting
+ * for different dataset sizes and ForkJoinPool sizes, on boxed, primitive and batch-at-a-time streams.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelSplittingBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private List<Integer> largeDataset;
+    private IntList primitiveDataset;
+    private int[] primitiveArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        largeDataset = BenchmarkData.integers(size);
+        primitiveDataset = IntList.rangeClosed(1, size);
+        primitiveArray = primitiveDataset.toArray();
+    }
+
+    @Benchmark
+    public List<Integer> parallelFilterMapCollect(PoolState pool) {
+        return pool.invoke(() -> largeDataset.parallelStream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public IntList primitiveFilterMapCollect(PoolState pool) {
+        return pool.invoke(() -> IntList.from(primitiveDataset.parallelStream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)));
+    }
+
+    @Benchmark
+    public List<Integer> unorderedFilterMapCollect(PoolState pool) {
+        return pool.invoke(() -> largeDataset.parallelStream()
+                .unordered()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)
+                .collect(UnorderedCollectors.toUnorderedList()));
+    }
+
+    @Benchmark
+    public int[] batchFilterMapCollect(PoolState pool) {
+        return pool.invoke(() -> IntBatchStream.of(primitiveArray).parallel()
+                .filterBatch((values, selection, size) -> {
+                    int kept = 0;
+                    for (int i = 0; i < size; i++) {
+                        int position = selection[i];
+                        if (values[position] % 2 == 0) {
+                            selection[kept++] = position;
+                        }
+                    }
+                    return kept;
+                })
+                .mapBatch((values, length) -> {
+                    for (int i = 0; i < length; i++) {
+                        values[i] *= 2;
+                    }
+                })
+                .toArray());
+    }
+}
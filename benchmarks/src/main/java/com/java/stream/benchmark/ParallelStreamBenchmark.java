@@ -0,0 +1,98 @@
+package com.java.stream.benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.customclass.Employee;
+import com.java.stream.primitive.PrimitiveSorts;
+
+/**
+ * Parallel Stream Benchmark
+ * Compares sorted() on (parallel) streams, as in ParallelStream example 6, with PrimitiveSorts:
+ * random ints, and employees sorted by salary.
+ * The int and Employee datasets are separate states, so the int sorts do not build employees and the
+ * Employee sizes stay within the fork's heap (about 150 bytes per Employee).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ParallelStreamBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Numbers {
+
+        @Param({"1000", "100000", "10000000", "100000000"})
+        public int size;
+
+        int[] numbers;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            numbers = new SplittableRandom(42L).ints(size).toArray();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Employees {
+
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int employeeCount;
+
+        List<Employee> employees;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            employees = BenchmarkData.employees(employeeCount);
+        }
+    }
+
+    @Benchmark
+    public int[] parallelStreamSorted(Numbers data) {
+        return Arrays.stream(data.numbers).parallel().sorted().toArray();
+    }
+
+    @Benchmark
+    public int[] primitiveSort(Numbers data) {
+        int[] copy = data.numbers.clone();
+        PrimitiveSorts.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public int[] radixSort(Numbers data) {
+        int[] copy = data.numbers.clone();
+        PrimitiveSorts.radixSort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Employee> employeesSortedByComparator(Employees data) {
+        return data.employees.parallelStream()
+                .sorted(Comparator.comparingInt(Employee::getSalary))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> employeesSortedByIntKey(Employees data) {
+        return PrimitiveSorts.sortByInt(data.employees, Employee::getSalary);
+    }
+}
@@ -0,0 +1,76 @@
+package com.java.stream.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.primitive.IntList;
+
+/**
+ * Parallelism Control Benchmark
+ * Compares the sequential and the parallel version of the ParallelismControl pipeline.
+ * The sequential benchmark ignores the pool, so it only varies with the dataset size.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelismControlBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private List<Integer> largeDataset;
+    private IntList primitiveDataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        largeDataset = BenchmarkData.integers(size);
+        primitiveDataset = IntList.rangeClosed(1, size);
+    }
+
+    @Benchmark
+    public List<Integer> sequential() {
+        return largeDataset.stream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> parallel(PoolState pool) {
+        return pool.invoke(() -> largeDataset.parallelStream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public IntList primitiveSequential() {
+        return IntList.from(primitiveDataset.stream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2));
+    }
+
+    @Benchmark
+    public IntList primitiveParallel(PoolState pool) {
+        return pool.invoke(() -> IntList.from(primitiveDataset.parallelStream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)));
+    }
+}
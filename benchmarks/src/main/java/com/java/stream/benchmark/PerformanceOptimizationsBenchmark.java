@@ -0,0 +1,106 @@
+package com.java.stream.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.fusion.FusedPipeline;
+import com.java.stream.primitive.IntList;
+
+/**
+ * Performance Optimizations Benchmark
+ * Compares the fused filter/map pipeline of PerformanceOptimizations
+ * with the version that collects an intermediate list between the two steps,
+ * and the primitive stream with the same query compiled by FusedPipeline.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class PerformanceOptimizationsBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private static final Function<int[], int[]> DOUBLED_EVENS = FusedPipeline.ints()
+            .filter(num -> num % 2 == 0)
+            .map(num -> num * 2)
+            .toArray();
+
+    private static final ToLongFunction<int[]> SUM_OF_DOUBLED_EVENS = FusedPipeline.ints()
+            .filter(num -> num % 2 == 0)
+            .mapToLong(num -> num * 2L)
+            .sum();
+
+    private List<Integer> largeDataset;
+    private IntList primitiveDataset;
+    private int[] primitiveArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        largeDataset = BenchmarkData.integers(size);
+        primitiveDataset = IntList.rangeClosed(1, size);
+        primitiveArray = primitiveDataset.toArray();
+    }
+
+    @Benchmark
+    public List<Integer> fused() {
+        return largeDataset.stream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> intermediateList() {
+        List<Integer> nonOptimizedResult = largeDataset.stream()
+                .filter(num -> num % 2 == 0)
+                .collect(Collectors.toList());
+        return nonOptimizedResult.stream()
+                .map(num -> num * 2)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public IntList primitive() {
+        return IntList.from(primitiveDataset.stream()
+                .filter(num -> num % 2 == 0)
+                .map(num -> num * 2));
+    }
+
+    @Benchmark
+    public int[] fusedPipeline() {
+        return DOUBLED_EVENS.apply(primitiveArray);
+    }
+
+    @Benchmark
+    public long primitiveStreamSum() {
+        return Arrays.stream(primitiveArray)
+                .filter(num -> num % 2 == 0)
+                .mapToLong(num -> num * 2L)
+                .sum();
+    }
+
+    @Benchmark
+    public long fusedPipelineSum() {
+        return SUM_OF_DOUBLED_EVENS.applyAsLong(primitiveArray);
+    }
+}
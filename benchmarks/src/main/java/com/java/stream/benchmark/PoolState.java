@@ -0,0 +1,40 @@
+package com.java.stream.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Pool State
+ * Runs parallel pipelines on a ForkJoinPool of the given size instead of the common pool,
+ * so the thread count becomes a benchmark parameter.
+ * A parallel stream started from a task of a ForkJoinPool executes all its subtasks in that pool.
+ */
+@State(Scope.Benchmark)
+public class PoolState {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    <T> T invoke(Callable<T> task) {
+        return pool.submit(task).join();
+    }
+}
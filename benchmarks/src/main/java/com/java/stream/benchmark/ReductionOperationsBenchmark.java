@@ -0,0 +1,106 @@
+package com.java.stream.benchmark;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.stream.primitive.PrimitiveReductions;
+
+/**
+ * Reduction Operations Benchmark
+ * Measures the reductions of ReductionOperations (sum, product, max, count, average)
+ * on a large boxed list, plus the parallel sum on a pool of the given size, and compares
+ * IntStream.summaryStatistics() with the PrimitiveReductions kernels (Vector API and scalar fallback).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ReductionOperationsBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    private List<Integer> numbers;
+    private int[] primitiveNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numbers = BenchmarkData.integers(size);
+        primitiveNumbers = new SplittableRandom(42L).ints(size).toArray();
+    }
+
+    @Benchmark
+    public int sum() {
+        return numbers.stream().reduce(0, (a, b) -> a + b);
+    }
+
+    @Benchmark
+    public int product() {
+        return numbers.stream().reduce(1, (a, b) -> a * b);
+    }
+
+    @Benchmark
+    public int max() {
+        return numbers.stream().reduce(Integer.MIN_VALUE, (a, b) -> a > b ? a : b);
+    }
+
+    @Benchmark
+    public long count() {
+        return numbers.stream().count();
+    }
+
+    @Benchmark
+    public OptionalDouble average() {
+        return numbers.stream().mapToInt(Integer::intValue).average();
+    }
+
+    @Benchmark
+    public int parallelSum(PoolState pool) {
+        return pool.invoke(() -> numbers.parallelStream().reduce(0, Integer::sum));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics intStreamStatistics() {
+        return Arrays.stream(primitiveNumbers).summaryStatistics();
+    }
+
+    @Benchmark
+    public IntSummaryStatistics arrayStatistics() {
+        return PrimitiveReductions.summaryStatistics(primitiveNumbers);
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-Dstream.vector.enabled=false"})
+    public IntSummaryStatistics arrayStatisticsScalar() {
+        return PrimitiveReductions.summaryStatistics(primitiveNumbers);
+    }
+
+    @Benchmark
+    public IntSummaryStatistics parallelIntStreamStatistics(PoolState pool) {
+        return pool.invoke(() -> Arrays.stream(primitiveNumbers).parallel().summaryStatistics());
+    }
+
+    @Benchmark
+    public IntSummaryStatistics parallelArrayStatistics(PoolState pool) {
+        return pool.invoke(() -> PrimitiveReductions.parallelSummaryStatistics(primitiveNumbers));
+    }
+}
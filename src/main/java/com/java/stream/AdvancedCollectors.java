@@ -1,8 +1,13 @@
 package com.java.stream;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import com.java.stream.io.ChannelExporter;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -15,7 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AdvancedCollectors {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Sample data: a list of fruits
         List<String> fruits = Arrays.asList("Apple", "Banana", "Orange", "Grapes", "Banana", "Mango", "Peach", "Orange");
 
@@ -39,6 +44,14 @@ public class AdvancedCollectors {
                 .collect(Collectors.joining(", ", "[", "]"));
         log.info("Joined Fruit String: " + fruitString);
 
+        // joining() holds the whole result in memory; to write it out, ChannelExporter streams one line per element
+        // straight to a channel (here a file) through reusable direct buffers
+        Path fruitFile = Files.createTempFile("fruits", ".csv");
+        long bytesWritten = new ChannelExporter<String>((fruit, out) -> out.writeCsvField(fruit), "fruit")
+                .export(fruits.stream(), fruitFile);
+        log.info("Exported " + bytesWritten + " bytes: " + Files.readAllLines(fruitFile));
+        Files.delete(fruitFile);
+
         // 5. groupingBy(): Grouping elements by a classifier function
         Map<Integer, List<String>> groupedByLength = fruits.stream()
                 .collect(Collectors.groupingBy(String::length));
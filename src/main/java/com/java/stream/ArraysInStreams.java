@@ -1,6 +1,10 @@
 package com.java.stream;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.java.stream.primitive.PrimitiveReductions;
+import com.java.stream.primitive.PrimitiveSorts;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,6 +44,9 @@ public class ArraysInStreams {
                                .orElse(0.0); // Provide default if empty
         log.info("Average: " + average);
 
+        // The same average straight from the array, reduced a SIMD register at a time
+        log.info("Average (array kernel): " + PrimitiveReductions.average(doubleArray).orElse(0.0));
+
         // Example 4: Working with an Array of Characters
         Character[] charArray = {'a', 'b', 'c', 'd', 'e'};
 
@@ -47,5 +54,14 @@ public class ArraysInStreams {
         Arrays.stream(charArray) // Convert char array to Character array
               .sorted((c1, c2) -> c2.compareTo(c1)) // Sort in reverse order
               .forEach(System.out::print); // Print sorted characters
+
+        // The same with a primitive char[]: no Character boxing or comparator calls
+        char[] primitiveCharArray = {'c', 'a', 'e', 'b', 'd'};
+
+        log.info("\nCharacters in reverse order (PrimitiveSorts):");
+        PrimitiveSorts.sort(primitiveCharArray); // Sort the chars themselves
+        IntStream.range(0, primitiveCharArray.length)
+              .map(i -> primitiveCharArray[primitiveCharArray.length - 1 - i]) // Walk the sorted array backwards
+              .forEach(c -> System.out.print((char) c)); // Print sorted characters
     }
 }
@@ -4,6 +4,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.java.stream.source.ArithmeticSequence;
+import com.java.stream.source.LinearRecurrence;
+import com.java.stream.source.RandomSources;
+import com.java.stream.window.Window;
+import com.java.stream.window.Windows;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -30,6 +36,25 @@ public class InfiniteStreams {
 
         log.info("Random Numbers: " + randomNumbers);  // Output: Random Numbers: [e.g., 0.43, 0.12, ...]
 
+        /**
+         * Splittable Random Sources
+         * Math::random shares one generator between all threads. RandomSources gives every block of the stream its own
+         * generator, seeded from the stream seed, so Monte-Carlo workloads scale with the cores and produce the same
+         * numbers sequentially and in parallel.
+         * Here each random long is used as a point (upper 32 bits = x, lower 32 bits = y) to estimate Pi.
+         */
+        long samples = 10_000_000;
+        long insideCircle = RandomSources.longs(42, samples)  // Seeded, sized and splittable
+            .parallel()
+            .filter(bits -> {
+                double x = (bits >>> 32) * 0x1.0p-32;
+                double y = (bits & 0xFFFFFFFFL) * 0x1.0p-32;
+                return x * x + y * y <= 1.0;
+            })
+            .count();
+
+        log.info("Monte-Carlo Pi Estimate: " + 4.0 * insideCircle / samples);  // Output: Monte-Carlo Pi Estimate: 3.14...
+
         /**
          * Stream.iterate() Example
          * This operation creates an infinite stream where each element is generated based on the previous one.
@@ -53,5 +78,36 @@ public class InfiniteStreams {
             .collect(Collectors.toList());  // Collects the result into a list
 
         log.info("Fibonacci Numbers: " + fibonacciNumbers);  // Output: Fibonacci Numbers: [0, 1, 1, 2, 3, 5, ...]
+
+        /**
+         * Splittable Sequence Sources
+         * Stream.iterate() cannot be split, because every element depends on the previous one.
+         * ArithmeticSequence computes element k directly and LinearRecurrence jumps to element k with matrix powers,
+         * so both can be generated in parallel on primitive streams, without allocating anything per element.
+         */
+        long sumOfEvens = ArithmeticSequence.longs(0, 2, 100_000_000)  // The first 100 million even numbers
+            .parallel()  // Each split starts directly at its own index
+            .sum();
+
+        log.info("Sum of the first 100 million Even Numbers: " + sumOfEvens);  // Output: 9999999900000000
+
+        List<Long> splittableFibonacci = LinearRecurrence.fibonacci()
+            .longs(10)  // The first 10 Fibonacci numbers, no int[] pair per element
+            .boxed()
+            .collect(Collectors.toList());
+
+        log.info("Splittable Fibonacci Numbers: " + splittableFibonacci);  // Output: [0, 1, 1, 2, 3, 5, ...]
+
+        /**
+         * Windows over an Infinite Stream
+         * A sliding window of the last 100 random readings, updated incrementally per reading: only the 100 readings
+         * of the current window are kept, so the search below runs in constant memory however long it takes.
+         */
+        Window firstSpike = Windows.sliding(Stream.generate(() -> (long) (Math.random() * 1000)), 100, reading -> reading)
+            .filter(window -> window.max() - window.min() > 990)  // Short-circuits at the first window with a large spread
+            .findFirst()
+            .orElseThrow();
+
+        log.info("First window with a spread above 990: " + firstSpike);  // Output: Window[start=..., end=..., count=100, ...]
     }
 }
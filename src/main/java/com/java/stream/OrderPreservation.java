@@ -3,6 +3,11 @@ package com.java.stream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.java.stream.collector.StripedListSink;
+import com.java.stream.collector.UnorderedCollectors;
+import com.java.stream.window.Windows;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -48,6 +53,52 @@ public class OrderPreservation {
 
         // Display the unordered result
         log.info("Unordered Result: " + unorderedResult);
+
+        /**
+        Collectors.toList() still merges the per-thread lists of a parallel stream pairwise up the fork-join tree,
+        even after unordered(). UnorderedCollectors.toUnorderedList() is a concurrent collector: all threads append
+        to one striped sink, and the chunks are joined once at the end.
+        */
+        List<Integer> largeUnorderedResult = IntStream.rangeClosed(1, 1_000_000).boxed()
+                .parallel()
+                .unordered() // Explicitly specify unordered processing
+                .filter(num -> num % 2 == 0) // Filter even numbers
+                .map(num -> num * 2)         // Double each even number
+                .collect(UnorderedCollectors.toUnorderedList()); // Collect without merge copying
+
+        log.info("Large Unordered Result Size: " + largeUnorderedResult.size());
+
+        // The same sink can be used directly as the action of a parallel forEach
+        StripedListSink<Integer> sink = new StripedListSink<>();
+        IntStream.rangeClosed(1, 1_000_000).boxed()
+                .parallel()
+                .filter(num -> num % 2 == 0)
+                .forEach(sink);
+
+        log.info("Sink Result Size: " + sink.toList().size());
+
+        /**
+        Windows depend on order: aggregating a time series over windows only makes sense in timestamp order.
+        Windows keeps incremental count/sum/min/max per window instead of collecting each window into a list.
+        */
+        // Activity log of (minute, requests) pairs, in time order
+        List<long[]> activity = Arrays.asList(
+                new long[] {0, 12}, new long[] {1, 15}, new long[] {2, 9}, new long[] {3, 30}, new long[] {4, 28},
+                new long[] {9, 5}, new long[] {10, 7}, new long[] {11, 6}, new long[] {25, 40}, new long[] {26, 35});
+
+        // Tumbling windows of 5 minutes
+        Windows.tumblingByTime(activity.stream(), entry -> entry[0], 5, entry -> entry[1])
+                .forEach(window -> log.info("Minutes [" + window.start() + ", " + window.end() + "): " + window.sum() + " requests"));
+
+        // Sliding window of 3 entries: moving average and maximum
+        Windows.sliding(activity.stream(), 3, entry -> entry[1])
+                .forEach(window -> log.info("Entries [" + window.start() + ", " + window.end() + "): average "
+                        + window.average() + ", max " + window.max()));
+
+        // Sessions: activity separated by more than 5 quiet minutes
+        Windows.session(activity.stream(), entry -> entry[0], 5, entry -> entry[1])
+                .forEach(window -> log.info("Session from minute " + window.start() + " to " + window.end() + ": "
+                        + window.count() + " entries, " + window.sum() + " requests"));
     }
 }
 
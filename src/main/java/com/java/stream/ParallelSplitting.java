@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.java.stream.batch.IntBatchStream;
+import com.java.stream.primitive.IntList;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -38,5 +41,45 @@ public class ParallelSplitting {
 
         // Display the processed result
         log.info("Processed List: " + processedList);
+
+        /**
+        Primitive Splitting:
+        The same pipeline on an IntList never creates Integer objects. The dataset is a flat int[] (4 bytes per element),
+        so every chunk handed to a worker thread is a contiguous slice of memory instead of a list of pointers.
+        */
+        IntList primitiveDataset = IntList.rangeClosed(1, 1_000_000);
+
+        IntList primitiveResult = IntList.from(primitiveDataset.parallelStream()
+                .filter(num -> num % 2 == 0)    // Filter even numbers
+                .map(num -> num * 2));          // Double each even number
+
+        log.info("Processed IntList Size: " + primitiveResult.size());
+
+        /**
+        Batch Splitting:
+        IntBatchStream splits the dataset into ranges of whole 1024-value batches. Each stage is called once per batch
+        with the batch's int[]: the filter only records which positions passed (a selection vector), and mapBatch
+        doubles the surviving values in a single loop the JIT can vectorize.
+        */
+        int[] batchResult = IntBatchStream.range(1, 1_000_001)
+                .parallel()
+                .filterBatch((values, selection, size) -> {   // Filter even numbers
+                    int kept = 0;
+                    for (int i = 0; i < size; i++) {
+                        int position = selection[i];
+                        if (values[position] % 2 == 0) {
+                            selection[kept++] = position;
+                        }
+                    }
+                    return kept;
+                })
+                .mapBatch((values, length) -> {                 // Double each even number
+                    for (int i = 0; i < length; i++) {
+                        values[i] *= 2;
+                    }
+                })
+                .toArray();
+
+        log.info("Processed Batch Result Size: " + batchResult.length);
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.java.stream;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.java.stream.collector.TopCollectors;
+import com.java.stream.primitive.PrimitiveSorts;
+import com.java.stream.source.RandomSources;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -74,5 +79,18 @@ public class ParallelStream {
         // Example 7: Counting Elements in Parallel
         long count = names.parallelStream().count();  // Count the number of names
         log.info("Count of names: {}", count);
+
+        // Example 8: Top-K with Parallel Stream (each thread keeps a heap of k names instead of sorting everything)
+        log.info("First 2 sorted names: {}",
+                names.parallelStream()
+                .collect(TopCollectors.bottomK(2, Comparator.naturalOrder())));
+
+        // Example 9: Sorting primitives without a Stream
+        // IntStream.parallel().sorted() ends up in Arrays.parallelSort too, but only after buffering the stream;
+        // sorting the array directly skips that copy, and radix sorts arrays below the parallel threshold
+        int[] randomNumbers = RandomSources.ints(42L, 1_000_000, 0, 1_000_000).toArray();
+        PrimitiveSorts.sort(randomNumbers);
+        log.info("Smallest of a million random numbers: {}",
+                Arrays.toString(Arrays.copyOf(randomNumbers, 5)));
     }
 }
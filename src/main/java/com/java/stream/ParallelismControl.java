@@ -1,15 +1,22 @@
 package com.java.stream;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.java.stream.execution.ParallelStreamExecutor;
+import com.java.stream.execution.PoolSettings;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Built-in Parallelism Control Example
  * This class demonstrates how to switch between parallel and sequential stream processing modes.
  * It includes examples of processing a large dataset in both modes and comparing the results.
+ * The timings logged here come from a single cold run and mostly show JIT warm-up and GC noise;
+ * use the JMH benchmarks in the benchmarks module to compare the variants with data.
  * 
  * Author: MadhanKumar
  */
@@ -52,5 +59,17 @@ public class ParallelismControl {
                 .collect(Collectors.toList());
 
         log.info("Result after switching back to Sequential Size: " + backToSequential.size());
+
+        // Parallel Processing on a dedicated ForkJoinPool instead of the JVM-wide common pool
+        try (ParallelStreamExecutor executor = new ParallelStreamExecutor(
+                Map.of("analytics", PoolSettings.of(4)), Duration.ofSeconds(10))) {
+            List<Integer> dedicatedPoolResult = executor.invoke("analytics", () -> largeDataset.parallelStream()
+                    .filter(num -> num % 2 == 0) // Filtering even numbers
+                    .map(num -> num * 2)         // Doubling each number
+                    .collect(Collectors.toList()));
+
+            log.info("Dedicated Pool Result Size: " + dedicatedPoolResult.size());
+            log.info("Dedicated Pool Metrics: " + executor.metrics("analytics"));
+        }
     }
 }
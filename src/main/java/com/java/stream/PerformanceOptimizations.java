@@ -1,13 +1,19 @@
 package com.java.stream;
 
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.java.stream.fusion.FusedPipeline;
+import com.java.stream.primitive.IntList;
+
 /**
  * Performance Optimizations Example
  * This class demonstrates how to optimize stream operations by combining filter and map into a single pass.
  * Efficient data processing is achieved by pipelining multiple operations without creating intermediate collections.
+ * The timings logged here come from a single cold run and mostly show JIT warm-up and GC noise;
+ * use the JMH benchmarks in the benchmarks module to compare the variants with data.
  * 
  * Author: MadhanKumar
  */
@@ -50,6 +56,37 @@ public class PerformanceOptimizations {
         // Display non-optimized results
         System.out.println("Non-Optimized Result Size: " + mappedResult.size());
         System.out.println("Non-Optimized Processing Time: " + (nonOptimizedEndTime - nonOptimizedStartTime) + " ms");
+
+        // Primitive processing: the same pipeline on flat int[] arrays, without boxing a single element
+        IntList primitiveDataset = IntList.rangeClosed(1, 1_000_000);
+
+        long primitiveStartTime = System.currentTimeMillis();
+
+        IntList primitiveResult = IntList.from(primitiveDataset.stream()
+                .filter(num -> num % 2 == 0) // Filter even numbers
+                .map(num -> num * 2));       // Double each number
+
+        long primitiveEndTime = System.currentTimeMillis();
+
+        System.out.println("Primitive Result Size: " + primitiveResult.size());
+        System.out.println("Primitive Processing Time: " + (primitiveEndTime - primitiveStartTime) + " ms");
+
+        // Fused processing: filter and map compiled into one loop over the int[] (opt-in, see FusedPipeline).
+        // Compile the query once and reuse it; the JIT specializes it after it has run a number of times
+        Function<int[], int[]> doubledEvens = FusedPipeline.ints()
+                .filter(num -> num % 2 == 0) // Filter even numbers
+                .map(num -> num * 2)         // Double each number
+                .toArray();
+        int[] primitiveArray = primitiveDataset.toArray();
+
+        long fusedStartTime = System.currentTimeMillis();
+
+        int[] fusedResult = doubledEvens.apply(primitiveArray);
+
+        long fusedEndTime = System.currentTimeMillis();
+
+        System.out.println("Fused Result Size: " + fusedResult.length);
+        System.out.println("Fused Processing Time: " + (fusedEndTime - fusedStartTime) + " ms");
     }
 }
 
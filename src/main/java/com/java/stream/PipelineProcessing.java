@@ -1,12 +1,19 @@
 package com.java.stream;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.java.stream.batch.BatchStream;
+import com.java.stream.batch.IntBatchStream;
+import com.java.stream.collector.TopCollectors;
+import com.java.stream.io.BatchedOutputSink;
+import com.java.stream.metrics.PipelineMetrics;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -24,6 +31,7 @@ public class PipelineProcessing {
         PipelineProcessing.streamCreation();
         PipelineProcessing.intermediateOperations();
         PipelineProcessing.terminalOperations();
+        PipelineProcessing.batchOperations();
     }
 
     /**
@@ -81,6 +89,10 @@ public class PipelineProcessing {
         names = Arrays.asList("Alice", "Bob", "Charlie", "David");
         names.stream().limit(2).forEach(System.out::println);
 
+        // sorted + limit - The first 2 names in sorted order; bottomK keeps only 2 names in a heap instead of sorting all of them
+        List<String> firstTwoSorted = names.stream().collect(TopCollectors.bottomK(2, Comparator.naturalOrder()));
+        log.info("First 2 sorted elements: {}", firstTwoSorted);
+
         // skip - Skip a specific number of elements in the stream
         names = Arrays.asList("Alice", "Bob", "Charlie", "David");
         names.stream().skip(2).forEach(System.out::println);
@@ -91,6 +103,14 @@ public class PipelineProcessing {
                 .map(String::toUpperCase)
                 .peek(name -> log.info("After: " + name))
                 .forEach(System.out::println);
+
+        // peek + PipelineMetrics - Count the elements before and after the transformation instead of logging each one
+        PipelineMetrics metrics = new PipelineMetrics("uppercase-names", 1);
+        names.stream().peek(metrics.count("before"))
+                .map(String::toUpperCase)
+                .peek(metrics.count("after"))
+                .forEach(System.out::println);
+        log.info("Pipeline metrics: {}", metrics);
     }
 
     /**
@@ -128,6 +148,12 @@ public class PipelineProcessing {
         names = Arrays.asList("Alice", "Bob", "Charlie", "David");
         names.parallelStream().map(String::toUpperCase).forEach(System.out::println);
 
+        // BatchedOutputSink - Workers append to their own buffers and one writer thread prints them, instead of every
+        // worker taking System.out's lock per element; writeOrdered keeps the encounter order, like forEachOrdered
+        try (BatchedOutputSink<String> sink = BatchedOutputSink.toStandardOutput()) {
+            sink.writeOrdered(names.parallelStream().map(String::toUpperCase));
+        }
+
         // AnyMatch - Check if any element in the stream matches a given predicate
         boolean hasCharlie = names.stream().anyMatch(name -> name.equals("Charlie"));
         log.info("Has 'Charlie': {}", hasCharlie);
@@ -140,4 +166,47 @@ public class PipelineProcessing {
         boolean noStartsWithD = names.stream().noneMatch(name -> name.startsWith("D"));
         log.info("No starts with 'D': {}", noStartsWithD);
     }
+
+    /**
+     *  Batch Operations
+     *  Demonstrates batch-at-a-time pipelines, where every stage receives a whole chunk of elements per call
+     *  instead of one element, and filters mark the selected elements instead of copying them.
+     */
+    private static void batchOperations() {
+        // filter + mapToInt - Names are filtered in T[] batches; the lengths of the selected names go straight into int batches
+        List<String> names = Arrays.asList("Alice", "Bob", "Charlie", "Anna");
+        long lettersInANames = BatchStream.of(names)
+                .filter(name -> name.startsWith("A"))
+                .mapToInt(String::length)
+                .sum();
+        log.info("Letters in names starting with 'A': {}", lettersInANames);
+
+        // forEachBatch - Process each batch as a whole (batches of 2 to show the chunking)
+        BatchStream.of(names).batchSize(2)
+                .forEachBatch(batch -> log.info("Batch of {} names, first: {}", batch.size(), batch.get(0)));
+
+        // mapBatch - Square every number with one loop per batch instead of one lambda call per number
+        int[] squares = IntBatchStream.range(1, 11)
+                .mapBatch((values, length) -> {
+                    for (int i = 0; i < length; i++) {
+                        values[i] *= values[i];
+                    }
+                })
+                .toArray();
+        log.info("Squares: {}", Arrays.toString(squares));
+
+        // filterBatch - Keep the multiples of 3 by narrowing the batch's selection vector
+        long multiplesOfThree = IntBatchStream.range(1, 101)
+                .filterBatch((values, selection, size) -> {
+                    int kept = 0;
+                    for (int i = 0; i < size; i++) {
+                        if (values[selection[i]] % 3 == 0) {
+                            selection[kept++] = selection[i];
+                        }
+                    }
+                    return kept;
+                })
+                .count();
+        log.info("Multiples of 3 up to 100: {}", multiplesOfThree);
+    }
 }
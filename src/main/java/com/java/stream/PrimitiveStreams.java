@@ -6,6 +6,8 @@ import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
+import com.java.stream.primitive.PrimitiveReductions;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -82,5 +84,17 @@ public class PrimitiveStreams {
 
         OptionalDouble doubleMax = DoubleStream.of(1.5, 2.5, 3.5, 4.5, 5.5).max();  // Maximum element
         log.info("DoubleStream Max: " + (doubleMax.isPresent() ? doubleMax.getAsDouble() : "N/A"));  // Output: DoubleStream Max: 5.5
+
+        /**
+         * Array Reductions Example
+         * When the values are already in an array, PrimitiveReductions reduces the array directly
+         * with SIMD kernels instead of passing each element through a stream.
+         */
+        long[] longArray = LongStream.range(1L, 100L).toArray();
+        log.info("Array Sum: " + PrimitiveReductions.sum(longArray));  // Output: Array Sum: 4950
+        log.info("Array Statistics: " + PrimitiveReductions.summaryStatistics(longArray));
+
+        double[] doubleArray = {1.5, 2.5, 3.5, 4.5, 5.5};
+        log.info("Array Max: " + PrimitiveReductions.max(doubleArray).orElseThrow());  // Output: Array Max: 5.5
     }
 }
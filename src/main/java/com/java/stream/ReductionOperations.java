@@ -1,9 +1,12 @@
 package com.java.stream;
 
 import java.util.Arrays;
+import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.OptionalDouble;
 
+import com.java.stream.primitive.PrimitiveReductions;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -45,5 +48,12 @@ public class ReductionOperations {
 
         // Check if average is present, then print
         average.ifPresent(avg ->  log.info("Average: " + avg));  // Output: Average: 3.0
+
+        // 6. Reduce a primitive array directly: sum, min, max and count in one SIMD pass
+        //    (Vector API kernels with --add-modules jdk.incubator.vector, plain loops otherwise)
+        int[] primitiveNumbers = {1, 2, 3, 4, 5};
+        IntSummaryStatistics statistics = PrimitiveReductions.summaryStatistics(primitiveNumbers);
+        log.info("Array statistics (vectorized: " + PrimitiveReductions.isVectorized() + "): " + statistics);
+        log.info("Numbers greater than 2: " + PrimitiveReductions.countGreaterThan(primitiveNumbers, 2));  // Output: 3
     }
 }
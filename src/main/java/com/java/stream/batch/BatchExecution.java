@@ -0,0 +1,71 @@
+package com.java.stream.batch;
+
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import com.java.stream.execution.ParallelSplits;
+
+/**
+ * Runs a batch pipeline over [0, size): sequentially as one range, or in parallel as batch-aligned ranges
+ * whose results are combined in encounter order.
+ */
+final class BatchExecution {
+
+    /**
+     * Smallest range, in batches, worth handing to another thread.
+     */
+    private static final int MIN_BATCHES_PER_RANGE = 16;
+
+    private BatchExecution() {
+    }
+
+    /**
+     * Evaluates one range [from, to) of the source, batch by batch, with its own batch buffers.
+     */
+    @FunctionalInterface
+    interface RangeEvaluator<R> {
+
+        R evaluate(int from, int to);
+    }
+
+    static <R> R evaluate(int size, int batchSize, boolean parallel, RangeEvaluator<R> evaluator, BinaryOperator<R> combiner) {
+        int batches = (int) (((long) size + batchSize - 1) / batchSize);
+        int ranges = parallel ? rangeCount(batches) : 1;
+        if (ranges == 1) {
+            return evaluator.evaluate(0, size);
+        }
+        // toList() keeps the per-range results in encounter order (and tolerates null results)
+        List<R> results = IntStream.range(0, ranges).parallel()
+                .mapToObj(range -> evaluator.evaluate(rangeStart(size, batches, batchSize, ranges, range),
+                        rangeStart(size, batches, batchSize, ranges, range + 1)))
+                .toList();
+        R result = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            result = combiner.apply(result, results.get(i));
+        }
+        return result;
+    }
+
+    static int checkBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        return batchSize;
+    }
+
+    /**
+     * A few ranges per worker thread of the current pool, none shorter than MIN_BATCHES_PER_RANGE.
+     */
+    private static int rangeCount(int batches) {
+        return ParallelSplits.count(batches / MIN_BATCHES_PER_RANGE);
+    }
+
+    /**
+     * Start of a range, always on a batch boundary so every batch but the very last one is full.
+     */
+    private static int rangeStart(int size, int batches, int batchSize, int ranges, int range) {
+        long batch = (long) batches * range / ranges;
+        return (int) Math.min(size, batch * batchSize);
+    }
+}
@@ -0,0 +1,195 @@
+package com.java.stream.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * BatchStream
+ * The object counterpart of IntBatchStream: elements travel in T[] chunks of batchSize with a selection vector,
+ * filters narrow the selection instead of copying, and mapToInt extracts an int column straight into the batches
+ * of an IntBatchStream, e.g.
+ *
+ *   long payroll = BatchStream.of(employees)
+ *           .filter(employee -> employee.getDepartment().equals("Engineering"))
+ *           .mapToInt(Employee::getSalary)
+ *           .sum();
+ *
+ * Like IntBatchStream, streams are immutable and parallel() splits the source into batch-aligned ranges.
+ */
+public final class BatchStream<T> {
+
+    private final Object[] elements;
+    private final List<Consumer<ObjectBatch<T>>> stages;
+    private final int batchSize;
+    private final boolean parallel;
+
+    private BatchStream(Object[] elements, List<Consumer<ObjectBatch<T>>> stages, int batchSize, boolean parallel) {
+        this.elements = elements;
+        this.stages = stages;
+        this.batchSize = batchSize;
+        this.parallel = parallel;
+    }
+
+    /**
+     * A stream over a snapshot of the list.
+     */
+    public static <T> BatchStream<T> of(List<? extends T> list) {
+        return new BatchStream<>(list.toArray(), List.of(), IntBatchStream.DEFAULT_BATCH_SIZE, false);
+    }
+
+    @SafeVarargs
+    public static <T> BatchStream<T> of(T... elements) {
+        // Copied element by element: the varargs array itself must not escape
+        Object[] snapshot = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            snapshot[i] = elements[i];
+        }
+        return new BatchStream<>(snapshot, List.of(), IntBatchStream.DEFAULT_BATCH_SIZE, false);
+    }
+
+    public BatchStream<T> batchSize(int batchSize) {
+        return new BatchStream<>(elements, stages, BatchExecution.checkBatchSize(batchSize), parallel);
+    }
+
+    public BatchStream<T> parallel() {
+        return new BatchStream<>(elements, stages, batchSize, true);
+    }
+
+    public BatchStream<T> sequential() {
+        return new BatchStream<>(elements, stages, batchSize, false);
+    }
+
+    /**
+     * Per-element filter over each batch; narrows the selection vector.
+     */
+    public BatchStream<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        return then(batch -> {
+            Object[] values = batch.values;
+            int[] selection = batch.selection;
+            int kept = 0;
+            if (batch.dense) {
+                for (int i = 0; i < batch.size; i++) {
+                    if (predicate.test(element(values, i))) {
+                        selection[kept++] = i;
+                    }
+                }
+                batch.dense = false;
+            } else {
+                for (int i = 0; i < batch.size; i++) {
+                    int position = selection[i];
+                    if (predicate.test(element(values, position))) {
+                        selection[kept++] = position;
+                    }
+                }
+            }
+            batch.size = kept;
+        });
+    }
+
+    /**
+     * Extracts an int key from every selected element into the int batches of an IntBatchStream; the
+     * selection vector carries over, so nothing is copied for the rejected elements.
+     */
+    public IntBatchStream mapToInt(ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper);
+        IntBatchStream.Source source = new IntBatchStream.Source() {
+            @Override
+            public int size() {
+                return elements.length;
+            }
+
+            @Override
+            public IntBatchStream.Loader loader(int size) {
+                ObjectBatch<T> objects = new ObjectBatch<>(size);
+                return (batch, offset, length) -> {
+                    load(objects, offset, length);
+                    int[] values = batch.values;
+                    if (objects.dense) {
+                        for (int i = 0; i < objects.size; i++) {
+                            values[i] = mapper.applyAsInt(element(objects.values, i));
+                        }
+                        batch.loaded(objects.size);
+                    } else {
+                        for (int i = 0; i < objects.size; i++) {
+                            int position = objects.selection[i];
+                            values[position] = mapper.applyAsInt(element(objects.values, position));
+                        }
+                        System.arraycopy(objects.selection, 0, batch.selection, 0, objects.size);
+                        batch.length = objects.length;
+                        batch.size = objects.size;
+                        batch.dense = false;
+                    }
+                };
+            }
+        };
+        return new IntBatchStream(source, batchSize, parallel);
+    }
+
+    /**
+     * Hands every non-empty batch to the action. Batches are reused after the action returns, and in a parallel
+     * stream the action is called concurrently from several threads.
+     */
+    public void forEachBatch(Consumer<? super ObjectBatch<T>> action) {
+        Objects.requireNonNull(action);
+        evaluate(() -> null, (result, batch) -> action.accept(batch), (left, right) -> null);
+    }
+
+    public long count() {
+        return evaluate(() -> new long[1], (result, batch) -> result[0] += batch.size,
+                (left, right) -> new long[] {left[0] + right[0]})[0];
+    }
+
+    public List<T> toList() {
+        List<T> list = evaluate(ArrayList::new, (result, batch) -> batch.forEach(result::add),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+        return Collections.unmodifiableList(list);
+    }
+
+    private BatchStream<T> then(Consumer<ObjectBatch<T>> stage) {
+        List<Consumer<ObjectBatch<T>>> next = new ArrayList<>(stages.size() + 1);
+        next.addAll(stages);
+        next.add(stage);
+        return new BatchStream<>(elements, List.copyOf(next), batchSize, parallel);
+    }
+
+    /**
+     * Loads elements[offset, offset + length) into the batch and runs the stages over it.
+     */
+    private void load(ObjectBatch<T> batch, int offset, int length) {
+        batch.load(elements, offset, length);
+        for (int i = 0; i < stages.size() && batch.size > 0; i++) {
+            stages.get(i).accept(batch);
+        }
+    }
+
+    private <R> R evaluate(Supplier<R> resultFactory, BiConsumer<R, ObjectBatch<T>> accumulator, BinaryOperator<R> combiner) {
+        return BatchExecution.evaluate(elements.length, batchSize, parallel, (from, to) -> {
+            ObjectBatch<T> batch = new ObjectBatch<>(batchSize);
+            R result = resultFactory.get();
+            for (int offset = from; offset < to; offset += batchSize) {
+                load(batch, offset, Math.min(batchSize, to - offset));
+                if (batch.size > 0) {
+                    accumulator.accept(result, batch);
+                }
+            }
+            return result;
+        }, combiner);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T element(Object[] values, int position) {
+        return (T) values[position];
+    }
+}
@@ -0,0 +1,145 @@
+package com.java.stream.batch;
+
+import java.util.function.IntConsumer;
+
+import com.java.stream.primitive.IntList;
+import com.java.stream.primitive.PrimitiveReductions;
+
+/**
+ * IntBatch
+ * A chunk of up to batchSize ints flowing through an IntBatchStream.
+ *
+ * values[0, length) holds the values loaded for the chunk. Filters do not move values around: they shrink the
+ * selection vector, the ascending positions of the values that are still selected, so size() can be smaller
+ * than length(). While no filter has run the batch is dense and every position in [0, length) is selected.
+ *
+ * Batches are reused from one chunk to the next: read them inside the callback and copy what has to outlive it.
+ */
+public final class IntBatch {
+
+    final int[] values;
+    final int[] selection;
+    int length;
+    int size;
+    boolean dense;
+
+    IntBatch(int capacity) {
+        this.values = new int[capacity];
+        this.selection = new int[capacity];
+    }
+
+    /**
+     * The number of selected values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of values loaded into values(), selected or not.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Whether every loaded value is selected, so values()[0, size()) can be read without the selection vector.
+     */
+    public boolean isDense() {
+        return dense;
+    }
+
+    /**
+     * The i-th selected value.
+     */
+    public int get(int i) {
+        return dense ? values[i] : values[selection[i]];
+    }
+
+    /**
+     * The backing array; only the positions in the selection vector (or [0, size()) when dense) are selected.
+     */
+    public int[] values() {
+        return values;
+    }
+
+    /**
+     * The positions of the selected values, in [0, size()); meaningless while the batch is dense.
+     */
+    public int[] selection() {
+        return selection;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (dense) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[selection[i]]);
+            }
+        }
+    }
+
+    /**
+     * Sum of the selected values; dense batches are summed with the SIMD kernels of PrimitiveReductions.
+     */
+    public long sum() {
+        if (dense) {
+            return PrimitiveReductions.sum(values, 0, size);
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[selection[i]];
+        }
+        return sum;
+    }
+
+    void addTo(IntList list) {
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+    }
+
+    /**
+     * Loads values from source[from, from + length) and selects all of them.
+     */
+    void load(int[] source, int from, int length) {
+        System.arraycopy(source, from, values, 0, length);
+        loaded(length);
+    }
+
+    void loaded(int length) {
+        this.length = length;
+        this.size = length;
+        this.dense = true;
+    }
+
+    /**
+     * Fills the selection vector with every loaded position, for filters that only work on selections.
+     */
+    void materializeSelection() {
+        if (dense) {
+            for (int i = 0; i < length; i++) {
+                selection[i] = i;
+            }
+            dense = false;
+        }
+    }
+
+    /**
+     * Moves the selected values to the front (selection positions are ascending, so this is safe in place)
+     * and makes the batch dense. Needed before a whole-array operator, which would otherwise also see the
+     * values a filter rejected.
+     */
+    void compact() {
+        if (!dense) {
+            for (int i = 0; i < size; i++) {
+                values[i] = values[selection[i]];
+            }
+            length = size;
+            dense = true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.java.stream.batch;
+
+/**
+ * Narrows a selection vector: keeps, in order, the positions among selection[0, size) whose values pass,
+ * writes them to the front of selection and returns how many were kept. For example:
+ *
+ *   (values, selection, size) -> {
+ *       int kept = 0;
+ *       for (int i = 0; i < size; i++) {
+ *           int position = selection[i];
+ *           if (values[position] % 2 == 0) {
+ *               selection[kept++] = position;
+ *           }
+ *       }
+ *       return kept;
+ *   }
+ */
+@FunctionalInterface
+public interface IntBatchFilter {
+
+    int select(int[] values, int[] selection, int size);
+}
@@ -0,0 +1,11 @@
+package com.java.stream.batch;
+
+/**
+ * Transforms values[0, length) in place, e.g. {@code (values, length) -> { for (int i = 0; i < length; i++) values[i] *= 2; }}.
+ * The loop lives in the lambda, so the JIT compiles (and can vectorize) it for this operator alone.
+ */
+@FunctionalInterface
+public interface IntBatchOperator {
+
+    void apply(int[] values, int length);
+}
@@ -0,0 +1,293 @@
+package com.java.stream.batch;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import com.java.stream.primitive.IntList;
+
+/**
+ * IntBatchStream
+ * A batch-at-a-time alternative to IntStream: every stage is called once per chunk of batchSize values
+ * (1024 by default) instead of once per value.
+ *
+ * An IntStream pipeline makes one interface call per element per stage, through Sink classes shared by every
+ * pipeline in the JVM. Here mapBatch and filterBatch receive the whole chunk as an int[] and run their own loop,
+ * so the per-call overhead is paid once per 1024 values and each loop is compiled (and vectorized) on its own.
+ * A filter does not copy the surviving values: it narrows the batch's selection vector, and the values are only
+ * compacted when a later mapBatch needs a dense array.
+ *
+ *   long sum = IntBatchStream.of(numbers)
+ *           .filterBatch((values, selection, size) -> {
+ *               int kept = 0;
+ *               for (int i = 0; i < size; i++) {
+ *                   if (values[selection[i]] % 2 == 0) {
+ *                       selection[kept++] = selection[i];
+ *                   }
+ *               }
+ *               return kept;
+ *           })
+ *           .mapBatch((values, length) -> {
+ *               for (int i = 0; i < length; i++) {
+ *                   values[i] *= 2;
+ *               }
+ *           })
+ *           .sum();
+ *
+ * map and filter take per-element lambdas for convenience; they still run in a tight loop per batch but make
+ * one call per element. Streams are immutable: every stage returns a new stream, and a stream can be evaluated
+ * any number of times. parallel() splits the source into batch-aligned ranges, one set of buffers per range.
+ */
+public final class IntBatchStream {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final Source source;
+    private final List<Consumer<IntBatch>> stages;
+    private final int batchSize;
+    private final boolean parallel;
+
+    private IntBatchStream(Source source, List<Consumer<IntBatch>> stages, int batchSize, boolean parallel) {
+        this.source = source;
+        this.stages = stages;
+        this.batchSize = batchSize;
+        this.parallel = parallel;
+    }
+
+    IntBatchStream(Source source, int batchSize, boolean parallel) {
+        this(source, List.of(), batchSize, parallel);
+    }
+
+    public static IntBatchStream of(int... values) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * A stream over array[from, to); the array is read, never modified.
+     */
+    public static IntBatchStream of(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        Source source = new Source() {
+            @Override
+            public int size() {
+                return to - from;
+            }
+
+            @Override
+            public Loader loader(int batchSize) {
+                return (batch, offset, length) -> batch.load(array, from + offset, length);
+            }
+        };
+        return new IntBatchStream(source, DEFAULT_BATCH_SIZE, false);
+    }
+
+    public static IntBatchStream of(IntList list) {
+        return of(list.toArray());
+    }
+
+    /**
+     * The values startInclusive, startInclusive + 1, ..., endExclusive - 1, generated straight into the batches.
+     */
+    public static IntBatchStream range(int startInclusive, int endExclusive) {
+        int size = endExclusive > startInclusive ? Math.toIntExact((long) endExclusive - startInclusive) : 0;
+        Source source = new Source() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Loader loader(int batchSize) {
+                return (batch, offset, length) -> {
+                    int first = startInclusive + offset;
+                    int[] values = batch.values;
+                    for (int i = 0; i < length; i++) {
+                        values[i] = first + i;
+                    }
+                    batch.loaded(length);
+                };
+            }
+        };
+        return new IntBatchStream(source, DEFAULT_BATCH_SIZE, false);
+    }
+
+    public IntBatchStream batchSize(int batchSize) {
+        return new IntBatchStream(source, stages, BatchExecution.checkBatchSize(batchSize), parallel);
+    }
+
+    public IntBatchStream parallel() {
+        return new IntBatchStream(source, stages, batchSize, true);
+    }
+
+    public IntBatchStream sequential() {
+        return new IntBatchStream(source, stages, batchSize, false);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Transforms each batch in place. A batch a filter has narrowed is compacted first, so the operator only
+     * ever sees selected values in values[0, length).
+     */
+    public IntBatchStream mapBatch(IntBatchOperator operator) {
+        Objects.requireNonNull(operator);
+        return then(batch -> {
+            batch.compact();
+            operator.apply(batch.values, batch.length);
+        });
+    }
+
+    /**
+     * Narrows each batch's selection vector; the values themselves stay where they are.
+     */
+    public IntBatchStream filterBatch(IntBatchFilter filter) {
+        Objects.requireNonNull(filter);
+        return then(batch -> {
+            batch.materializeSelection();
+            int size = filter.select(batch.values, batch.selection, batch.size);
+            if (size < 0 || size > batch.size) {
+                throw new IllegalStateException("filterBatch returned " + size + " for a batch of " + batch.size);
+            }
+            batch.size = size;
+        });
+    }
+
+    /**
+     * Per-element map, applied only to the selected values.
+     */
+    public IntBatchStream map(IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper);
+        return then(batch -> {
+            int[] values = batch.values;
+            if (batch.dense) {
+                for (int i = 0; i < batch.size; i++) {
+                    values[i] = mapper.applyAsInt(values[i]);
+                }
+            } else {
+                int[] selection = batch.selection;
+                for (int i = 0; i < batch.size; i++) {
+                    int position = selection[i];
+                    values[position] = mapper.applyAsInt(values[position]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Per-element filter; builds the selection vector directly from a dense batch.
+     */
+    public IntBatchStream filter(IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return then(batch -> {
+            int[] values = batch.values;
+            int[] selection = batch.selection;
+            int kept = 0;
+            if (batch.dense) {
+                for (int i = 0; i < batch.size; i++) {
+                    if (predicate.test(values[i])) {
+                        selection[kept++] = i;
+                    }
+                }
+                batch.dense = false;
+            } else {
+                for (int i = 0; i < batch.size; i++) {
+                    int position = selection[i];
+                    if (predicate.test(values[position])) {
+                        selection[kept++] = position;
+                    }
+                }
+            }
+            batch.size = kept;
+        });
+    }
+
+    /**
+     * Hands every non-empty batch to the action. Batches are reused after the action returns, and in a parallel
+     * stream the action is called concurrently from several threads.
+     */
+    public void forEachBatch(Consumer<? super IntBatch> action) {
+        Objects.requireNonNull(action);
+        evaluate(() -> null, (result, batch) -> action.accept(batch), (left, right) -> null);
+    }
+
+    public long sum() {
+        return evaluate(() -> new long[1], (result, batch) -> result[0] += batch.sum(),
+                (left, right) -> new long[] {left[0] + right[0]})[0];
+    }
+
+    public long count() {
+        return evaluate(() -> new long[1], (result, batch) -> result[0] += batch.size,
+                (left, right) -> new long[] {left[0] + right[0]})[0];
+    }
+
+    public IntSummaryStatistics summaryStatistics() {
+        return evaluate(IntSummaryStatistics::new, (result, batch) -> batch.forEach(result),
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                });
+    }
+
+    public IntList toIntList() {
+        return evaluate(IntList::new, (result, batch) -> batch.addTo(result),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+    }
+
+    public int[] toArray() {
+        return toIntList().toArray();
+    }
+
+    private IntBatchStream then(Consumer<IntBatch> stage) {
+        List<Consumer<IntBatch>> next = new ArrayList<>(stages.size() + 1);
+        next.addAll(stages);
+        next.add(stage);
+        return new IntBatchStream(source, List.copyOf(next), batchSize, parallel);
+    }
+
+    private <R> R evaluate(Supplier<R> resultFactory, BiConsumer<R, IntBatch> accumulator, BinaryOperator<R> combiner) {
+        return BatchExecution.evaluate(source.size(), batchSize, parallel, (from, to) -> {
+            IntBatch batch = new IntBatch(batchSize);
+            Loader loader = source.loader(batchSize);
+            R result = resultFactory.get();
+            for (int offset = from; offset < to; offset += batchSize) {
+                loader.load(batch, offset, Math.min(batchSize, to - offset));
+                for (int i = 0; i < stages.size() && batch.size > 0; i++) {
+                    stages.get(i).accept(batch);
+                }
+                if (batch.size > 0) {
+                    accumulator.accept(result, batch);
+                }
+            }
+            return result;
+        }, combiner);
+    }
+
+    /**
+     * Where the values come from: a source of a known size that loads any [offset, offset + length) of itself
+     * into a batch. Each range of a parallel evaluation gets its own loader.
+     */
+    interface Source {
+
+        int size();
+
+        Loader loader(int batchSize);
+    }
+
+    @FunctionalInterface
+    interface Loader {
+
+        void load(IntBatch batch, int offset, int length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.java.stream.batch;
+
+import java.util.function.Consumer;
+
+/**
+ * ObjectBatch
+ * A chunk of up to batchSize elements flowing through a BatchStream: a T[] slice plus a selection vector,
+ * with the same layout and reuse rules as IntBatch.
+ */
+public final class ObjectBatch<T> {
+
+    final Object[] values;
+    final int[] selection;
+    int length;
+    int size;
+    boolean dense;
+
+    ObjectBatch(int capacity) {
+        this.values = new Object[capacity];
+        this.selection = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isDense() {
+        return dense;
+    }
+
+    /**
+     * The i-th selected element.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) (dense ? values[i] : values[selection[i]]);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        if (dense) {
+            for (int i = 0; i < size; i++) {
+                action.accept((T) values[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept((T) values[selection[i]]);
+            }
+        }
+    }
+
+    void load(Object[] source, int from, int length) {
+        System.arraycopy(source, from, values, 0, length);
+        this.length = length;
+        this.size = length;
+        this.dense = true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.java.stream.collector;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * CountingCollectors
+ * Concurrent replacements for groupingBy(classifier, counting()) and groupingBy(classifier, summingLong(...))
+ * on parallel streams.
+ *
+ * groupingBy builds a HashMap per fork and merges them pairwise up the fork-join tree; groupingByConcurrent
+ * shares one ConcurrentHashMap, but with a handful of keys every thread updates the same few bins and boxes
+ * a new Long each time. These collectors are CONCURRENT and UNORDERED, so all worker threads count into a
+ * single StripedCounterMap, whose per-key LongAdders spread the updates of a hot key over striped cells.
+ * Sequential streams get the same result as groupingBy: a HashMap from key to count or sum.
+ */
+public final class CountingCollectors {
+
+    private CountingCollectors() {
+    }
+
+    /**
+     * Counts the elements per key, like groupingBy(classifier, counting()).
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> countingBy(Function<? super T, ? extends K> classifier) {
+        return Collector.of(
+                StripedCounterMap<K>::new,
+                (counts, element) -> counts.increment(classifier.apply(element)),
+                StripedCounterMap::addAll,
+                StripedCounterMap::toMap,
+                Collector.Characteristics.CONCURRENT,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Sums a long (or int) value of the elements per key, like groupingBy(classifier, summingLong(mapper)).
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingBy(Function<? super T, ? extends K> classifier,
+            ToLongFunction<? super T> mapper) {
+        return Collector.of(
+                StripedCounterMap<K>::new,
+                (sums, element) -> sums.add(classifier.apply(element), mapper.applyAsLong(element)),
+                StripedCounterMap::addAll,
+                StripedCounterMap::toMap,
+                Collector.Characteristics.CONCURRENT,
+                Collector.Characteristics.UNORDERED);
+    }
+}
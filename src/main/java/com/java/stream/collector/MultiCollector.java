@@ -0,0 +1,168 @@
+package com.java.stream.collector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * MultiCollector
+ * Runs any number of named downstream collectors in a single traversal of a stream.
+ * Every element is handed to all downstream accumulators, so a report that needs N aggregations
+ * reads the data once instead of N times. It works for sequential and parallel streams:
+ * the per-thread containers are combined collector by collector.
+ *
+ * Each aggregation is declared as a typed Key, and the Results bundle returns the finished value
+ * of a key with its static type, so no casts are needed at the call site:
+ *
+ *   Key<Employee, Map<String, Long>> byDepartment = MultiCollector.key("byDepartment", groupingBy(Employee::getDepartment, counting()));
+ *   Results report = employees.stream().collect(MultiCollector.of(byDepartment, ...));
+ *   Map<String, Long> counts = report.get(byDepartment);
+ */
+public final class MultiCollector {
+
+    private MultiCollector() {
+    }
+
+    /**
+     * A named downstream collector whose result type is R.
+     */
+    public static final class Key<T, R> {
+
+        private final String name;
+        private final Collector<T, ?, R> collector;
+
+        private Key(String name, Collector<T, ?, R> collector) {
+            this.name = name;
+            this.collector = collector;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The finished values of all keys, in declaration order.
+     */
+    public static final class Results {
+
+        private final Map<String, Object> values;
+
+        private Results(Map<String, Object> values) {
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <R> R get(Key<?, R> key) {
+            return (R) get(key.name());
+        }
+
+        public Object get(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown key: " + name);
+            }
+            return values.get(name);
+        }
+
+        public Map<String, Object> asMap() {
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+
+    public static <T, R> Key<T, R> key(String name, Collector<T, ?, R> collector) {
+        return new Key<>(name, collector);
+    }
+
+    @SafeVarargs
+    public static <T> Collector<T, ?, Results> of(Key<? super T, ?>... keys) {
+        // Copied element by element: the varargs array itself must not escape
+        List<Key<? super T, ?>> list = new ArrayList<>(keys.length);
+        for (Key<? super T, ?> key : keys) {
+            list.add(key);
+        }
+        return of(list);
+    }
+
+    /**
+     * Creates a collector that feeds every element to all downstream collectors in one pass.
+     * The result is UNORDERED only if every downstream collector is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Collector<T, ?, Results> of(List<? extends Key<? super T, ?>> keys) {
+        int n = keys.size();
+        String[] names = new String[n];
+        List<Supplier<Object>> suppliers = new ArrayList<>(n);
+        List<BiConsumer<Object, T>> accumulators = new ArrayList<>(n);
+        List<BinaryOperator<Object>> combiners = new ArrayList<>(n);
+        List<Function<Object, Object>> finishers = new ArrayList<>(n);
+        boolean unordered = true;
+
+        for (int i = 0; i < n; i++) {
+            Key<? super T, ?> key = keys.get(i);
+            for (int j = 0; j < i; j++) {
+                if (names[j].equals(key.name)) {
+                    throw new IllegalArgumentException("Duplicate key: " + key.name);
+                }
+            }
+            names[i] = key.name;
+            Collector<Object, Object, Object> collector = (Collector<Object, Object, Object>) key.collector;
+            suppliers.add(collector.supplier());
+            accumulators.add((BiConsumer<Object, T>) collector.accumulator());
+            combiners.add(collector.combiner());
+            finishers.add(collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                    ? Function.identity()
+                    : collector.finisher());
+            unordered &= collector.characteristics().contains(Collector.Characteristics.UNORDERED);
+        }
+
+        Supplier<Object[]> supplier = () -> {
+            Object[] containers = new Object[n];
+            for (int i = 0; i < n; i++) {
+                containers[i] = suppliers.get(i).get();
+            }
+            return containers;
+        };
+        BiConsumer<Object[], T> accumulator = (containers, element) -> {
+            for (int i = 0; i < n; i++) {
+                accumulators.get(i).accept(containers[i], element);
+            }
+        };
+        BinaryOperator<Object[]> combiner = (left, right) -> {
+            for (int i = 0; i < n; i++) {
+                left[i] = combiners.get(i).apply(left[i], right[i]);
+            }
+            return left;
+        };
+        Function<Object[], Results> finisher = containers -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < n; i++) {
+                values.put(names[i], finishers.get(i).apply(containers[i]));
+            }
+            return new Results(values);
+        };
+        Set<Collector.Characteristics> characteristics = unordered
+                ? EnumSet.of(Collector.Characteristics.UNORDERED)
+                : EnumSet.noneOf(Collector.Characteristics.class);
+        return Collector.of(supplier, accumulator, combiner, finisher,
+                characteristics.toArray(new Collector.Characteristics[0]));
+    }
+}
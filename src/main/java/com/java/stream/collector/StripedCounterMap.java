@@ -0,0 +1,136 @@
+package com.java.stream.collector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StripedCounterMap
+ * A thread-safe map of keys to long counters, built for many threads counting a few hot keys at once.
+ *
+ * Every key gets its own LongAdder, whose cells are striped across the updating threads, so concurrent
+ * increments of the same key do not contend on one value the way merge(key, 1L, Long::sum) on a
+ * ConcurrentHashMap does (a lock on the bin and a new boxed Long per update). The first SMALL_KEYS keys live in
+ * a small open-addressing table that is read without locks and filled with a compare-and-set; grouping by
+ * department, employment type or job title never leaves it. Keys beyond that go to a ConcurrentHashMap.
+ *
+ * Use it directly as the action of forEach (increment or add), or through CountingCollectors.
+ * The counts are exact once all updates have finished.
+ */
+public final class StripedCounterMap<K> {
+
+    private static final int SMALL_KEYS = 32;
+    private static final int SMALL_TABLE_SIZE = SMALL_KEYS * 2;
+
+    private final AtomicReferenceArray<Counter<K>> small = new AtomicReferenceArray<>(SMALL_TABLE_SIZE);
+    private final AtomicInteger smallKeys = new AtomicInteger();
+    private final ConcurrentHashMap<K, LongAdder> overflow = new ConcurrentHashMap<>();
+
+    public void increment(K key) {
+        counter(key).increment();
+    }
+
+    public void add(K key, long value) {
+        counter(key).add(value);
+    }
+
+    /**
+     * The current count of the key, 0 if it was never counted.
+     */
+    public long get(K key) {
+        long count = 0;
+        for (int i = indexOf(key), probes = 0; probes < SMALL_TABLE_SIZE; i = (i + 1) & (SMALL_TABLE_SIZE - 1), probes++) {
+            Counter<K> counter = small.get(i);
+            if (counter == null) {
+                break;
+            }
+            if (counter.key.equals(key)) {
+                count += counter.adder.sum();
+                break;
+            }
+        }
+        LongAdder adder = overflow.get(key);
+        return adder == null ? count : count + adder.sum();
+    }
+
+    /**
+     * Adds the counts of the other map to this one.
+     */
+    public StripedCounterMap<K> addAll(StripedCounterMap<K> other) {
+        other.toMap().forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Copies the counts into a new HashMap. Call it after the pipeline has finished.
+     */
+    public Map<K, Long> toMap() {
+        Map<K, Long> result = new HashMap<>();
+        for (int i = 0; i < SMALL_TABLE_SIZE; i++) {
+            Counter<K> counter = small.get(i);
+            if (counter != null) {
+                result.put(counter.key, counter.adder.sum());
+            }
+        }
+        // A key that raced with the small table filling up can have a counter in both places
+        overflow.forEach((key, adder) -> result.merge(key, adder.sum(), Long::sum));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private LongAdder counter(K key) {
+        Objects.requireNonNull(key, "element cannot be mapped to a null key");
+        int i = indexOf(key);
+        for (int probes = 0; probes < SMALL_TABLE_SIZE; probes++) {
+            Counter<K> counter = small.get(i);
+            if (counter == null) {
+                if (!reserveSmallKey()) {
+                    break;
+                }
+                Counter<K> created = new Counter<>(key);
+                if (small.compareAndSet(i, null, created)) {
+                    return created.adder;
+                }
+                // Another thread took the slot first, possibly for the same key: look at it again
+                smallKeys.decrementAndGet();
+                counter = small.get(i);
+            }
+            if (counter.key.equals(key)) {
+                return counter.adder;
+            }
+            i = (i + 1) & (SMALL_TABLE_SIZE - 1);
+        }
+        LongAdder adder = overflow.get(key);
+        return adder != null ? adder : overflow.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    /**
+     * Claims room for one more key in the small table; it is never more than half full, so probes stay short.
+     */
+    private boolean reserveSmallKey() {
+        return smallKeys.getAndUpdate(count -> count < SMALL_KEYS ? count + 1 : count) < SMALL_KEYS;
+    }
+
+    private static int indexOf(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (SMALL_TABLE_SIZE - 1);
+    }
+
+    private static final class Counter<K> {
+
+        private final K key;
+        private final LongAdder adder = new LongAdder();
+
+        Counter(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.java.stream.collector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * StripedListSink
+ * A thread-safe sink that gathers elements for an unordered parallel pipeline without any merge tree.
+ *
+ * Elements are appended to fixed-size chunks held by a set of stripes; the stripe is picked from the
+ * id of the calling thread, so each ForkJoin worker practically owns its own stripe and its lock is
+ * never contended. Full chunks are kept as they are, and toList() copies every element exactly once
+ * into the final array. Collectors.toList() instead merges per-thread ArrayLists pairwise at every level
+ * of the fork-join tree, copying the same elements again and again.
+ *
+ * Use it directly as the action of forEach, or through UnorderedCollectors.toUnorderedList().
+ * The order of the result is unspecified.
+ */
+public final class StripedListSink<T> implements Consumer<T> {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int STRIPE_COUNT = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    private final Stripe[] stripes;
+
+    public StripedListSink() {
+        stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void accept(T element) {
+        Stripe stripe = stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.add(element);
+        }
+    }
+
+    /**
+     * Moves the chunks of the other sink into this one without copying elements.
+     */
+    public StripedListSink<T> addAll(StripedListSink<T> other) {
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe source = other.stripes[i];
+            Stripe target = stripes[i];
+            synchronized (source) {
+                synchronized (target) {
+                    target.moveFrom(source);
+                }
+            }
+        }
+        return this;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Joins all chunks into one unmodifiable list. Call it after the pipeline has finished.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        Object[] result = new Object[Math.toIntExact(size())];
+        int position = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Object[] chunk : stripe.fullChunks) {
+                    System.arraycopy(chunk, 0, result, position, chunk.length);
+                    position += chunk.length;
+                }
+                if (stripe.count > 0) {
+                    System.arraycopy(stripe.current, 0, result, position, stripe.count);
+                    position += stripe.count;
+                }
+            }
+        }
+        return Collections.unmodifiableList((List<T>) Arrays.asList(result));
+    }
+
+    private static int stripeCount(int processors) {
+        int count = Integer.highestOneBit(Math.max(1, processors * 2 - 1)) << 1;
+        return Math.min(count, 256);
+    }
+
+    private static final class Stripe {
+
+        private final List<Object[]> fullChunks = new ArrayList<>();
+        /** Allocated on the first add: most stripes of a short or sequential stream stay empty. */
+        private Object[] current;
+        private int count;
+        private long size;
+
+        void add(Object element) {
+            if (current == null) {
+                current = new Object[CHUNK_SIZE];
+            } else if (count == current.length) {
+                fullChunks.add(current);
+                current = new Object[CHUNK_SIZE];
+                count = 0;
+            }
+            current[count++] = element;
+            size++;
+        }
+
+        void moveFrom(Stripe other) {
+            if (other.size == 0) {
+                return;
+            }
+            fullChunks.addAll(other.fullChunks);
+            if (other.count > 0) {
+                // The partially filled chunk becomes a full chunk of its exact length
+                fullChunks.add(Arrays.copyOf(other.current, other.count));
+            }
+            size += other.size;
+            other.fullChunks.clear();
+            other.current = null;
+            other.count = 0;
+            other.size = 0;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.java.stream.collector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * TopCollectors
+ * Collectors that keep only the k largest (or smallest) elements of a stream in a bounded heap,
+ * instead of sorted(...).limit(k), which buffers and sorts the whole stream.
+ *
+ * Each element costs at most O(log k), so a stream of n elements takes O(n log k) time, and every
+ * thread of a parallel stream holds at most k elements, so memory is O(k * threads). Heaps start small
+ * and grow with the elements they actually hold, so a large k over a small stream (or a small fork of a
+ * parallel stream) costs no more than the elements seen. Partial heaps are merged by offering the
+ * elements of one heap to the other.
+ * Which of several equal elements is kept at the boundary is unspecified.
+ */
+public final class TopCollectors {
+
+    private TopCollectors() {
+    }
+
+    /**
+     * The k largest elements according to the comparator, largest first.
+     */
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        checkK(k);
+        return Collector.of(
+                () -> new BoundedHeap<T>(k, comparator),
+                BoundedHeap::offer,
+                BoundedHeap::merge,
+                BoundedHeap::toSortedList);
+    }
+
+    /**
+     * The k smallest elements according to the comparator, smallest first.
+     */
+    public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        return topK(k, comparator.reversed());
+    }
+
+    /**
+     * The k elements with the largest int key, largest first. Keys are extracted once per element
+     * and compared as primitive ints, e.g. topKByInt(10, Employee::getSalary).
+     */
+    public static <T> Collector<T, ?, List<T>> topKByInt(int k, ToIntFunction<? super T> key) {
+        checkK(k);
+        return Collector.of(
+                () -> new IntKeyHeap<T>(k, false),
+                (heap, element) -> heap.offer(key.applyAsInt(element), element),
+                IntKeyHeap::merge,
+                IntKeyHeap::toSortedList);
+    }
+
+    /**
+     * The k elements with the smallest int key, smallest first.
+     */
+    public static <T> Collector<T, ?, List<T>> bottomKByInt(int k, ToIntFunction<? super T> key) {
+        checkK(k);
+        return Collector.of(
+                () -> new IntKeyHeap<T>(k, true),
+                (heap, element) -> heap.offer(key.applyAsInt(element), element),
+                IntKeyHeap::merge,
+                IntKeyHeap::toSortedList);
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+    }
+
+    /**
+     * A min-heap (by the comparator) of at most k elements: the root is the weakest element kept.
+     */
+    private static final class BoundedHeap<T> {
+
+        private final int k;
+        private final Comparator<? super T> comparator;
+        private final PriorityQueue<T> heap;
+
+        BoundedHeap(int k, Comparator<? super T> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<>(comparator);
+        }
+
+        void offer(T element) {
+            if (heap.size() < k) {
+                heap.add(element);
+            } else if (k > 0 && comparator.compare(element, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+
+        BoundedHeap<T> merge(BoundedHeap<T> other) {
+            other.heap.forEach(this::offer);
+            return this;
+        }
+
+        List<T> toSortedList() {
+            List<T> result = new ArrayList<>(heap);
+            result.sort(comparator.reversed());
+            return result;
+        }
+    }
+
+    /**
+     * A binary heap of at most k (key, element) pairs with the keys in an int[]: the root holds the weakest key.
+     * For top-k that is the smallest key; for bottom-k (reversed) the largest.
+     */
+    private static final class IntKeyHeap<T> {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int k;
+        private final boolean reversed;
+        private int[] keys;
+        private Object[] elements;
+        private int size;
+
+        IntKeyHeap(int k, boolean reversed) {
+            this.k = k;
+            this.reversed = reversed;
+            this.keys = new int[Math.min(k, INITIAL_CAPACITY)];
+            this.elements = new Object[keys.length];
+        }
+
+        /** True if key a is weaker than key b, i.e. would be evicted first. */
+        private boolean weaker(int a, int b) {
+            return reversed ? a > b : a < b;
+        }
+
+        void offer(int key, Object element) {
+            if (size < k) {
+                if (size == keys.length) {
+                    grow();
+                }
+                keys[size] = key;
+                elements[size] = element;
+                siftUp(size++);
+            } else if (k > 0 && weaker(keys[0], key)) {
+                keys[0] = key;
+                elements[0] = element;
+                siftDown(0);
+            }
+        }
+
+        IntKeyHeap<T> merge(IntKeyHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], other.elements[i]);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toSortedList() {
+            // Repeatedly remove the weakest element and fill the result from the back
+            Object[] result = new Object[size];
+            int n = size;
+            while (size > 0) {
+                result[--n] = elements[0];
+                size--;
+                keys[0] = keys[size];
+                elements[0] = elements[size];
+                elements[size] = null;
+                siftDown(0);
+            }
+            List<T> list = new ArrayList<>(result.length);
+            for (Object element : result) {
+                list.add((T) element);
+            }
+            return list;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!weaker(keys[index], keys[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int weakest = left + 1 < size && weaker(keys[left + 1], keys[left]) ? left + 1 : left;
+                if (!weaker(keys[weakest], keys[index])) {
+                    return;
+                }
+                swap(index, weakest);
+                index = weakest;
+            }
+        }
+
+        /**
+         * Doubles the arrays, up to k: they only ever hold min(k, elements offered) entries.
+         */
+        private void grow() {
+            int capacity = (int) Math.min(k, Math.max(INITIAL_CAPACITY, keys.length * 2L));
+            keys = Arrays.copyOf(keys, capacity);
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        private void swap(int a, int b) {
+            int key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            Object element = elements[a];
+            elements[a] = elements[b];
+            elements[b] = element;
+        }
+    }
+}
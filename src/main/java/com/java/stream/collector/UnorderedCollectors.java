@@ -0,0 +1,31 @@
+package com.java.stream.collector;
+
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * UnorderedCollectors
+ * Collectors for pipelines whose result order does not matter, typically after unordered().
+ */
+public final class UnorderedCollectors {
+
+    private UnorderedCollectors() {
+    }
+
+    /**
+     * Collects into an unmodifiable list in no particular order.
+     *
+     * The collector is CONCURRENT and UNORDERED, so a parallel stream feeds all worker threads into a
+     * single StripedListSink instead of building one list per fork and merging them up the tree.
+     * Parallel collection of large streams therefore scales with the number of cores.
+     */
+    public static <T> Collector<T, ?, List<T>> toUnorderedList() {
+        return Collector.of(
+                StripedListSink<T>::new,
+                StripedListSink::accept,
+                StripedListSink::addAll,
+                StripedListSink::toList,
+                Collector.Characteristics.CONCURRENT,
+                Collector.Characteristics.UNORDERED);
+    }
+}
@@ -0,0 +1,221 @@
+package com.java.stream.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ConcurrentMapping
+ * A map stage for blocking, I/O-bound functions (a directory lookup, a payroll call) that runs each call on its
+ * own virtual thread, with at most maxInFlight calls running at any time.
+ *
+ * Blocking inside parallelStream().map(...) parks a ForkJoin worker for the whole call, so at most "number of
+ * cores" calls overlap and every other parallel stream on that pool stalls meanwhile. Virtual threads unmount
+ * while they block, so thousands of calls can be in flight on a handful of carrier threads:
+ *
+ *   try (Stream<EnrichedEmployee> enriched = ConcurrentMapping.mapConcurrent(employees.stream(), 1000, directory::lookup)) {
+ *       enriched.forEach(...);
+ *   }
+ *
+ * The source is pulled lazily, only to refill the in-flight window, and the results are emitted on the consuming
+ * thread: in source order by default (a slow call holds back the results behind it), or in completion order when
+ * ordered is false. The first call that throws cancels (interrupts) all other calls and its exception is rethrown
+ * from the terminal operation as soon as it happens, even in source order while earlier calls are still running;
+ * the same happens when the consumer throws or its thread is interrupted. A pipeline
+ * that stops early (findFirst, limit, anyMatch) leaves calls running until the stream is closed, so use it in
+ * try-with-resources; closing cancels the remaining calls and closes the source stream.
+ */
+public final class ConcurrentMapping {
+
+    private ConcurrentMapping() {
+    }
+
+    /**
+     * Maps the source concurrently and emits the results in source order.
+     */
+    public static <T, R> Stream<R> mapConcurrent(Stream<T> source, int maxInFlight, Function<? super T, ? extends R> mapper) {
+        return mapConcurrent(source, maxInFlight, mapper, true);
+    }
+
+    public static <T, R> Stream<R> mapConcurrent(Stream<T> source, int maxInFlight, Function<? super T, ? extends R> mapper,
+                                                 boolean ordered) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        Objects.requireNonNull(mapper);
+        MappingSpliterator<T, R> spliterator = ordered
+                ? new OrderedSpliterator<>(source, maxInFlight, mapper)
+                : new UnorderedSpliterator<>(source, maxInFlight, mapper);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Pulls the source, keeps up to maxInFlight calls running and hands out their results one by one.
+     */
+    private abstract static class MappingSpliterator<T, R> extends Spliterators.AbstractSpliterator<R> {
+
+        final Function<? super T, ? extends R> mapper;
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Stream<T> source;
+        private final Iterator<T> elements;
+        private final int maxInFlight;
+        private int inFlight;
+        private boolean closed;
+
+        MappingSpliterator(Stream<T> source, int maxInFlight, Function<? super T, ? extends R> mapper, int characteristics) {
+            super(Long.MAX_VALUE, characteristics);
+            this.source = source;
+            this.elements = source.iterator();
+            this.maxInFlight = maxInFlight;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                while (inFlight < maxInFlight && elements.hasNext()) {
+                    submit(elements.next());
+                    inFlight++;
+                }
+                if (inFlight == 0) {
+                    close();
+                    return false;
+                }
+                R result = next();
+                inFlight--;
+                action.accept(result);
+                return true;
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for mapConcurrent results");
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Starts the call for one source element.
+         */
+        abstract void submit(T element);
+
+        /**
+         * Waits for the next result to emit.
+         */
+        abstract R next() throws InterruptedException;
+
+        /**
+         * Cancels the running calls and closes the source; idempotent.
+         */
+        void close() {
+            if (!closed) {
+                closed = true;
+                executor.shutdownNow();
+                source.close();
+            }
+        }
+
+        static RuntimeException propagate(Throwable failure) {
+            if (failure instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            return new CompletionException(failure);
+        }
+    }
+
+    /**
+     * Results in source order: the futures wait in a queue and the oldest one is always emitted next. Every call
+     * also reports a failure to the failed future right away, so a failure behind a slow oldest call is not held
+     * back until the oldest call completes.
+     */
+    private static final class OrderedSpliterator<T, R> extends MappingSpliterator<T, R> {
+
+        private final ArrayDeque<CompletableFuture<R>> running = new ArrayDeque<>();
+        private final CompletableFuture<R> failed = new CompletableFuture<>();
+
+        OrderedSpliterator(Stream<T> source, int maxInFlight, Function<? super T, ? extends R> mapper) {
+            super(source, maxInFlight, mapper, Spliterator.ORDERED);
+        }
+
+        @Override
+        void submit(T element) {
+            CompletableFuture<R> call = CompletableFuture.supplyAsync(() -> mapper.apply(element), executor);
+            call.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    failed.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure);
+                }
+            });
+            running.add(call);
+        }
+
+        @Override
+        R next() throws InterruptedException {
+            CompletableFuture<R> oldest = running.poll();
+            try {
+                // Completes normally only with the oldest result: failed never does
+                CompletableFuture.anyOf(oldest, failed).get();
+                return oldest.resultNow();
+            } catch (ExecutionException e) {
+                throw propagate(failed.isCompletedExceptionally() ? failed.exceptionNow() : e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Results in completion order: every call reports its outcome to a queue as soon as it finishes.
+     */
+    private static final class UnorderedSpliterator<T, R> extends MappingSpliterator<T, R> {
+
+        private final BlockingQueue<Outcome<R>> completed = new LinkedBlockingQueue<>();
+
+        UnorderedSpliterator(Stream<T> source, int maxInFlight, Function<? super T, ? extends R> mapper) {
+            super(source, maxInFlight, mapper, 0);
+        }
+
+        @Override
+        void submit(T element) {
+            executor.execute(() -> {
+                try {
+                    completed.add(new Outcome<>(mapper.apply(element), null));
+                } catch (Throwable e) {
+                    completed.add(new Outcome<>(null, e));
+                }
+            });
+        }
+
+        @Override
+        R next() throws InterruptedException {
+            Outcome<R> outcome = completed.take();
+            if (outcome.failure() != null) {
+                throw propagate(outcome.failure());
+            }
+            return outcome.value();
+        }
+    }
+
+    private record Outcome<R>(R value, Throwable failure) {
+    }
+}
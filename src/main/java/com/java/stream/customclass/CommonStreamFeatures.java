@@ -1,11 +1,22 @@
 package com.java.stream.customclass;  // Package name
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.java.stream.collector.TopCollectors;
+import com.java.stream.concurrent.ConcurrentMapping;
+import com.java.stream.io.BatchedOutputSink;
+import com.java.stream.io.ChannelExporter;
+import com.java.stream.metrics.PipelineMetrics;
+import com.java.stream.primitive.PrimitiveCollectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,13 +39,15 @@ import lombok.extern.slf4j.Slf4j;
  * 10. Finding the first employee from a specific department.
  * 11. Checking conditions with anyMatch.
  * 12. Processing with parallel streams for performance.
+ * 13. Loading employees from a memory-mapped CSV file with a parallel stream.
+ * 14. Enriching employees with a blocking lookup on virtual threads (mapConcurrent).
  * 
  * Author: MadhanKumar
  */
 @Slf4j
 public class CommonStreamFeatures {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Create a list of employees with their details
         List<Employee> employees = Arrays.asList(
             new Employee("John Doe", 1001, 45000, "IT", "Software Engineer", 5, "Full-time", Arrays.asList("Java", "Python")),
@@ -50,6 +63,12 @@ public class CommonStreamFeatures {
             .collect(Collectors.toList());
         log.info("Employees from IT department: " + itEmployees);
 
+        // The same query starting from a hash index on department: only the IT employees are visited
+        IndexedEmployees indexedEmployees = IndexedEmployees.of(employees);
+        List<Employee> indexedItEmployees = indexedEmployees.withDepartment("IT")
+            .collect(Collectors.toList());
+        log.info("Employees from IT department (index lookup): " + indexedItEmployees);
+
         // 2. map(): Get a list of names of all employees
         List<String> employeeNames = employees.stream()
             .map(Employee::getName)
@@ -76,11 +95,31 @@ public class CommonStreamFeatures {
             .collect(Collectors.toList());
         log.info("Employees sorted by years of experience: " + sortedByExperience);
 
+        // Sorting by an int key: the salaries are extracted into an int[] and radix sorted with the row
+        // positions, so no Comparator is called and no Integer is created
+        List<Employee> sortedBySalary = employees.stream()
+            .collect(PrimitiveCollectors.toListSortedByInt(Employee::getSalary));
+        log.info("Employees sorted by salary: " + sortedBySalary);
+
+        // When only the first few are needed, a bounded heap avoids sorting the whole list
+        List<Employee> mostExperienced = employees.stream()
+            .collect(TopCollectors.topKByInt(3, Employee::getYearsOfExperience));
+        log.info("Top 3 employees by years of experience: " + mostExperienced);
+
         // 6. peek(): Inspect each employee in the stream without modifying the stream
         List<Employee> peeked = employees.stream()
             .peek(employee -> log.info("Processing: " + employee))
             .collect(Collectors.toList());
 
+        // Counting instead of logging: PipelineMetrics counts what flows through each stage (and the filter's selectivity)
+        // with per-thread counters, and logs one summary instead of one line per element
+        PipelineMetrics metrics = new PipelineMetrics("it-salaries", 1);
+        int itPayroll = metrics.measure(() -> metrics.source(employees.parallelStream())
+            .filter(metrics.filter("it", employee -> "IT".equals(employee.getDepartment())))
+            .map(metrics.map("salary", Employee::getSalary))
+            .reduce(0, Integer::sum));
+        log.info("IT payroll: " + itPayroll + ", pipeline metrics: " + metrics);
+
         // 7. reduce(): Find the employee with the highest salary using reduction
         Optional<Employee> highestPaid = employees.stream()
             .reduce((e1, e2) -> e1.getSalary() > e2.getSalary() ? e1 : e2);
@@ -102,6 +141,8 @@ public class CommonStreamFeatures {
             .filter(employee -> "Finance".equals(employee.getDepartment()))
             .findFirst();
         firstFromFinance.ifPresent(employee -> log.info("First employee from Finance: " + employee));
+        indexedEmployees.withDepartment("Finance").findFirst()
+            .ifPresent(employee -> log.info("First employee from Finance (index lookup): " + employee));
 
         // 11. anyMatch(): Check if there’s any employee with more than 10 years of experience
         boolean isAnyoneWithMoreThan10YearsExperience = employees.stream()
@@ -111,5 +152,38 @@ public class CommonStreamFeatures {
         // 12. parallelStream(): Process employees in parallel for efficiency
         log.info("Parallel Stream:");
         employees.parallelStream().forEach(employee -> log.info(employee.getName()));
+
+        // The same without a shared lock per element: each worker buffers its names and a single writer thread prints them
+        try (BatchedOutputSink<Employee> sink = BatchedOutputSink.toStandardOutput(Employee::getName)) {
+            employees.parallelStream().forEach(sink);
+        }
+
+        // 13. EmployeeCsvLoader: Parse a CSV export in parallel chunks of a memory-mapped file
+        Path csvFile = Files.createTempFile("employees", ".csv");
+        // The file itself is written by ChannelExporter, which encodes the rows straight into direct buffers
+        ChannelExporter.employeesCsv().export(employees.stream(), csvFile);
+
+        List<Employee> loadedEmployees = EmployeeCsvLoader.load(csvFile);
+        log.info("Employees loaded from CSV: " + loadedEmployees);
+        Files.delete(csvFile);
+
+        // 14. mapConcurrent(): Enrich each employee with a blocking lookup (a stand-in for a payroll service call).
+        // Each call runs on its own virtual thread, up to 100 at a time, and the results keep the source order
+        try (Stream<String> payslips = ConcurrentMapping.mapConcurrent(employees.stream(), 100, CommonStreamFeatures::lookupPayslip)) {
+            log.info("Payslips: " + payslips.collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * A slow, blocking lookup, as a remote payroll service would be.
+     */
+    private static String lookupPayslip(Employee employee) {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payslip lookup interrupted", e);
+        }
+        return employee.getName() + ": " + employee.getSalary() / 12 + " per month";
     }
 }
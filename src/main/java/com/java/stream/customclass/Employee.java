@@ -5,7 +5,7 @@ import java.util.List;
 import lombok.Data;
 
 @Data
-class Employee {
+public class Employee {
     private String name;
     private int id;
     private int salary;
@@ -0,0 +1,302 @@
+package com.java.stream.customclass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * EmployeeCsvLoader
+ * Loads Employee records from a CSV file by memory-mapping it and parsing byte ranges in parallel.
+ *
+ * The file is never read through a BufferedReader: a CsvSpliterator covers a byte range of the file, splits
+ * it in halves at line boundaries, and maps its own range window by window. A parallel stream therefore
+ * parses independent chunks of the file on all cores, with the OS paging the data in directly.
+ *
+ * Expected format (the first line is a header, skills are separated by ';', fields may be quoted):
+ *   name,id,salary,department,jobTitle,yearsOfExperience,employmentType,skills
+ *   John Doe,1001,45000,IT,Software Engineer,5,Full-time,Java;Python
+ *
+ * Every line is one record: splits land on any '\n', so quoted fields cannot contain line breaks.
+ */
+public final class EmployeeCsvLoader {
+
+    public static final String HEADER = "name,id,salary,department,jobTitle,yearsOfExperience,employmentType,skills";
+
+    private static final int FIELD_COUNT = 8;
+    private static final char SKILL_SEPARATOR = ';';
+    /** Ranges smaller than this are parsed by one thread. */
+    private static final long MIN_SPLIT_SIZE = 1 << 20;
+    /** Bytes mapped at a time; a single line must fit in one window. */
+    private static final int WINDOW_SIZE = 64 << 20;
+    private static final int ESTIMATED_LINE_LENGTH = 80;
+
+    private EmployeeCsvLoader() {
+    }
+
+    /**
+     * Streams the employees of the file. Close the stream (try-with-resources) to release the file.
+     */
+    public static Stream<Employee> stream(Path path, boolean parallel) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long start = nextLineStart(channel, 0, size); // skip the header line
+            return StreamSupport.stream(new CsvSpliterator(channel, start, size), parallel)
+                    .onClose(() -> closeUnchecked(channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the whole file in parallel into a list, in file order.
+     */
+    public static List<Employee> load(Path path) throws IOException {
+        try (Stream<Employee> employees = stream(path, true)) {
+            return employees.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parses the whole file in parallel into a columnar EmployeeTable.
+     */
+    public static EmployeeTable loadTable(Path path) throws IOException {
+        return EmployeeTable.of(load(path));
+    }
+
+    /**
+     * Returns the position after the first '\n' at or after the given position, or end if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long current = position;
+        while (current < end) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return Math.min(current + i + 1, end);
+                }
+            }
+            current += read;
+        }
+        return end;
+    }
+
+    /**
+     * Closes the channel from the stream's close handler, which cannot throw IOException, like Files.lines.
+     */
+    private static void closeUnchecked(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Spliterator over the lines in the byte range [position, end) of the file.
+     * The range always starts at the beginning of a line; splits are moved forward to the next line start.
+     */
+    static final class CsvSpliterator implements Spliterator<Employee> {
+
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int windowLimit;
+        private final int[] fieldBounds = new int[FIELD_COUNT * 2];
+        private byte[] scratch = new byte[256];
+
+        CsvSpliterator(FileChannel channel, long position, long end) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public Spliterator<Employee> trySplit() {
+            if (window != null || end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            try {
+                long split = nextLineStart(channel, position + (end - position) / 2, end);
+                if (split >= end) {
+                    return null;
+                }
+                CsvSpliterator prefix = new CsvSpliterator(channel, position, split);
+                position = split;
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Employee> action) {
+            while (position < end) {
+                if (window == null || position >= windowStart + windowLimit) {
+                    mapWindow();
+                }
+                int from = (int) (position - windowStart);
+                int to = from;
+                while (to < windowLimit && window.get(to) != '\n') {
+                    to++;
+                }
+                position = windowStart + Math.min(to + 1, windowLimit);
+                int lineEnd = to > from && window.get(to - 1) == '\r' ? to - 1 : to;
+                if (lineEnd > from) {
+                    action.accept(parseLine(from, lineEnd));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(1, (end - position) / ESTIMATED_LINE_LENGTH);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        /**
+         * Maps the next window of the range, cut after the last complete line that fits.
+         */
+        private void mapWindow() {
+            try {
+                long length = Math.min(WINDOW_SIZE, end - position);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = (int) length;
+                if (position + length < end) {
+                    while (limit > 0 && mapped.get(limit - 1) != '\n') {
+                        limit--;
+                    }
+                    if (limit == 0) {
+                        throw new IllegalStateException("Line at byte " + position + " is longer than " + WINDOW_SIZE + " bytes");
+                    }
+                }
+                window = mapped;
+                windowStart = position;
+                windowLimit = limit;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Employee parseLine(int from, int to) {
+            int fields = splitFields(from, to);
+            if (fields != FIELD_COUNT) {
+                throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields but found " + fields
+                        + " in the line at byte " + (windowStart + from));
+            }
+            return new Employee(
+                    text(0),
+                    number(1),
+                    number(2),
+                    text(3),
+                    text(4),
+                    number(5),
+                    text(6),
+                    skills(text(7)));
+        }
+
+        /**
+         * Records the [start, end) bounds of every field, excluding surrounding quotes, and returns the field count.
+         */
+        private int splitFields(int from, int to) {
+            int field = 0;
+            int i = from;
+            while (i <= to && field < FIELD_COUNT + 1) {
+                int start = i;
+                int fieldEnd;
+                if (i < to && window.get(i) == '"') {
+                    start = ++i;
+                    while (i < to && !(window.get(i) == '"' && (i + 1 >= to || window.get(i + 1) != '"'))) {
+                        i += window.get(i) == '"' ? 2 : 1;
+                    }
+                    fieldEnd = i;
+                    i++; // closing quote
+                } else {
+                    while (i < to && window.get(i) != ',') {
+                        i++;
+                    }
+                    fieldEnd = i;
+                }
+                if (field < FIELD_COUNT) {
+                    fieldBounds[field * 2] = start;
+                    fieldBounds[field * 2 + 1] = fieldEnd;
+                }
+                field++;
+                i++; // comma
+            }
+            return field;
+        }
+
+        private String text(int field) {
+            int start = fieldBounds[field * 2];
+            int length = fieldBounds[field * 2 + 1] - start;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            window.get(start, scratch, 0, length);
+            String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            return value.indexOf('"') >= 0 ? value.replace("\"\"", "\"") : value;
+        }
+
+        private int number(int field) {
+            int fieldStart = fieldBounds[field * 2];
+            int i = fieldStart;
+            int fieldEnd = fieldBounds[field * 2 + 1];
+            boolean negative = i < fieldEnd && window.get(i) == '-';
+            if (negative) {
+                i++;
+            }
+            if (i == fieldEnd) {
+                throw new NumberFormatException("Empty number in field " + field + " at byte " + (windowStart + i));
+            }
+            long value = 0;
+            for (; i < fieldEnd; i++) {
+                int digit = window.get(i) - '0';
+                if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                    throw new NumberFormatException("Invalid number in field " + field + " at byte " + (windowStart + i));
+                }
+                value = value * 10 + digit;
+            }
+            if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                throw new NumberFormatException("Number out of int range in field " + field + " at byte "
+                        + (windowStart + fieldStart));
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private static List<String> skills(String field) {
+            if (field.isEmpty()) {
+                return new ArrayList<>();
+            }
+            return Arrays.asList(field.split(String.valueOf(SKILL_SEPARATOR)));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.java.stream.customclass;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.java.stream.primitive.IntObjectMap;
+
+/**
+ * EmployeeRepository
+ * A mutable set of employees, keyed by id, with materialized aggregates.
+ *
+ * Aggregates are registered once (see IncrementalAggregates) and then kept up to date on every insert,
+ * update and delete, in O(1) or O(log n) per change, instead of being recomputed with a stream over all
+ * employees. Reading an aggregate returns a snapshot that is cached until the next change, so dashboards
+ * polling the department statistics never rescan the employees.
+ *
+ * A change an aggregate rejects by throwing is rolled back: the employees and every aggregate stay as they were.
+ * The repository is thread-safe: changes take a write lock, reads a read lock.
+ * Stored employees must not be modified; update(...) with a new Employee instead.
+ */
+public final class EmployeeRepository {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectMap<Employee> employees = new IntObjectMap<>();
+    private final List<View<?>> views = new ArrayList<>();
+
+    /**
+     * Registers an aggregate and feeds it the employees already stored.
+     */
+    public <R> View<R> register(String name, IncrementalAggregate<? super Employee, R> aggregate) {
+        View<R> view = new View<>(name, aggregate);
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            employees.forEach((id, employee) -> aggregate.add(employee));
+            views.add(view);
+        } finally {
+            writeLock.unlock();
+        }
+        return view;
+    }
+
+    /**
+     * Adds an employee; throws IllegalStateException if the id is already taken.
+     */
+    public void insert(Employee employee) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (employees.containsKey(employee.getId())) {
+                throw new IllegalStateException("Duplicate employee id " + employee.getId());
+            }
+            applyToViews(view -> view.add(employee), view -> view.remove(employee));
+            employees.put(employee.getId(), employee);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void insertAll(Collection<Employee> employees) {
+        employees.forEach(this::insert);
+    }
+
+    /**
+     * Replaces the employee with the same id and returns the previous version;
+     * throws IllegalStateException if there is none.
+     */
+    public Employee update(Employee employee) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Employee previous = employees.get(employee.getId());
+            if (previous == null) {
+                throw new IllegalStateException("No employee with id " + employee.getId());
+            }
+            applyToViews(view -> view.replace(previous, employee), view -> view.replace(employee, previous));
+            employees.put(employee.getId(), employee);
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the employee with the given id and returns it, if there was one.
+     */
+    public Optional<Employee> delete(int id) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Employee removed = employees.get(id);
+            if (removed != null) {
+                applyToViews(view -> view.remove(removed), view -> view.add(removed));
+                employees.remove(id);
+            }
+            return Optional.ofNullable(removed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Optional<Employee> findById(int id) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return Optional.ofNullable(employees.get(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return employees.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * A stream over a copy of the current employees, for ad-hoc queries the registered aggregates do not cover.
+     */
+    public Stream<Employee> stream() {
+        List<Employee> copy;
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            copy = new ArrayList<>(employees.size());
+            employees.forEach((id, employee) -> copy.add(employee));
+        } finally {
+            readLock.unlock();
+        }
+        return copy.stream();
+    }
+
+    /**
+     * Applies a change to every view, or to none: when a view throws, the views already changed are undone in
+     * reverse order and the exception is rethrown, before the employees themselves are changed.
+     */
+    private void applyToViews(Consumer<View<?>> change, Consumer<View<?>> undo) {
+        int applied = 0;
+        try {
+            for (View<?> view : views) {
+                change.accept(view);
+                applied++;
+            }
+        } catch (RuntimeException | Error e) {
+            for (int i = applied - 1; i >= 0; i--) {
+                try {
+                    undo.accept(views.get(i));
+                } catch (RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A registered aggregate. get() returns the current snapshot, computed at most once per change.
+     */
+    public final class View<R> {
+
+        private final String name;
+        private final IncrementalAggregate<? super Employee, R> aggregate;
+        private volatile R snapshot;
+
+        private View(String name, IncrementalAggregate<? super Employee, R> aggregate) {
+            this.name = name;
+            this.aggregate = aggregate;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public R get() {
+            R current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                // Computed under the read lock, so no change can happen in between; concurrent readers may
+                // compute it twice, with the same result
+                current = aggregate.snapshot();
+                snapshot = current;
+                return current;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        private void add(Employee employee) {
+            aggregate.add(employee);
+            snapshot = null;
+        }
+
+        private void remove(Employee employee) {
+            aggregate.remove(employee);
+            snapshot = null;
+        }
+
+        private void replace(Employee previous, Employee employee) {
+            aggregate.remove(previous);
+            snapshot = null;
+            try {
+                aggregate.add(employee);
+            } catch (RuntimeException | Error e) {
+                aggregate.add(previous);
+                throw e;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + get();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.java.stream.customclass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.java.stream.primitive.PrimitiveReductions;
+
+/**
+ * EmployeeTable
+ * A columnar (struct-of-arrays) store for Employee data. Instead of one object per employee,
+ * id, salary and years of experience are kept in int[] columns, and department, job title and
+ * employment type are dictionary-encoded into int[] code columns.
+ *
+ * Analytic queries scan only the columns they need, so "salary > 50000" reads one int[] sequentially
+ * instead of touching every Employee object. Rows are addressed by index: rows() is a splittable
+ * IntStream of row indexes, so any query can be run in parallel with rows().parallel().
+ * Adding rows is not thread-safe; build the table first, then query it from any number of threads.
+ */
+public final class EmployeeTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final StringDictionary departments = new StringDictionary();
+    private final StringDictionary jobTitles = new StringDictionary();
+    private final StringDictionary employmentTypes = new StringDictionary();
+
+    private int[] ids;
+    private int[] salaries;
+    private int[] yearsOfExperience;
+    private int[] departmentCodes;
+    private int[] jobTitleCodes;
+    private int[] employmentTypeCodes;
+    private String[] names;
+    private final List<List<String>> skills = new ArrayList<>();
+    private int size;
+
+    public EmployeeTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EmployeeTable(int initialCapacity) {
+        ids = new int[initialCapacity];
+        salaries = new int[initialCapacity];
+        yearsOfExperience = new int[initialCapacity];
+        departmentCodes = new int[initialCapacity];
+        jobTitleCodes = new int[initialCapacity];
+        employmentTypeCodes = new int[initialCapacity];
+        names = new String[initialCapacity];
+    }
+
+    public static EmployeeTable of(Collection<Employee> employees) {
+        EmployeeTable table = new EmployeeTable(employees.size());
+        employees.forEach(table::add);
+        return table;
+    }
+
+    /**
+     * Appends the employee as a new row and returns its row index.
+     */
+    public int add(Employee employee) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size;
+        ids[row] = employee.getId();
+        salaries[row] = employee.getSalary();
+        yearsOfExperience[row] = employee.getYearsOfExperience();
+        departmentCodes[row] = departments.encode(employee.getDepartment());
+        jobTitleCodes[row] = jobTitles.encode(employee.getJobTitle());
+        employmentTypeCodes[row] = employmentTypes.encode(employee.getEmploymentType());
+        names[row] = employee.getName();
+        skills.add(employee.getSkills());
+        size++;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public int salary(int row) {
+        return salaries[checkRow(row)];
+    }
+
+    public int yearsOfExperience(int row) {
+        return yearsOfExperience[checkRow(row)];
+    }
+
+    public String department(int row) {
+        return departments.decode(departmentCodes[checkRow(row)]);
+    }
+
+    public String jobTitle(int row) {
+        return jobTitles.decode(jobTitleCodes[checkRow(row)]);
+    }
+
+    public String employmentType(int row) {
+        return employmentTypes.decode(employmentTypeCodes[checkRow(row)]);
+    }
+
+    /**
+     * Returns the dictionary code of a department, or -1 if no row has that department.
+     * Filtering on the code compares ints instead of calling String.equals on every row.
+     */
+    public int departmentCode(String department) {
+        return departments.codeOf(department);
+    }
+
+    public int departmentCode(int row) {
+        return departmentCodes[checkRow(row)];
+    }
+
+    /**
+     * Materializes a row back into an Employee object.
+     */
+    public Employee toEmployee(int row) {
+        checkRow(row);
+        return new Employee(names[row], ids[row], salaries[row], departments.decode(departmentCodes[row]),
+                jobTitles.decode(jobTitleCodes[row]), yearsOfExperience[row],
+                employmentTypes.decode(employmentTypeCodes[row]), skills.get(row));
+    }
+
+    /**
+     * A splittable stream of all row indexes, the starting point for column queries.
+     */
+    public IntStream rows() {
+        return IntStream.range(0, size);
+    }
+
+    /**
+     * The salary column as a primitive stream.
+     */
+    public IntStream salaries() {
+        return Arrays.stream(salaries, 0, size);
+    }
+
+    /**
+     * The years of experience column as a primitive stream.
+     */
+    public IntStream yearsOfExperience() {
+        return Arrays.stream(yearsOfExperience, 0, size);
+    }
+
+    /**
+     * Count, sum, min, max and average of the salary column, reduced with SIMD kernels when available.
+     */
+    public IntSummaryStatistics salaryStatistics() {
+        return PrimitiveReductions.summaryStatistics(salaries, 0, size);
+    }
+
+    /**
+     * Materializes every row; only use it when the full objects are really needed.
+     */
+    public Stream<Employee> employees() {
+        return rows().mapToObj(this::toEmployee);
+    }
+
+    /**
+     * Rows of employees earning more than the given salary (columnar version of filter(salary > x)).
+     */
+    public IntStream rowsWithSalaryAbove(int salary) {
+        int[] column = salaries;
+        return rows().filter(row -> column[row] > salary);
+    }
+
+    /**
+     * Rows of employees in the given department, compared by dictionary code.
+     */
+    public IntStream rowsInDepartment(String department) {
+        int code = departments.codeOf(department);
+        int[] column = departmentCodes;
+        return rows().filter(row -> column[row] == code);
+    }
+
+    /**
+     * Counts the given rows per department, using an array indexed by department code as the accumulator.
+     * Works for sequential and parallel row streams.
+     */
+    public Map<String, Long> countByDepartment(IntStream rows) {
+        int[] codes = departmentCodes;
+        long[] counts = rows.collect(() -> new long[departments.size()],
+                (acc, row) -> acc[codes[row]]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                });
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(departments.decode(code), counts[code]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Long> countByDepartment() {
+        return countByDepartment(rows());
+    }
+
+    /**
+     * Highest salary per department, computed on the salary and department code columns.
+     * The accumulator is a long[] so that Long.MIN_VALUE can mark a department without rows: every int salary,
+     * Integer.MIN_VALUE included, is above it.
+     */
+    public Map<String, Integer> maxSalaryByDepartment() {
+        int[] codes = departmentCodes;
+        int[] column = salaries;
+        long[] max = rows().collect(() -> {
+                    long[] acc = new long[departments.size()];
+                    Arrays.fill(acc, Long.MIN_VALUE);
+                    return acc;
+                },
+                (acc, row) -> acc[codes[row]] = Math.max(acc[codes[row]], column[row]),
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] = Math.max(left[i], right[i]);
+                    }
+                });
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < max.length; code++) {
+            if (max[code] != Long.MIN_VALUE) {
+                result.put(departments.decode(code), (int) max[code]);
+            }
+        }
+        return result;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return row;
+    }
+
+    private void grow() {
+        int newCapacity = Math.max(DEFAULT_CAPACITY, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        salaries = Arrays.copyOf(salaries, newCapacity);
+        yearsOfExperience = Arrays.copyOf(yearsOfExperience, newCapacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, newCapacity);
+        jobTitleCodes = Arrays.copyOf(jobTitleCodes, newCapacity);
+        employmentTypeCodes = Arrays.copyOf(employmentTypeCodes, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+    }
+}
@@ -0,0 +1,27 @@
+package com.java.stream.customclass;
+
+/**
+ * IncrementalAggregate
+ * An aggregate that is kept up to date element by element instead of being recomputed over the whole data set:
+ * add is called when an element enters the set, remove when it leaves it (an update is a remove of the old
+ * version followed by an add of the new one), and snapshot returns the current result.
+ *
+ * add and remove must either complete or throw without changing the aggregate: EmployeeRepository rolls back
+ * a change that one aggregate rejects by undoing it in the others.
+ * Implementations are not thread-safe; EmployeeRepository calls them under its lock.
+ * See IncrementalAggregates for the counterparts of the usual groupingBy collectors.
+ */
+public interface IncrementalAggregate<T, R> {
+
+    void add(T element);
+
+    /**
+     * Removes an element that was added before (an equal version of it, for every value the aggregate reads).
+     */
+    void remove(T element);
+
+    /**
+     * The current result, detached from the aggregate: later adds and removes do not change it.
+     */
+    R snapshot();
+}
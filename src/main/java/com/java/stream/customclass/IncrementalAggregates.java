@@ -0,0 +1,237 @@
+package com.java.stream.customclass;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import com.java.stream.primitive.ObjectIntMap;
+
+/**
+ * IncrementalAggregates
+ * The incremental counterparts of the MapFeatures groupings:
+ *
+ * - countBy: groupingBy(classifier, counting()), O(1) per change
+ * - countBy with a filter: filtering(filter, groupingBy(classifier, counting())), O(1) per change
+ * - countEach: counts per element of a collection, like the skill counts, O(skills) per change
+ * - maxBy: groupingBy(classifier, mapping(value, maxBy(...))), O(log n) per change
+ * - summarizingBy: groupingBy(classifier, summarizingInt(value)), O(log n) per change
+ *
+ * A maximum cannot be updated by a removal alone (removing the current maximum needs the next one),
+ * so maxBy and summarizingBy keep a sorted multiset (value -> occurrences) per group.
+ * Groups that become empty are dropped, as if the groups were computed from scratch. An add or remove that
+ * throws, e.g. the removal of an element that was never added, leaves the aggregate unchanged.
+ * Snapshots cost O(number of groups), independent of the number of elements.
+ */
+public final class IncrementalAggregates {
+
+    private IncrementalAggregates() {
+    }
+
+    /**
+     * The number of elements per key.
+     */
+    public static <T, K> IncrementalAggregate<T, Map<K, Long>> countBy(Function<? super T, ? extends K> classifier) {
+        return countBy(element -> true, classifier);
+    }
+
+    /**
+     * The number of elements matching the filter per key, e.g. the high earners per department.
+     */
+    public static <T, K> IncrementalAggregate<T, Map<K, Long>> countBy(Predicate<? super T> filter,
+                                                                       Function<? super T, ? extends K> classifier) {
+        return new IncrementalAggregate<>() {
+
+            private final ObjectIntMap<K> counts = new ObjectIntMap<>();
+
+            @Override
+            public void add(T element) {
+                if (filter.test(element)) {
+                    counts.addTo(classifier.apply(element), 1);
+                }
+            }
+
+            @Override
+            public void remove(T element) {
+                if (filter.test(element)) {
+                    decrement(counts, classifier.apply(element));
+                }
+            }
+
+            @Override
+            public Map<K, Long> snapshot() {
+                return snapshotOf(counts);
+            }
+        };
+    }
+
+    /**
+     * The number of elements per key, where an element has several keys, e.g. employees per skill.
+     */
+    public static <T, K> IncrementalAggregate<T, Map<K, Long>> countEach(
+            Function<? super T, ? extends Collection<? extends K>> keys) {
+        return new IncrementalAggregate<>() {
+
+            private final ObjectIntMap<K> counts = new ObjectIntMap<>();
+
+            @Override
+            public void add(T element) {
+                // copyOf rejects null keys before any count changes
+                List<? extends K> elementKeys = List.copyOf(keys.apply(element));
+                elementKeys.forEach(key -> counts.addTo(key, 1));
+            }
+
+            @Override
+            public void remove(T element) {
+                List<? extends K> elementKeys = List.copyOf(keys.apply(element));
+                int removed = 0;
+                try {
+                    for (K key : elementKeys) {
+                        decrement(counts, key);
+                        removed++;
+                    }
+                } catch (IllegalStateException e) {
+                    for (K key : elementKeys.subList(0, removed)) {
+                        counts.addTo(key, 1);
+                    }
+                    throw e;
+                }
+            }
+
+            @Override
+            public Map<K, Long> snapshot() {
+                return snapshotOf(counts);
+            }
+        };
+    }
+
+    /**
+     * The largest value per key, e.g. the max salary per department.
+     */
+    public static <T, K> IncrementalAggregate<T, Map<K, Integer>> maxBy(Function<? super T, ? extends K> classifier,
+                                                                        ToIntFunction<? super T> value) {
+        return new IncrementalAggregate<>() {
+
+            private final Map<K, IntMultiset> groups = new HashMap<>();
+
+            @Override
+            public void add(T element) {
+                groups.computeIfAbsent(classifier.apply(element), key -> new IntMultiset()).add(value.applyAsInt(element));
+            }
+
+            @Override
+            public void remove(T element) {
+                removeFromGroup(groups, classifier.apply(element), value.applyAsInt(element));
+            }
+
+            @Override
+            public Map<K, Integer> snapshot() {
+                Map<K, Integer> result = new HashMap<>();
+                groups.forEach((key, values) -> result.put(key, values.max()));
+                return Collections.unmodifiableMap(result);
+            }
+        };
+    }
+
+    /**
+     * Count, sum, min, max and average of a value per key, e.g. the salary statistics per department.
+     */
+    public static <T, K> IncrementalAggregate<T, Map<K, IntSummaryStatistics>> summarizingBy(
+            Function<? super T, ? extends K> classifier, ToIntFunction<? super T> value) {
+        return new IncrementalAggregate<>() {
+
+            private final Map<K, IntMultiset> groups = new HashMap<>();
+
+            @Override
+            public void add(T element) {
+                groups.computeIfAbsent(classifier.apply(element), key -> new IntMultiset()).add(value.applyAsInt(element));
+            }
+
+            @Override
+            public void remove(T element) {
+                removeFromGroup(groups, classifier.apply(element), value.applyAsInt(element));
+            }
+
+            @Override
+            public Map<K, IntSummaryStatistics> snapshot() {
+                Map<K, IntSummaryStatistics> result = new HashMap<>();
+                groups.forEach((key, values) -> result.put(key,
+                        new IntSummaryStatistics(values.count, values.min(), values.max(), values.sum)));
+                return Collections.unmodifiableMap(result);
+            }
+        };
+    }
+
+    private static <K> void decrement(ObjectIntMap<K> counts, K key) {
+        int count = counts.getOrDefault(key, 0);
+        if (count == 0) {
+            throw new IllegalStateException(key + " was never added");
+        }
+        if (count == 1) {
+            counts.remove(key, 0);
+        } else {
+            counts.put(key, count - 1);
+        }
+    }
+
+    private static <K> Map<K, Long> snapshotOf(ObjectIntMap<K> counts) {
+        Map<K, Long> result = new HashMap<>();
+        counts.forEach((key, count) -> result.put(key, (long) count));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static <K> void removeFromGroup(Map<K, IntMultiset> groups, K key, int value) {
+        IntMultiset values = groups.get(key);
+        if (values == null || !values.remove(value)) {
+            throw new IllegalStateException("Value " + value + " was never added for " + key);
+        }
+        if (values.count == 0) {
+            groups.remove(key);
+        }
+    }
+
+    /**
+     * Sorted int values with their number of occurrences, plus the running count and sum.
+     */
+    private static final class IntMultiset {
+
+        private final TreeMap<Integer, Integer> occurrences = new TreeMap<>();
+        private int count;
+        private long sum;
+
+        void add(int value) {
+            occurrences.merge(value, 1, Integer::sum);
+            count++;
+            sum += value;
+        }
+
+        boolean remove(int value) {
+            Integer current = occurrences.get(value);
+            if (current == null) {
+                return false;
+            }
+            if (current == 1) {
+                occurrences.remove(value);
+            } else {
+                occurrences.put(value, current - 1);
+            }
+            count--;
+            sum -= value;
+            return true;
+        }
+
+        int min() {
+            return occurrences.firstKey();
+        }
+
+        int max() {
+            return occurrences.lastKey();
+        }
+    }
+}
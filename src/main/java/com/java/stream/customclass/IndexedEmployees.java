@@ -0,0 +1,208 @@
+package com.java.stream.customclass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import com.java.stream.primitive.PrimitiveSorts;
+
+/**
+ * IndexedEmployees
+ * An immutable employee collection with secondary indexes, so that stream queries can start from the
+ * matching employees instead of filtering the full list:
+ *
+ * - hash indexes on department, employment type and job title: O(1) lookup
+ * - an inverted index on skills (skill -> employees having it), built once instead of a flatMap
+ *   over SimpleEntry pairs on every query
+ * - sorted indexes on salary and years of experience: range queries by binary search, O(log n + matches)
+ *
+ * Hash and skill lookups keep the order of the original list, so findFirst() returns the same employee
+ * as a filter over the list. Range queries return employees in ascending order of the indexed value.
+ * All lookups return sized streams backed by arrays or lists, which split evenly when run in parallel.
+ */
+public final class IndexedEmployees {
+
+    private final List<Employee> employees;
+    private final Map<String, List<Employee>> byDepartment;
+    private final Map<String, List<Employee>> byEmploymentType;
+    private final Map<String, List<Employee>> byJobTitle;
+    private final Map<String, List<Employee>> bySkill;
+    private final SortedIndex bySalary;
+    private final SortedIndex byYearsOfExperience;
+
+    private IndexedEmployees(List<Employee> employees) {
+        this.employees = employees;
+        this.byDepartment = hashIndex(employees, Employee::getDepartment);
+        this.byEmploymentType = hashIndex(employees, Employee::getEmploymentType);
+        this.byJobTitle = hashIndex(employees, Employee::getJobTitle);
+        this.bySkill = invertedIndex(employees);
+        this.bySalary = new SortedIndex(employees, Employee::getSalary);
+        this.byYearsOfExperience = new SortedIndex(employees, Employee::getYearsOfExperience);
+    }
+
+    public static IndexedEmployees of(Collection<Employee> employees) {
+        return new IndexedEmployees(List.copyOf(employees));
+    }
+
+    public Stream<Employee> stream() {
+        return employees.stream();
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Stream<Employee> withDepartment(String department) {
+        return lookup(byDepartment, department);
+    }
+
+    public Stream<Employee> withEmploymentType(String employmentType) {
+        return lookup(byEmploymentType, employmentType);
+    }
+
+    public Stream<Employee> withJobTitle(String jobTitle) {
+        return lookup(byJobTitle, jobTitle);
+    }
+
+    public Stream<Employee> withSkill(String skill) {
+        return lookup(bySkill, skill);
+    }
+
+    /**
+     * The skill -> employees index itself, the indexed equivalent of grouping employees by skill.
+     */
+    public Map<String, List<Employee>> employeesBySkill() {
+        return bySkill;
+    }
+
+    public Set<String> departments() {
+        return byDepartment.keySet();
+    }
+
+    /**
+     * Employees with minSalary <= salary <= maxSalary, by ascending salary.
+     */
+    public Stream<Employee> withSalaryBetween(int minSalary, int maxSalary) {
+        return bySalary.between(minSalary, maxSalary);
+    }
+
+    /**
+     * Employees earning strictly more than the threshold, by ascending salary.
+     */
+    public Stream<Employee> withSalaryAbove(int threshold) {
+        return threshold == Integer.MAX_VALUE ? Stream.empty() : bySalary.between(threshold + 1, Integer.MAX_VALUE);
+    }
+
+    public long countWithSalaryAbove(int threshold) {
+        return threshold == Integer.MAX_VALUE ? 0 : bySalary.count(threshold + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Employees with minYears <= years of experience <= maxYears, by ascending experience.
+     */
+    public Stream<Employee> withExperienceBetween(int minYears, int maxYears) {
+        return byYearsOfExperience.between(minYears, maxYears);
+    }
+
+    private static Stream<Employee> lookup(Map<String, List<Employee>> index, String key) {
+        return index.getOrDefault(key, List.of()).stream();
+    }
+
+    private static Map<String, List<Employee>> hashIndex(List<Employee> employees, Function<Employee, String> key) {
+        Map<String, List<Employee>> index = new HashMap<>();
+        for (Employee employee : employees) {
+            index.computeIfAbsent(key.apply(employee), k -> new ArrayList<>()).add(employee);
+        }
+        return freeze(index);
+    }
+
+    private static Map<String, List<Employee>> invertedIndex(List<Employee> employees) {
+        Map<String, List<Employee>> index = new HashMap<>();
+        for (Employee employee : employees) {
+            // An employee listing a skill twice is still indexed once under it
+            for (String skill : new LinkedHashSet<>(employee.getSkills())) {
+                index.computeIfAbsent(skill, k -> new ArrayList<>()).add(employee);
+            }
+        }
+        return freeze(index);
+    }
+
+    private static Map<String, List<Employee>> freeze(Map<String, List<Employee>> index) {
+        index.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * The employees sorted by an int value, next to the sorted values for binary search.
+     */
+    private static final class SortedIndex {
+
+        private final int[] values;
+        private final Employee[] employees;
+
+        SortedIndex(List<Employee> employees, ToIntFunction<Employee> key) {
+            int[] order = PrimitiveSorts.sortedIndexesByInt(employees, key);
+            this.values = new int[order.length];
+            this.employees = new Employee[order.length];
+            for (int i = 0; i < order.length; i++) {
+                Employee employee = employees.get(order[i]);
+                this.employees[i] = employee;
+                this.values[i] = key.applyAsInt(employee);
+            }
+        }
+
+        Stream<Employee> between(int min, int max) {
+            if (min > max) {
+                return Stream.empty();
+            }
+            return Arrays.stream(employees, lowerBound(min), upperBound(max));
+        }
+
+        long count(int min, int max) {
+            return min > max ? 0 : upperBound(max) - lowerBound(min);
+        }
+
+        /**
+         * The first position with a value >= min.
+         */
+        private int lowerBound(int min) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < min) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * The first position with a value > max.
+         */
+        private int upperBound(int max) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= max) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
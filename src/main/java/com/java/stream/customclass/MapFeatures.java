@@ -1,11 +1,22 @@
 package com.java.stream.customclass;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.java.stream.collector.CountingCollectors;
+import com.java.stream.collector.MultiCollector;
+import com.java.stream.io.ChannelExporter;
+import com.java.stream.primitive.IntObjectMap;
+import com.java.stream.primitive.ObjectIntMap;
+import com.java.stream.primitive.PrimitiveCollectors;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,7 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MapFeatures {
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Create a list of employees with their details
         List<Employee> employees = Arrays.asList(
             new Employee("John Doe", 1001, 45000, "IT", "Software Engineer", 5, "Full-time", Arrays.asList("Java", "Python")),
@@ -49,11 +60,24 @@ public class MapFeatures {
             .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
         log.info("Employees grouped by skills: " + employeesBySkill);
 
+        // The inverted skill index is built once; lookups need no flatMap or SimpleEntry per query
+        IndexedEmployees indexedEmployees = IndexedEmployees.of(employees);
+        log.info("Employees grouped by skills (inverted index): " + indexedEmployees.employeesBySkill());
+        log.info("Employees with Python (inverted index): " + indexedEmployees.withSkill("Python")
+            .collect(Collectors.toList()));
+
         // 4. Count employees by department
         Map<String, Long> departmentCount = employees.stream()
             .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
         log.info("Count of employees by department: " + departmentCount);
 
+        // On a parallel stream, count into one map of striped counters instead of merging a HashMap per fork
+        Map<String, Long> parallelDepartmentCount = employees.parallelStream()
+            .collect(CountingCollectors.countingBy(Employee::getDepartment));
+        log.info("Count of employees by department (striped counters): " + parallelDepartmentCount);
+        log.info("Total salary by department (striped counters): " + employees.parallelStream()
+            .collect(CountingCollectors.summingBy(Employee::getDepartment, Employee::getSalary)));
+
         // 5. Create a Map of employee names and salaries
         Map<String, Integer> employeeNameSalaryMap = employees.stream()
             .collect(Collectors.toMap(Employee::getName, Employee::getSalary));
@@ -80,6 +104,8 @@ public class MapFeatures {
             .filter(employee -> employee.getSalary() > 50000)
             .collect(Collectors.toMap(Employee::getName, Employee::getSalary));
         log.info("Employees with salary > 50,000: " + highSalaryMap);
+        log.info("Employees with salary > 50,000 (sorted salary index): " + indexedEmployees.withSalaryAbove(50000)
+            .collect(Collectors.toMap(Employee::getName, Employee::getSalary)));
 
         // 10. Merging values when duplicate keys exist (if employees have the same name)
         Map<String, Integer> mergedEmployeeMap = employees.stream()
@@ -135,6 +161,8 @@ public class MapFeatures {
         Map<String, Long> jobTitleCount = employees.stream()
             .collect(Collectors.groupingBy(Employee::getJobTitle, Collectors.counting()));
         log.info("Number of Employees by Job Title: " + jobTitleCount);
+        log.info("Number of Employees by Job Title (striped counters): " + employees.parallelStream()
+            .collect(CountingCollectors.countingBy(Employee::getJobTitle)));
 
         // 18. Create a map of employee names to the first skill they possess
         Map<String, String> firstSkillMap = employees.stream()
@@ -165,6 +193,8 @@ public class MapFeatures {
             .filter(employee -> employee.getSalary() > 50000)
             .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
         log.info("Count of High Earners by Department: " + highEarnersByDepartment);
+        log.info("Count of High Earners by Department (sorted salary index): " + indexedEmployees.withSalaryAbove(50000)
+            .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
 
         // 23. Map of employee names to their skills as a comma-separated string
         Map<String, String> employeeSkillsMap = employees.stream()
@@ -182,6 +212,98 @@ public class MapFeatures {
             .map(employee -> employee.getName() + " - " + employee.getJobTitle() + " (Salary: " + employee.getSalary() + ")")
             .collect(Collectors.toList());
         log.info("Employee Summary List: " + employeeSummaryList);
+
+        // For large result sets, stream the records out instead of building strings: ChannelExporter encodes them
+        // as NDJSON (or CSV) into pooled direct buffers and writes them to a channel, here a file
+        Path employeesFile = Files.createTempFile("employees", ".ndjson");
+        long employeeBytes = ChannelExporter.employeesNdjson().export(employees.parallelStream(), employeesFile);
+        log.info("Exported " + employeeBytes + " bytes of NDJSON: " + Files.readAllLines(employeesFile));
+        Files.delete(employeesFile);
+        Map<String, Long> countByDepartment = employees.stream()
+            .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+        Path departmentsFile = Files.createTempFile("departments", ".csv");
+        long departmentBytes = ChannelExporter.<String, Long>entriesCsv("department", "employees")
+            .export(countByDepartment.entrySet().stream(), departmentsFile);
+        log.info("Exported " + departmentBytes + " bytes of CSV: " + Files.readAllLines(departmentsFile));
+        Files.delete(departmentsFile);
+
+        // 26. Run the same queries on a columnar EmployeeTable (int[] columns instead of Employee objects)
+        EmployeeTable employeeTable = EmployeeTable.of(employees);
+        long highEarners = employeeTable.rowsWithSalaryAbove(50000).count();
+        log.info("Columnar count of employees with salary > 50,000: " + highEarners);
+        log.info("Columnar count of employees by department: " + employeeTable.countByDepartment());
+        log.info("Columnar count of high earners by department: "
+            + employeeTable.countByDepartment(employeeTable.rowsWithSalaryAbove(50000)));
+        log.info("Columnar max salary by department: " + employeeTable.maxSalaryByDepartment());
+
+        // 27. Compute several of the reports above in a single pass with MultiCollector
+        MultiCollector.Key<Employee, Map<String, Long>> byEmploymentType = MultiCollector.key("byEmploymentType",
+            Collectors.groupingBy(Employee::getEmploymentType, Collectors.counting()));
+        MultiCollector.Key<Employee, Map<String, Long>> byDepartment = MultiCollector.key("byDepartment",
+            Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+        MultiCollector.Key<Employee, Map<String, Long>> byJobTitle = MultiCollector.key("byJobTitle",
+            Collectors.groupingBy(Employee::getJobTitle, Collectors.counting()));
+        MultiCollector.Key<Employee, Map<String, Optional<Integer>>> maxSalary = MultiCollector.key("maxSalaryByDepartment",
+            Collectors.groupingBy(Employee::getDepartment, Collectors.mapping(Employee::getSalary, Collectors.maxBy(Integer::compareTo))));
+        MultiCollector.Key<Employee, Map<String, Long>> highEarnersPerDepartment = MultiCollector.key("highEarnersByDepartment",
+            Collectors.filtering(employee -> employee.getSalary() > 50000,
+                Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
+
+        MultiCollector.Results report = employees.parallelStream()
+            .collect(MultiCollector.of(byEmploymentType, byDepartment, byJobTitle, maxSalary, highEarnersPerDepartment));
+        log.info("Single-pass report: " + report);
+        log.info("Single-pass count of high earners by department: " + report.get(highEarnersPerDepartment));
+
+        // 28. Primitive-keyed maps: the same id map, grouping and summing without boxing keys or values
+        IntObjectMap<Employee> primitiveEmployeeMap = employees.stream()
+            .collect(PrimitiveCollectors.toIntMap(Employee::getId, employee -> employee));
+        log.info("Primitive Employee Map (ID -> Employee): " + primitiveEmployeeMap.get(1003));
+
+        IntObjectMap<List<Employee>> primitiveEmployeesByExperience = employees.stream()
+            .collect(PrimitiveCollectors.groupingByInt(Employee::getYearsOfExperience));
+        log.info("Primitive grouping by years of experience: " + primitiveEmployeesByExperience);
+
+        ObjectIntMap<String> primitiveMergedSalaries = employees.stream()
+            .collect(PrimitiveCollectors.summingIntInto(Employee::getName, Employee::getSalary));
+        log.info("Primitive Merged Employee Salary Map: " + primitiveMergedSalaries);
+
+        // 29. Materialized aggregates: registered once, then updated on every insert, update and delete
+        //     instead of being recomputed over all employees
+        EmployeeRepository repository = new EmployeeRepository();
+        EmployeeRepository.View<Map<String, Long>> departmentCounts = repository.register("countByDepartment",
+            IncrementalAggregates.countBy(Employee::getDepartment));
+        EmployeeRepository.View<Map<String, Integer>> departmentMaxSalaries = repository.register("maxSalaryByDepartment",
+            IncrementalAggregates.maxBy(Employee::getDepartment, Employee::getSalary));
+        EmployeeRepository.View<Map<String, Long>> departmentHighEarners = repository.register("highEarnersByDepartment",
+            IncrementalAggregates.countBy(employee -> employee.getSalary() > 50000, Employee::getDepartment));
+        EmployeeRepository.View<Map<String, Long>> skillCounts = repository.register("countBySkill",
+            IncrementalAggregates.countEach(Employee::getSkills));
+        repository.insertAll(employees);
+        log.info("Materialized aggregates: " + List.of(departmentCounts, departmentMaxSalaries, departmentHighEarners, skillCounts));
+
+        // David Brown leaves Finance and Bob Johnson gets a raise: only these two rows are touched
+        repository.delete(1005);
+        repository.update(new Employee("Bob Johnson", 1003, 80000, "IT", "DevOps Engineer", 3, "Contract",
+            Arrays.asList("DevOps", "Python")));
+        log.info("Max salary by department after the changes: " + departmentMaxSalaries.get());
+        log.info("High earners by department after the changes: " + departmentHighEarners.get());
+
+        // 30. Off-heap storage: the same queries over fixed-width slots in direct memory, read through a
+        //     reused EmployeeView instead of Employee objects the GC has to trace
+        OffHeapEmployeeStore offHeapStore = OffHeapEmployeeStore.of(employees);
+        log.info("Off-heap count of employees by department: " + offHeapStore.stream().parallel()
+            .collect(Collectors.groupingBy(OffHeapEmployeeStore.EmployeeView::department, Collectors.counting())));
+        log.info("Off-heap high earners with Python: " + offHeapStore.stream()
+            .filter(employee -> employee.salary() > 45000 && employee.hasSkill("Python"))
+            .map(OffHeapEmployeeStore.EmployeeView::name)
+            .collect(Collectors.toList()));
+        int itCode = offHeapStore.departmentCode("IT");
+        log.info("Off-heap max salary in IT: " + offHeapStore.stream()
+            .filter(employee -> employee.departmentCode() == itCode)
+            .mapToInt(OffHeapEmployeeStore.EmployeeView::salary)
+            .max());
+        log.info("Off-heap employee at row 3: " + offHeapStore.view(3).toEmployee()
+            + " (" + offHeapStore.offHeapBytes() + " bytes of direct memory)");
     }
 }
 
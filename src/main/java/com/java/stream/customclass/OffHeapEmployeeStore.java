@@ -0,0 +1,342 @@
+package com.java.stream.customclass;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * OffHeapEmployeeStore
+ * Keeps Employee data in direct (off-heap) memory, so that tens of millions of employees add almost nothing
+ * for the garbage collector to mark or copy.
+ *
+ * A List of Employee holds one object per employee plus a String per name and a List with its Strings per
+ * skill set, all of it live in the old generation and traced by every full marking cycle. Here each employee
+ * is a fixed-width 40-byte slot in pages of direct ByteBuffers:
+ *
+ *   id | salary | yearsOfExperience | department | jobTitle | employmentType | name length | skill count | arena offset
+ *
+ * Department, job title, employment type and skills are dictionary codes (see StringDictionary). The name, as
+ * UTF-8 bytes, and the skill codes are appended to an off-heap arena, also made of direct pages. The heap
+ * only holds the page objects and the dictionaries, however many employees are stored.
+ *
+ * Queries run on EmployeeView flyweights: stream() hands the same view, moved from row to row, to every
+ * stage, and the accessors read the slot directly. Numeric fields and dictionary values never allocate; only
+ * name(), skills() and toEmployee() create objects. A view is only valid until the stream moves on, so map
+ * it to the values needed, or call toEmployee(), before collecting or sorting.
+ *
+ * Adding rows is not thread-safe; build the store first, then query it from any number of threads. Direct
+ * memory is bounded by -XX:MaxDirectMemorySize and released when the store becomes unreachable.
+ */
+public final class OffHeapEmployeeStore {
+
+    private static final int SLOT_SIZE = 40;
+    private static final int ID = 0;
+    private static final int SALARY = 4;
+    private static final int YEARS_OF_EXPERIENCE = 8;
+    private static final int DEPARTMENT = 12;
+    private static final int JOB_TITLE = 16;
+    private static final int EMPLOYMENT_TYPE = 20;
+    private static final int NAME_LENGTH = 24;
+    private static final int SKILL_COUNT = 28;
+    private static final int ARENA_OFFSET = 32;
+
+    private static final int SLOT_PAGE_BITS = 16;
+    private static final int SLOTS_PER_PAGE = 1 << SLOT_PAGE_BITS;
+    private static final int ARENA_PAGE_BITS = 22;
+    private static final int ARENA_PAGE_SIZE = 1 << ARENA_PAGE_BITS;
+    /** Rows below this are scanned by one thread. */
+    private static final int MIN_SPLIT_ROWS = 1 << 12;
+
+    private final StringDictionary departments = new StringDictionary();
+    private final StringDictionary jobTitles = new StringDictionary();
+    private final StringDictionary employmentTypes = new StringDictionary();
+    private final StringDictionary skills = new StringDictionary();
+
+    private final List<ByteBuffer> slotPages = new ArrayList<>();
+    private final List<ByteBuffer> arenaPages = new ArrayList<>();
+    private int arenaPosition;
+    private int size;
+
+    public static OffHeapEmployeeStore of(Collection<Employee> employees) {
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+        employees.forEach(store::add);
+        return store;
+    }
+
+    /**
+     * Appends the employee as a new row and returns its row index.
+     */
+    public int add(Employee employee) {
+        byte[] name = employee.getName().getBytes(StandardCharsets.UTF_8);
+        List<String> employeeSkills = employee.getSkills();
+        long offset = allocate(name.length + employeeSkills.size() * Integer.BYTES);
+        ByteBuffer arena = arenaPages.get((int) (offset >>> ARENA_PAGE_BITS));
+        int position = (int) (offset & (ARENA_PAGE_SIZE - 1));
+        arena.put(position, name);
+        for (int i = 0; i < employeeSkills.size(); i++) {
+            arena.putInt(position + name.length + i * Integer.BYTES, skills.encode(employeeSkills.get(i)));
+        }
+
+        if ((size & (SLOTS_PER_PAGE - 1)) == 0) {
+            slotPages.add(ByteBuffer.allocateDirect(SLOTS_PER_PAGE * SLOT_SIZE).order(ByteOrder.nativeOrder()));
+        }
+        ByteBuffer slots = slotPages.get(size >>> SLOT_PAGE_BITS);
+        int slot = (size & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE;
+        slots.putInt(slot + ID, employee.getId());
+        slots.putInt(slot + SALARY, employee.getSalary());
+        slots.putInt(slot + YEARS_OF_EXPERIENCE, employee.getYearsOfExperience());
+        slots.putInt(slot + DEPARTMENT, departments.encode(employee.getDepartment()));
+        slots.putInt(slot + JOB_TITLE, jobTitles.encode(employee.getJobTitle()));
+        slots.putInt(slot + EMPLOYMENT_TYPE, employmentTypes.encode(employee.getEmploymentType()));
+        slots.putInt(slot + NAME_LENGTH, name.length);
+        slots.putInt(slot + SKILL_COUNT, employeeSkills.size());
+        slots.putLong(slot + ARENA_OFFSET, offset);
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Direct memory reserved by the slot and arena pages.
+     */
+    public long offHeapBytes() {
+        return (long) slotPages.size() * SLOTS_PER_PAGE * SLOT_SIZE + (long) arenaPages.size() * ARENA_PAGE_SIZE;
+    }
+
+    /**
+     * Returns the dictionary code of a department, or -1 if no row has that department.
+     * Filtering on EmployeeView.departmentCode() compares ints instead of Strings.
+     */
+    public int departmentCode(String department) {
+        return departments.codeOf(department);
+    }
+
+    /**
+     * A new view positioned on the given row.
+     */
+    public EmployeeView view(int row) {
+        return new EmployeeView().moveTo(row);
+    }
+
+    /**
+     * Streams a view over every row, in row order. The view is reused from row to row (see the class comment);
+     * the stream splits evenly by row ranges when run in parallel, each split with its own view.
+     */
+    public Stream<EmployeeView> stream() {
+        return StreamSupport.stream(new ViewSpliterator(0, size), false);
+    }
+
+    /**
+     * Materializes every row; only use it when the full objects are really needed.
+     */
+    public Stream<Employee> employees() {
+        return stream().map(EmployeeView::toEmployee);
+    }
+
+    /**
+     * Reserves length bytes in the arena and returns their offset: page index in the high bits, position in the
+     * page in the low ARENA_PAGE_BITS. An entry never spans two pages.
+     */
+    private long allocate(int length) {
+        if (length > ARENA_PAGE_SIZE) {
+            throw new IllegalArgumentException("Employee too large for the arena: " + length + " bytes");
+        }
+        if (arenaPages.isEmpty() || arenaPosition + length > ARENA_PAGE_SIZE) {
+            arenaPages.add(ByteBuffer.allocateDirect(ARENA_PAGE_SIZE).order(ByteOrder.nativeOrder()));
+            arenaPosition = 0;
+        }
+        long offset = ((long) (arenaPages.size() - 1) << ARENA_PAGE_BITS) | arenaPosition;
+        arenaPosition += length;
+        return offset;
+    }
+
+    /**
+     * A flyweight over one row of the store. Accessors read the off-heap slot; moveTo() repositions the view
+     * without allocating.
+     */
+    public final class EmployeeView {
+
+        private ByteBuffer slots;
+        private int slot;
+        private int row = -1;
+
+        private EmployeeView() {
+        }
+
+        public EmployeeView moveTo(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+            }
+            this.slots = slotPages.get(row >>> SLOT_PAGE_BITS);
+            this.slot = (row & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE;
+            this.row = row;
+            return this;
+        }
+
+        public int row() {
+            return row;
+        }
+
+        public int id() {
+            return slots.getInt(slot + ID);
+        }
+
+        public int salary() {
+            return slots.getInt(slot + SALARY);
+        }
+
+        public int yearsOfExperience() {
+            return slots.getInt(slot + YEARS_OF_EXPERIENCE);
+        }
+
+        public int departmentCode() {
+            return slots.getInt(slot + DEPARTMENT);
+        }
+
+        public String department() {
+            return departments.decode(departmentCode());
+        }
+
+        public String jobTitle() {
+            return jobTitles.decode(slots.getInt(slot + JOB_TITLE));
+        }
+
+        public String employmentType() {
+            return employmentTypes.decode(slots.getInt(slot + EMPLOYMENT_TYPE));
+        }
+
+        /**
+         * Decodes the name from the arena into a new String.
+         */
+        public String name() {
+            byte[] name = new byte[slots.getInt(slot + NAME_LENGTH)];
+            arena().get(arenaPosition(), name);
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        public int skillCount() {
+            return slots.getInt(slot + SKILL_COUNT);
+        }
+
+        /**
+         * Checks the skill codes in the arena, without decoding any skill.
+         */
+        public boolean hasSkill(String skill) {
+            int code = skills.codeOf(skill);
+            if (code < 0) {
+                return false;
+            }
+            ByteBuffer arena = arena();
+            int first = arenaPosition() + slots.getInt(slot + NAME_LENGTH);
+            for (int i = 0; i < skillCount(); i++) {
+                if (arena.getInt(first + i * Integer.BYTES) == code) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public List<String> skills() {
+            ByteBuffer arena = arena();
+            int first = arenaPosition() + slots.getInt(slot + NAME_LENGTH);
+            List<String> result = new ArrayList<>(skillCount());
+            for (int i = 0; i < skillCount(); i++) {
+                result.add(skills.decode(arena.getInt(first + i * Integer.BYTES)));
+            }
+            return result;
+        }
+
+        /**
+         * Materializes the row into an Employee object that stays valid after the view moves on.
+         */
+        public Employee toEmployee() {
+            return new Employee(name(), id(), salary(), department(), jobTitle(), yearsOfExperience(),
+                    employmentType(), skills());
+        }
+
+        @Override
+        public String toString() {
+            return row < 0 ? "EmployeeView (unpositioned)" : toEmployee().toString();
+        }
+
+        private ByteBuffer arena() {
+            return arenaPages.get((int) (slots.getLong(slot + ARENA_OFFSET) >>> ARENA_PAGE_BITS));
+        }
+
+        private int arenaPosition() {
+            return (int) (slots.getLong(slot + ARENA_OFFSET) & (ARENA_PAGE_SIZE - 1));
+        }
+    }
+
+    /**
+     * Spliterator over the rows [from, to), moving one view along them.
+     */
+    private final class ViewSpliterator implements Spliterator<EmployeeView> {
+
+        private int from;
+        private final int to;
+        private EmployeeView view;
+
+        ViewSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super EmployeeView> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(view().moveTo(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super EmployeeView> action) {
+            EmployeeView current = view();
+            int end = to;
+            for (int row = from; row < end; row++) {
+                action.accept(current.moveTo(row));
+            }
+            from = end;
+        }
+
+        @Override
+        public Spliterator<EmployeeView> trySplit() {
+            int remaining = to - from;
+            if (remaining < MIN_SPLIT_ROWS * 2) {
+                return null;
+            }
+            int middle = from + remaining / 2;
+            Spliterator<EmployeeView> prefix = new ViewSpliterator(from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        private EmployeeView view() {
+            if (view == null) {
+                view = new EmployeeView();
+            }
+            return view;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.java.stream.execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the ParallelStreamExecutor from the stream.fork-join properties.
+ * Spring calls close() when the context stops, which shuts the pools down.
+ */
+@Configuration
+@EnableConfigurationProperties(ForkJoinPoolProperties.class)
+public class ForkJoinPoolConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ParallelStreamExecutor parallelStreamExecutor(ForkJoinPoolProperties properties) {
+        Map<String, PoolSettings> settings = new LinkedHashMap<>();
+        properties.getPools().forEach((name, pool) -> settings.put(name, pool.toSettings()));
+        return new ParallelStreamExecutor(settings, properties.getShutdownTimeout());
+    }
+}
@@ -0,0 +1,40 @@
+package com.java.stream.execution;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Dedicated ForkJoinPools for parallel streams, configured in application.properties:
+ *
+ *   stream.fork-join.pools.analytics.parallelism=4
+ *   stream.fork-join.pools.analytics.max-pool-size=8
+ *   stream.fork-join.shutdown-timeout=10s
+ */
+@Data
+@ConfigurationProperties(prefix = "stream.fork-join")
+public class ForkJoinPoolProperties {
+
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    @Data
+    public static class Pool {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Hard thread limit of the pool; 0 means twice the parallelism.
+         */
+        private int maxPoolSize;
+
+        PoolSettings toSettings() {
+            return maxPoolSize == 0 ? PoolSettings.of(parallelism) : new PoolSettings(parallelism, maxPoolSize);
+        }
+    }
+}
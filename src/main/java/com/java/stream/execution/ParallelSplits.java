@@ -0,0 +1,38 @@
+package com.java.stream.execution;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * How many pieces to split parallel work into, for code that splits an array, a batch range or a stream
+ * itself instead of leaving it to the stream framework.
+ *
+ * The target is PIECES_PER_WORKER pieces per worker thread of the current pool: the pool running the caller
+ * (e.g. inside ParallelStreamExecutor.invoke(...)), or the common pool otherwise. A few pieces per worker let
+ * idle workers steal the rest when some pieces are slower than others.
+ */
+public final class ParallelSplits {
+
+    public static final int PIECES_PER_WORKER = 4;
+
+    private ParallelSplits() {
+    }
+
+    /**
+     * The parallelism of the ForkJoinPool running the caller, or of the common pool.
+     */
+    public static int currentParallelism() {
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * PIECES_PER_WORKER pieces per worker of the current pool, but no more than maxPieces and at least one.
+     *
+     * @param maxPieces how many pieces the work can be split into before they get too small to be worth a task
+     */
+    public static int count(int maxPieces) {
+        return Math.max(1, Math.min(currentParallelism() * PIECES_PER_WORKER, maxPieces));
+    }
+}
@@ -0,0 +1,158 @@
+package com.java.stream.execution;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ParallelStreamExecutor
+ * Runs parallel stream pipelines on named, size-limited ForkJoinPools instead of the JVM-wide common pool.
+ *
+ * A parallel stream executes its subtasks in the ForkJoinPool of the thread that starts the terminal operation,
+ * so submitting the whole pipeline as a task to a dedicated pool keeps it there. A heavy analytics query running
+ * on its own pool can then no longer starve latency-sensitive queries running on another pool or the common pool.
+ *
+ * The pipeline passed to invoke() must be built inside the supplier, e.g.
+ *   executor.invoke("analytics", () -> employees.parallelStream().filter(...).collect(toList()));
+ */
+@Slf4j
+public class ParallelStreamExecutor implements AutoCloseable {
+
+    private final Map<String, ForkJoinPool> pools;
+    private final Duration shutdownTimeout;
+
+    public ParallelStreamExecutor(Map<String, PoolSettings> settings, Duration shutdownTimeout) {
+        Map<String, ForkJoinPool> created = new LinkedHashMap<>();
+        settings.forEach((name, poolSettings) -> created.put(name, createPool(name, poolSettings)));
+        this.pools = Collections.unmodifiableMap(created);
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Runs the pipeline on the named pool and waits for its result.
+     * An exception thrown by the pipeline is rethrown as the same instance, with the stack trace of the worker
+     * thread that threw it. Joining a failed ForkJoinTask from another thread, here or between the workers of
+     * the parallel stream, throws a copy of the same class that wraps the original as its cause; such copies
+     * are unwrapped. A pipeline cancelled by close() ends with a CancellationException.
+     */
+    public <T> T invoke(String poolName, Supplier<T> pipeline) {
+        return pool(poolName).submit(() -> Outcome.of(pipeline)).join().get();
+    }
+
+    /**
+     * Runs a pipeline without a result (e.g. ending in forEach) on the named pool and waits for it.
+     * Exceptions are rethrown as by invoke().
+     */
+    public void run(String poolName, Runnable pipeline) {
+        invoke(poolName, () -> {
+            pipeline.run();
+            return null;
+        });
+    }
+
+    public PoolMetrics metrics(String poolName) {
+        ForkJoinPool pool = pool(poolName);
+        return new PoolMetrics(poolName, pool.getParallelism(), pool.getPoolSize(), pool.getActiveThreadCount(),
+                pool.getRunningThreadCount(), pool.getQueuedTaskCount(), pool.getQueuedSubmissionCount(),
+                pool.getStealCount());
+    }
+
+    /**
+     * Metrics of all pools, in configuration order.
+     */
+    public Map<String, PoolMetrics> metrics() {
+        Map<String, PoolMetrics> metrics = new LinkedHashMap<>();
+        pools.keySet().forEach(name -> metrics.put(name, metrics(name)));
+        return metrics;
+    }
+
+    public Map<String, ForkJoinPool> pools() {
+        return pools;
+    }
+
+    /**
+     * Stops accepting new pipelines and waits up to the shutdown timeout for the running ones,
+     * then interrupts whatever is still running.
+     */
+    @Override
+    public void close() {
+        pools.values().forEach(ForkJoinPool::shutdown);
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Map.Entry<String, ForkJoinPool> entry : pools.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                if (!entry.getValue().awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("ForkJoinPool '{}' did not terminate within {}, cancelling running tasks", entry.getKey(), shutdownTimeout);
+                    entry.getValue().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().shutdownNow();
+            }
+        }
+    }
+
+    private ForkJoinPool pool(String poolName) {
+        ForkJoinPool pool = pools.get(poolName);
+        if (pool == null) {
+            throw new IllegalArgumentException("Unknown ForkJoinPool: " + poolName + ", configured pools: " + pools.keySet());
+        }
+        return pool;
+    }
+
+    /**
+     * The result or the exception of a pipeline, carried back to the calling thread as a normal task result.
+     */
+    private record Outcome<T>(T value, Throwable failure) {
+
+        static <T> Outcome<T> of(Supplier<T> pipeline) {
+            try {
+                return new Outcome<>(pipeline.get(), null);
+            } catch (RuntimeException | Error e) {
+                return new Outcome<>(null, original(e));
+            }
+        }
+
+        /**
+         * Strips the copies ForkJoinTask makes when an exception is joined on another thread: same class as
+         * their cause, and a message that is the cause's toString() (or none).
+         */
+        private static Throwable original(Throwable failure) {
+            Throwable cause = failure.getCause();
+            while (cause != null && cause.getClass() == failure.getClass()
+                    && (failure.getMessage() == null || failure.getMessage().equals(cause.toString()))) {
+                failure = cause;
+                cause = failure.getCause();
+            }
+            return failure;
+        }
+
+        T get() {
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            return value;
+        }
+    }
+
+    private static ForkJoinPool createPool(String name, PoolSettings settings) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("stream-" + name + "-" + thread.getPoolIndex());
+            return thread;
+        };
+        // saturate = true: when maxPoolSize is reached, a blocked join continues with fewer threads instead of failing
+        return new ForkJoinPool(settings.parallelism(), threadFactory, null, false,
+                settings.parallelism(), settings.maxPoolSize(), 1, pool -> true, 60, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,17 @@
+package com.java.stream.execution;
+
+/**
+ * A point-in-time snapshot of the counters of one named ForkJoinPool.
+ *
+ * @param pool              the pool name
+ * @param parallelism       the configured parallelism
+ * @param poolSize          worker threads started and not yet terminated
+ * @param activeThreads     threads currently running or stealing tasks
+ * @param runningThreads    threads not blocked waiting to join tasks
+ * @param queuedTasks       tasks waiting in the work queues of the workers
+ * @param queuedSubmissions tasks submitted from outside the pool and not started yet
+ * @param steals            total number of tasks stolen from another worker's queue
+ */
+public record PoolMetrics(String pool, int parallelism, int poolSize, int activeThreads, int runningThreads,
+                          long queuedTasks, int queuedSubmissions, long steals) {
+}
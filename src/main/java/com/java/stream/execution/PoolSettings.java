@@ -0,0 +1,27 @@
+package com.java.stream.execution;
+
+/**
+ * Size limits of one named ForkJoinPool.
+ *
+ * @param parallelism the number of worker threads that run stream tasks
+ * @param maxPoolSize the hard limit of threads, including the spare threads a pool may start
+ *                    while workers are blocked in join(); never lower than parallelism
+ */
+public record PoolSettings(int parallelism, int maxPoolSize) {
+
+    public PoolSettings {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (maxPoolSize < parallelism) {
+            throw new IllegalArgumentException("maxPoolSize " + maxPoolSize + " is lower than parallelism " + parallelism);
+        }
+    }
+
+    /**
+     * Settings that allow as many spare threads as workers.
+     */
+    public static PoolSettings of(int parallelism) {
+        return new PoolSettings(parallelism, parallelism * 2);
+    }
+}
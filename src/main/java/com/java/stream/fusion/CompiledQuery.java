@@ -0,0 +1,67 @@
+package com.java.stream.fusion;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The template of a compiled FusedPipeline query. This class is never used directly: FusedPipeline defines a
+ * hidden copy of it per query with the query's loop as class data, so each copy has its own static final LOOP
+ * and its own invokeExact call site. The JIT treats a static final MethodHandle as a constant and inlines the
+ * loop, stages included, into the caller of applyAsInt/applyAsLong/applyAsDouble/apply.
+ *
+ * LOOP's type is (Object) -> int, long, double or Object, and only the matching method is called.
+ */
+final class CompiledQuery implements ToIntFunction<Object>, ToLongFunction<Object>, ToDoubleFunction<Object>,
+        Function<Object, Object> {
+
+    private static final MethodHandle LOOP;
+
+    static {
+        try {
+            LOOP = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public int applyAsInt(Object source) {
+        try {
+            return (int) LOOP.invokeExact(source);
+        } catch (Throwable e) {
+            throw FusedPipeline.rethrow(e);
+        }
+    }
+
+    @Override
+    public long applyAsLong(Object source) {
+        try {
+            return (long) LOOP.invokeExact(source);
+        } catch (Throwable e) {
+            throw FusedPipeline.rethrow(e);
+        }
+    }
+
+    @Override
+    public double applyAsDouble(Object source) {
+        try {
+            return (double) LOOP.invokeExact(source);
+        } catch (Throwable e) {
+            throw FusedPipeline.rethrow(e);
+        }
+    }
+
+    @Override
+    public Object apply(Object source) {
+        try {
+            return (Object) LOOP.invokeExact(source);
+        } catch (Throwable e) {
+            throw FusedPipeline.rethrow(e);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.java.stream.fusion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * FusedPipeline
+ * An opt-in alternative to IntStream/LongStream/DoubleStream for hot filter/map/reduce queries over arrays.
+ *
+ * A Stream pipeline pushes every element through one Sink object per stage. The Sink classes are shared by
+ * every pipeline in the JVM, so once many different lambdas flow through them the calls become megamorphic
+ * and the JIT stops inlining. A FusedPipeline instead composes its stages into a single MethodHandle tree
+ * (guardWithTest for filter, filterArguments for map, countedLoop over the array) when the terminal
+ * operation is called, and defines a hidden class per compiled query that holds the tree as a static final
+ * constant (see CompiledQuery). Each compiled query is its own loop with its own lambdas bound into it and its
+ * own call site, so the JIT sees one monomorphic, inlinable loop per query.
+ *
+ *   ToIntFunction<int[]> sumOfDoubledEvens = FusedPipeline.ints()
+ *           .filter(n -> n % 2 == 0)
+ *           .map(n -> n * 2)
+ *           .sum();
+ *   int result = sumOfDoubledEvens.applyAsInt(numbers);
+ *
+ * Compile a query once and apply it to many arrays: building the MethodHandle tree and its class is far more
+ * expensive than running it, and the JIT only specializes a compiled query after it has been invoked a number of
+ * times. A compiled query's class is unloaded once the query is no longer referenced.
+ * Pipelines are immutable, so a partially built pipeline can be shared and extended.
+ * Execution is sequential; double sums are plain left-to-right sums (DoubleStream.sum() compensates rounding).
+ */
+public final class FusedPipeline {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final byte[] QUERY_TEMPLATE = classBytes(CompiledQuery.class);
+
+    private static final MethodHandle INT_TEST = virtual(IntPredicate.class, "test", boolean.class, int.class);
+    private static final MethodHandle INT_MAP = virtual(IntUnaryOperator.class, "applyAsInt", int.class, int.class);
+    private static final MethodHandle INT_TO_LONG = virtual(IntToLongFunction.class, "applyAsLong", long.class, int.class);
+    private static final MethodHandle INT_TO_DOUBLE = virtual(IntToDoubleFunction.class, "applyAsDouble", double.class, int.class);
+    private static final MethodHandle INT_REDUCE = virtual(IntBinaryOperator.class, "applyAsInt", int.class, int.class, int.class);
+    private static final MethodHandle INT_ADD = virtual(IntStream.Builder.class, "add", IntStream.Builder.class, int.class);
+
+    private static final MethodHandle LONG_TEST = virtual(LongPredicate.class, "test", boolean.class, long.class);
+    private static final MethodHandle LONG_MAP = virtual(LongUnaryOperator.class, "applyAsLong", long.class, long.class);
+    private static final MethodHandle LONG_TO_INT = virtual(LongToIntFunction.class, "applyAsInt", int.class, long.class);
+    private static final MethodHandle LONG_TO_DOUBLE = virtual(LongToDoubleFunction.class, "applyAsDouble", double.class, long.class);
+    private static final MethodHandle LONG_REDUCE = virtual(LongBinaryOperator.class, "applyAsLong", long.class, long.class, long.class);
+    private static final MethodHandle LONG_ADD = virtual(LongStream.Builder.class, "add", LongStream.Builder.class, long.class);
+
+    private static final MethodHandle DOUBLE_TEST = virtual(DoublePredicate.class, "test", boolean.class, double.class);
+    private static final MethodHandle DOUBLE_MAP = virtual(DoubleUnaryOperator.class, "applyAsDouble", double.class, double.class);
+    private static final MethodHandle DOUBLE_TO_INT = virtual(DoubleToIntFunction.class, "applyAsInt", int.class, double.class);
+    private static final MethodHandle DOUBLE_TO_LONG = virtual(DoubleToLongFunction.class, "applyAsLong", long.class, double.class);
+    private static final MethodHandle DOUBLE_REDUCE = virtual(DoubleBinaryOperator.class, "applyAsDouble", double.class, double.class, double.class);
+    private static final MethodHandle DOUBLE_ADD = virtual(DoubleStream.Builder.class, "add", DoubleStream.Builder.class, double.class);
+
+    private static final MethodHandle INT_SUM = stat(Integer.class, "sum", int.class, int.class, int.class);
+    private static final MethodHandle LONG_SUM = stat(Long.class, "sum", long.class, long.class, long.class);
+    private static final MethodHandle DOUBLE_SUM = stat(Double.class, "sum", double.class, double.class, double.class);
+    private static final MethodHandle INCREMENT = stat(FusedPipeline.class, "increment", long.class, long.class);
+    private static final MethodHandle NEW_INT_BUILDER = stat(IntStream.class, "builder", IntStream.Builder.class);
+    private static final MethodHandle NEW_LONG_BUILDER = stat(LongStream.class, "builder", LongStream.Builder.class);
+    private static final MethodHandle NEW_DOUBLE_BUILDER = stat(DoubleStream.class, "builder", DoubleStream.Builder.class);
+
+    private FusedPipeline() {
+    }
+
+    /**
+     * A pipeline over int[] sources.
+     */
+    public static OfInt<int[]> ints() {
+        return new OfInt<>(Chain.over(int[].class));
+    }
+
+    /**
+     * A pipeline over long[] sources.
+     */
+    public static OfLong<long[]> longs() {
+        return new OfLong<>(Chain.over(long[].class));
+    }
+
+    /**
+     * A pipeline over double[] sources.
+     */
+    public static OfDouble<double[]> doubles() {
+        return new OfDouble<>(Chain.over(double[].class));
+    }
+
+    /**
+     * The int-valued stages of a pipeline whose source is an S (int[], long[] or double[]).
+     */
+    public static final class OfInt<S> {
+
+        private final Chain chain;
+
+        private OfInt(Chain chain) {
+            this.chain = chain;
+        }
+
+        public OfInt<S> filter(IntPredicate predicate) {
+            return new OfInt<>(chain.filter(INT_TEST.bindTo(predicate)));
+        }
+
+        public OfInt<S> map(IntUnaryOperator mapper) {
+            return new OfInt<>(chain.map(INT_MAP.bindTo(mapper)));
+        }
+
+        public OfLong<S> mapToLong(IntToLongFunction mapper) {
+            return new OfLong<>(chain.map(INT_TO_LONG.bindTo(mapper)));
+        }
+
+        public OfDouble<S> mapToDouble(IntToDoubleFunction mapper) {
+            return new OfDouble<>(chain.map(INT_TO_DOUBLE.bindTo(mapper)));
+        }
+
+        public ToIntFunction<S> sum() {
+            return reduce(0, INT_SUM);
+        }
+
+        public ToIntFunction<S> reduce(int identity, IntBinaryOperator operator) {
+            return reduce(identity, INT_REDUCE.bindTo(operator));
+        }
+
+        public ToLongFunction<S> count() {
+            return chain.count();
+        }
+
+        public Function<S, int[]> toArray() {
+            Function<S, IntStream.Builder> query = chain.compile(NEW_INT_BUILDER, INT_ADD);
+            return source -> query.apply(source).build().toArray();
+        }
+
+        private ToIntFunction<S> reduce(int identity, MethodHandle operator) {
+            return chain.reduceToInt(MethodHandles.constant(int.class, identity), operator);
+        }
+    }
+
+    /**
+     * The long-valued stages of a pipeline whose source is an S (int[], long[] or double[]).
+     */
+    public static final class OfLong<S> {
+
+        private final Chain chain;
+
+        private OfLong(Chain chain) {
+            this.chain = chain;
+        }
+
+        public OfLong<S> filter(LongPredicate predicate) {
+            return new OfLong<>(chain.filter(LONG_TEST.bindTo(predicate)));
+        }
+
+        public OfLong<S> map(LongUnaryOperator mapper) {
+            return new OfLong<>(chain.map(LONG_MAP.bindTo(mapper)));
+        }
+
+        public OfInt<S> mapToInt(LongToIntFunction mapper) {
+            return new OfInt<>(chain.map(LONG_TO_INT.bindTo(mapper)));
+        }
+
+        public OfDouble<S> mapToDouble(LongToDoubleFunction mapper) {
+            return new OfDouble<>(chain.map(LONG_TO_DOUBLE.bindTo(mapper)));
+        }
+
+        public ToLongFunction<S> sum() {
+            return reduce(0L, LONG_SUM);
+        }
+
+        public ToLongFunction<S> reduce(long identity, LongBinaryOperator operator) {
+            return reduce(identity, LONG_REDUCE.bindTo(operator));
+        }
+
+        public ToLongFunction<S> count() {
+            return chain.count();
+        }
+
+        public Function<S, long[]> toArray() {
+            Function<S, LongStream.Builder> query = chain.compile(NEW_LONG_BUILDER, LONG_ADD);
+            return source -> query.apply(source).build().toArray();
+        }
+
+        private ToLongFunction<S> reduce(long identity, MethodHandle operator) {
+            return chain.reduceToLong(MethodHandles.constant(long.class, identity), operator);
+        }
+    }
+
+    /**
+     * The double-valued stages of a pipeline whose source is an S (int[], long[] or double[]).
+     */
+    public static final class OfDouble<S> {
+
+        private final Chain chain;
+
+        private OfDouble(Chain chain) {
+            this.chain = chain;
+        }
+
+        public OfDouble<S> filter(DoublePredicate predicate) {
+            return new OfDouble<>(chain.filter(DOUBLE_TEST.bindTo(predicate)));
+        }
+
+        public OfDouble<S> map(DoubleUnaryOperator mapper) {
+            return new OfDouble<>(chain.map(DOUBLE_MAP.bindTo(mapper)));
+        }
+
+        public OfInt<S> mapToInt(DoubleToIntFunction mapper) {
+            return new OfInt<>(chain.map(DOUBLE_TO_INT.bindTo(mapper)));
+        }
+
+        public OfLong<S> mapToLong(DoubleToLongFunction mapper) {
+            return new OfLong<>(chain.map(DOUBLE_TO_LONG.bindTo(mapper)));
+        }
+
+        public ToDoubleFunction<S> sum() {
+            return reduce(0.0, DOUBLE_SUM);
+        }
+
+        public ToDoubleFunction<S> reduce(double identity, DoubleBinaryOperator operator) {
+            return reduce(identity, DOUBLE_REDUCE.bindTo(operator));
+        }
+
+        public ToLongFunction<S> count() {
+            return chain.count();
+        }
+
+        public Function<S, double[]> toArray() {
+            Function<S, DoubleStream.Builder> query = chain.compile(NEW_DOUBLE_BUILDER, DOUBLE_ADD);
+            return source -> query.apply(source).build().toArray();
+        }
+
+        private ToDoubleFunction<S> reduce(double identity, MethodHandle operator) {
+            return chain.reduceToDouble(MethodHandles.constant(double.class, identity), operator);
+        }
+    }
+
+    /**
+     * The source array type, the element type after the last stage, and the stages, each stored as a function
+     * that wraps the sink of the following stages: a sink is a MethodHandle (accumulator, element) -> accumulator.
+     */
+    private static final class Chain {
+
+        private final Class<?> sourceType;
+        private final Class<?> elementType;
+        private final List<UnaryOperator<MethodHandle>> stages;
+
+        private Chain(Class<?> sourceType, Class<?> elementType, List<UnaryOperator<MethodHandle>> stages) {
+            this.sourceType = sourceType;
+            this.elementType = elementType;
+            this.stages = stages;
+        }
+
+        static Chain over(Class<?> sourceType) {
+            return new Chain(sourceType, sourceType.getComponentType(), List.of());
+        }
+
+        /**
+         * predicate: (element) -> boolean. Elements failing it return the accumulator unchanged.
+         */
+        Chain filter(MethodHandle predicate) {
+            return then(elementType, sink -> {
+                Class<?> accumulator = sink.type().parameterType(0);
+                Class<?> element = predicate.type().parameterType(0);
+                MethodHandle test = MethodHandles.dropArguments(predicate, 0, accumulator);
+                MethodHandle skip = MethodHandles.dropArguments(MethodHandles.identity(accumulator), 1, element);
+                return MethodHandles.guardWithTest(test, sink, skip);
+            });
+        }
+
+        /**
+         * mapper: (element) -> mapped element, applied to the element argument of the sink.
+         */
+        Chain map(MethodHandle mapper) {
+            return then(mapper.type().returnType(), sink -> MethodHandles.filterArguments(sink, 1, mapper));
+        }
+
+        <S> ToLongFunction<S> count() {
+            return reduceToLong(MethodHandles.constant(long.class, 0L), null);
+        }
+
+        @SuppressWarnings("unchecked")
+        <S> ToIntFunction<S> reduceToInt(MethodHandle identity, MethodHandle operator) {
+            return (ToIntFunction<S>) define(compileHandle(identity, operator), int.class);
+        }
+
+        /**
+         * operator: (long, long) -> long; null counts the elements instead.
+         */
+        @SuppressWarnings("unchecked")
+        <S> ToLongFunction<S> reduceToLong(MethodHandle identity, MethodHandle operator) {
+            return (ToLongFunction<S>) define(compileHandle(identity, operator), long.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        <S> ToDoubleFunction<S> reduceToDouble(MethodHandle identity, MethodHandle operator) {
+            return (ToDoubleFunction<S>) define(compileHandle(identity, operator), double.class);
+        }
+
+        /**
+         * Compiles a query whose accumulator is an object created per run by newAccumulator.
+         */
+        @SuppressWarnings("unchecked")
+        <S, A> Function<S, A> compile(MethodHandle newAccumulator, MethodHandle accumulate) {
+            return (Function<S, A>) define(compileHandle(newAccumulator, accumulate), Object.class);
+        }
+
+        /**
+         * Builds source -> { acc = initial(); for (i = 0; i < source.length; i++) acc = sink(acc, source[i]); return acc; }.
+         * initial: () -> accumulator; terminal: (accumulator, element) -> accumulator, or null to count elements.
+         */
+        MethodHandle compileHandle(MethodHandle initial, MethodHandle terminal) {
+            Class<?> accumulator = initial.type().returnType();
+            MethodHandle sink = terminal != null ? terminal : MethodHandles.dropArguments(INCREMENT, 1, elementType);
+            for (int i = stages.size() - 1; i >= 0; i--) {
+                sink = stages.get(i).apply(sink);
+            }
+            // (acc, source, i) -> sink(acc, source[i]), reordered to countedLoop's (acc, i, source)
+            MethodHandle body = MethodHandles.collectArguments(sink, 1, MethodHandles.arrayElementGetter(sourceType));
+            body = MethodHandles.permuteArguments(body,
+                    MethodType.methodType(accumulator, accumulator, int.class, sourceType), 0, 2, 1);
+            return MethodHandles.countedLoop(
+                    MethodHandles.arrayLength(sourceType),
+                    MethodHandles.dropArguments(initial, 0, sourceType),
+                    body);
+        }
+
+        private Chain then(Class<?> nextElementType, UnaryOperator<MethodHandle> stage) {
+            List<UnaryOperator<MethodHandle>> next = new ArrayList<>(stages);
+            next.add(stage);
+            return new Chain(sourceType, nextElementType, List.copyOf(next));
+        }
+    }
+
+    /**
+     * Defines a hidden copy of CompiledQuery holding the loop, adapted to (Object) -> result, as its constant.
+     */
+    private static Object define(MethodHandle loop, Class<?> result) {
+        try {
+            MethodHandles.Lookup query = LOOKUP.defineHiddenClassWithClassData(QUERY_TEMPLATE,
+                    loop.asType(MethodType.methodType(result, Object.class)), true);
+            return query.findConstructor(query.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static long increment(long count) {
+        return count + 1;
+    }
+
+    static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(e);
+    }
+
+    private static MethodHandle virtual(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static byte[] classBytes(Class<?> type) {
+        try (InputStream bytes = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            if (bytes == null) {
+                throw new ExceptionInInitializerError("Class file of " + type.getName() + " not found");
+            }
+            return bytes.readAllBytes();
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle stat(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findStatic(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.java.stream.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * BatchedOutputSink
+ * A terminal sink for printing or exporting the elements of a parallel stream without a global output lock.
+ *
+ * forEach(System.out::println) on a parallel stream makes every worker take the PrintStream's lock for every
+ * element, so the workers end up taking turns. This sink formats each element into a buffer owned by the calling
+ * thread (its lock is never contended) and, once a buffer holds bufferSize characters, hands it as one block of
+ * bytes to a single writer thread, which is the only thread that touches the output channel.
+ *
+ *   try (BatchedOutputSink<Employee> sink = BatchedOutputSink.toStandardOutput(Employee::getName)) {
+ *       employees.parallelStream().forEach(sink);           // any order, like forEach
+ *   }
+ *
+ *   try (BatchedOutputSink<Employee> sink = BatchedOutputSink.toFile(path, Employee::toString)) {
+ *       sink.writeOrdered(employees.parallelStream());       // encounter order, like forEachOrdered
+ *   }
+ *
+ * As a Consumer the output order is unspecified. writeOrdered(stream) keeps the encounter order and still runs in
+ * parallel: it splits the stream into ordered parts and formats them concurrently, each on its own virtual thread,
+ * into a small queue per part; the calling thread hands the blocks to the writer part by part, in encounter order.
+ * A part that runs ahead of the one being written waits once its queue is full, so an ordered write holds at most
+ * PART_QUEUE_CAPACITY blocks per part, however the parts are scheduled. Output is only guaranteed to be written
+ * after flush() or close(); close() also rethrows the first error the writer hit, as an UncheckedIOException.
+ * The writer queue is bounded too, so producers wait when the output cannot keep up.
+ */
+public final class BatchedOutputSink<T> implements Consumer<T>, AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int QUEUE_CAPACITY = 64;
+    /** Blocks a part of writeOrdered may format ahead of the part being written. */
+    private static final int PART_QUEUE_CAPACITY = 4;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final Function<? super T, ? extends CharSequence> formatter;
+    private final int bufferSize;
+    private final BlockingQueue<Block> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ThreadLocal<LineBuffer> buffers = ThreadLocal.withInitial(this::newBuffer);
+    private final Queue<LineBuffer> allBuffers = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    /** A lock, not a monitor: a virtual thread waiting for the parts in writeOrdered must not pin its carrier. */
+    private final ReentrantLock orderedLock = new ReentrantLock();
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    public BatchedOutputSink(WritableByteChannel channel, boolean closeChannel,
+                             Function<? super T, ? extends CharSequence> formatter, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.closeChannel = closeChannel;
+        this.formatter = Objects.requireNonNull(formatter);
+        this.bufferSize = bufferSize;
+        this.writer = Thread.ofPlatform().name("batched-output-writer").daemon().start(this::writeBlocks);
+    }
+
+    /**
+     * Prints String.valueOf(element) per line to System.out, which stays open on close().
+     */
+    public static <T> BatchedOutputSink<T> toStandardOutput() {
+        return toStandardOutput(String::valueOf);
+    }
+
+    public static <T> BatchedOutputSink<T> toStandardOutput(Function<? super T, ? extends CharSequence> formatter) {
+        return new BatchedOutputSink<>(Channels.newChannel(System.out), false, formatter, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes one formatted element per line to the file, replacing its contents; close() closes the file.
+     */
+    public static <T> BatchedOutputSink<T> toFile(Path file, Function<? super T, ? extends CharSequence> formatter) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new BatchedOutputSink<>(channel, true, formatter, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Appends the element to the calling thread's buffer. Order across threads is unspecified.
+     */
+    @Override
+    public void accept(T element) {
+        checkOpen();
+        CharSequence line = formatter.apply(element);
+        LineBuffer buffer = buffers.get();
+        String full = null;
+        synchronized (buffer) {
+            buffer.text.append(line).append(LINE_SEPARATOR);
+            if (buffer.text.length() >= bufferSize) {
+                full = buffer.take();
+            }
+        }
+        if (full != null) {
+            enqueue(Block.of(full));
+        }
+    }
+
+    /**
+     * Writes every element of the stream in encounter order. A parallel stream is split into a few parts per
+     * worker thread and the parts are formatted concurrently; a sequential stream is formatted by the caller.
+     * Calls to writeOrdered are serialized; elements passed to accept() meanwhile may land between the blocks.
+     * An exception thrown by the formatter stops the other parts and is rethrown here.
+     */
+    public void writeOrdered(Stream<? extends T> stream) {
+        checkOpen();
+        orderedLock.lock();
+        try {
+            List<Spliterator<? extends T>> parts = OrderedParts.of(stream);
+            if (parts.size() == 1) {
+                format(parts.get(0), () -> false, text -> enqueue(Block.of(text)));
+            } else {
+                writeParallel(parts);
+            }
+        } finally {
+            orderedLock.unlock();
+        }
+    }
+
+    /**
+     * Hands every thread's pending output to the writer and waits until it has all been written.
+     */
+    public void flush() {
+        checkOpen();
+        drainBuffers();
+        CountDownLatch written = new CountDownLatch(1);
+        enqueue(Block.flush(written));
+        await(written);
+        rethrowFailure();
+    }
+
+    /**
+     * Flushes, stops the writer thread and closes the channel when this sink opened it.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            enqueue(Block.STOP);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (closeChannel) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+        rethrowFailure();
+    }
+
+    private void writeParallel(List<Spliterator<? extends T>> parts) {
+        OrderedWrite write = new OrderedWrite(parts.size());
+        try (ExecutorService formatters = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int part = 0; part < parts.size(); part++) {
+                int index = part;
+                formatters.execute(() -> formatPart(parts.get(index), write.queues.get(index), write));
+            }
+            // Drain every part, even after a failure, so that no formatter stays blocked on its queue
+            for (BlockingQueue<Block> queue : write.queues) {
+                Block block;
+                while ((block = take(queue, write)) != Block.END_OF_PART) {
+                    if (write.failure.get() == null) {
+                        try {
+                            enqueue(block);
+                        } catch (RuntimeException e) {
+                            write.fail(e);
+                        }
+                    }
+                }
+            }
+        }
+        if (write.interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable failure = write.failure.get();
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * Formats one part of an ordered write into its queue, ending with END_OF_PART.
+     */
+    private void formatPart(Spliterator<? extends T> part, BlockingQueue<Block> queue, OrderedWrite write) {
+        try {
+            format(part, () -> write.failure.get() != null, text -> put(queue, Block.of(text)));
+        } catch (PartCancelled e) {
+            // another part failed first
+        } catch (Throwable e) {
+            // Recorded unless another part failed first, including a CancellationException of the caller's own
+            // stream: only PartCancelled means this part was stopped by the write
+            write.fail(e);
+        } finally {
+            put(queue, Block.END_OF_PART);
+        }
+    }
+
+    /**
+     * Formats the elements into blocks of about bufferSize characters and passes each block on.
+     */
+    private void format(Spliterator<? extends T> part, BooleanSupplier cancelled, Consumer<String> blocks) {
+        StringBuilder text = new StringBuilder(Math.min(bufferSize, 1024) + 64);
+        part.forEachRemaining(element -> {
+            if (cancelled.getAsBoolean()) {
+                throw new PartCancelled();
+            }
+            text.append(formatter.apply(element)).append(LINE_SEPARATOR);
+            if (text.length() >= bufferSize) {
+                blocks.accept(text.toString());
+                text.setLength(0);
+            }
+        });
+        if (!text.isEmpty()) {
+            blocks.accept(text.toString());
+        }
+    }
+
+    private void drainBuffers() {
+        for (LineBuffer buffer : allBuffers) {
+            String pending;
+            synchronized (buffer) {
+                pending = buffer.take();
+            }
+            if (!pending.isEmpty()) {
+                enqueue(Block.of(pending));
+            }
+        }
+    }
+
+    private LineBuffer newBuffer() {
+        LineBuffer buffer = new LineBuffer(Math.min(bufferSize, 1024) + 64);
+        allBuffers.add(buffer);
+        return buffer;
+    }
+
+    private void enqueue(Block block) {
+        try {
+            queue.put(block);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the output writer", e);
+        }
+    }
+
+    /**
+     * A part's queue is drained by the caller of writeOrdered, which keeps taking until END_OF_PART, so a
+     * formatter can wait for room as long as it takes.
+     */
+    private static void put(BlockingQueue<Block> queue, Block block) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(block);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Block take(BlockingQueue<Block> queue, OrderedWrite write) {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                // Stop the formatters, but keep draining so that they can finish
+                write.interrupted = true;
+                write.fail(new IllegalStateException("Interrupted while writing in order", e));
+            }
+        }
+    }
+
+    /**
+     * The writer thread: writes the blocks in the order they are queued.
+     */
+    private void writeBlocks() {
+        while (true) {
+            Block block;
+            try {
+                block = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (block == Block.STOP) {
+                return;
+            }
+            if (block.written != null) {
+                block.written.countDown();
+            } else {
+                write(block.text);
+            }
+        }
+    }
+
+    private void write(String text) {
+        if (failure != null || text.isEmpty()) {
+            // After a failure keep draining the queue so that producers never block on it
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("BatchedOutputSink is closed");
+        }
+    }
+
+    private void rethrowFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the output writer", e);
+        }
+    }
+
+    /**
+     * A thread's pending output; only its owner appends, flush() empties it from another thread.
+     */
+    private static final class LineBuffer {
+
+        final StringBuilder text;
+
+        LineBuffer(int capacity) {
+            this.text = new StringBuilder(capacity);
+        }
+
+        String take() {
+            String taken = text.toString();
+            text.setLength(0);
+            return taken;
+        }
+    }
+
+    /**
+     * A block of formatted output for the writer, or a flush marker.
+     */
+    private static final class Block {
+
+        static final Block STOP = new Block("", null);
+        static final Block END_OF_PART = new Block("", null);
+
+        final String text;
+        final CountDownLatch written;
+
+        private Block(String text, CountDownLatch written) {
+            this.text = text;
+            this.written = written;
+        }
+
+        static Block of(String text) {
+            return new Block(text, null);
+        }
+
+        static Block flush(CountDownLatch written) {
+            return new Block("", written);
+        }
+    }
+
+    /**
+     * Stops a formatter once another part has failed. A private type, so that a CancellationException thrown by
+     * the stream or the formatter is still reported as a failure.
+     */
+    private static final class PartCancelled extends RuntimeException {
+
+        PartCancelled() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * State shared by the caller and the formatters of one parallel writeOrdered.
+     */
+    private static final class OrderedWrite {
+
+        final List<BlockingQueue<Block>> queues = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        boolean interrupted;
+
+        OrderedWrite(int parts) {
+            for (int i = 0; i < parts; i++) {
+                queues.add(new ArrayBlockingQueue<>(PART_QUEUE_CAPACITY));
+            }
+        }
+
+        void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.java.stream.io;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * ByteBufferWriter
+ * Encodes text straight into (direct) ByteBuffers as UTF-8, with CSV and JSON helpers, for RecordEncoders.
+ *
+ * Nothing is built as an intermediate String: characters and digits are written byte by byte into the current
+ * buffer, and when it fills up the writer hands it on (to the channel, or to the exporter's writer thread) and
+ * continues in the next one. Writers are created by ChannelExporter, one per encoding thread.
+ */
+public final class ByteBufferWriter {
+
+    private static final byte[] DIGITS = "0123456789".getBytes();
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 4;
+
+    /**
+     * Takes a full buffer (null the first time) and returns an empty one to continue in; full buffers are
+     * still in write mode, positioned after their last byte.
+     */
+    private final UnaryOperator<ByteBuffer> nextBuffer;
+    private ByteBuffer buffer;
+
+    ByteBufferWriter(UnaryOperator<ByteBuffer> nextBuffer) {
+        this.nextBuffer = nextBuffer;
+        this.buffer = nextBuffer.apply(null);
+    }
+
+    /**
+     * Writes the character as UTF-8; a surrogate on its own cannot be encoded and becomes '?'.
+     */
+    public ByteBufferWriter write(char c) {
+        if (Character.isSurrogate(c)) {
+            c = '?';
+        }
+        if (c < 0x80) {
+            ensure(1);
+            buffer.put((byte) c);
+        } else {
+            ensure(MAX_UTF8_BYTES_PER_CHAR);
+            if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the text as UTF-8; a well-formed surrogate pair becomes one 4-byte sequence, a lone surrogate '?'.
+     */
+    public ByteBufferWriter write(CharSequence text) {
+        for (int i = 0; i < text.length(); ) {
+            i = writeCharAt(text, i);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the decimal digits of the value without creating a String.
+     */
+    public ByteBufferWriter write(long value) {
+        if (value == Long.MIN_VALUE) {
+            return write(Long.toString(value));
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put(DIGITS[(int) (value % 10)]);
+            value /= 10;
+        } while (value != 0);
+        // digits were written least significant first
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte swap = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, swap);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a CSV field, quoted (with doubled quotes) when it contains a separator or a quote, as
+     * EmployeeCsvLoader reads it back. EmployeeCsvLoader splits the input into records at every line break,
+     * quoted or not, so a field containing '\n' or '\r' is rejected with an IllegalArgumentException.
+     */
+    public ByteBufferWriter writeCsvField(CharSequence field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\n' || c == '\r') {
+                throw new IllegalArgumentException("CSV field contains a line break: " + field);
+            }
+            quote |= c == ',' || c == '"';
+        }
+        if (!quote) {
+            return write(field);
+        }
+        write('"');
+        for (int i = 0; i < field.length(); ) {
+            if (field.charAt(i) == '"') {
+                write('"');
+            }
+            i = writeCharAt(field, i);
+        }
+        return write('"');
+    }
+
+    /**
+     * Writes a JSON string literal, or null.
+     */
+    public ByteBufferWriter writeJsonString(CharSequence value) {
+        if (value == null) {
+            return write("null");
+        }
+        write('"');
+        for (int i = 0; i < value.length(); ) {
+            char c = value.charAt(i);
+            int next = i + 1;
+            switch (c) {
+                case '"' -> write("\\\"");
+                case '\\' -> write("\\\\");
+                case '\n' -> write("\\n");
+                case '\r' -> write("\\r");
+                case '\t' -> write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        write("\\u00").write((char) HEX[c >> 4]).write((char) HEX[c & 0xF]);
+                    } else {
+                        next = writeCharAt(value, i);
+                    }
+                }
+            }
+            i = next;
+        }
+        return write('"');
+    }
+
+    public ByteBufferWriter writeJsonStrings(List<String> values) {
+        write('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                write(',');
+            }
+            writeJsonString(values.get(i));
+        }
+        return write(']');
+    }
+
+    /**
+     * The buffer being filled, possibly empty: after the last record it holds the tail of the output.
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Writes the character at index i, or the code point when it starts a surrogate pair, and returns the next index.
+     */
+    private int writeCharAt(CharSequence text, int i) {
+        char c = text.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+            writeCodePoint(Character.toCodePoint(c, text.charAt(i + 1)));
+            return i + 2;
+        }
+        write(c);
+        return i + 1;
+    }
+
+    private void writeCodePoint(int codePoint) {
+        ensure(MAX_UTF8_BYTES_PER_CHAR);
+        buffer.put((byte) (0xF0 | codePoint >> 18));
+        buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            buffer = nextBuffer.apply(buffer);
+        }
+    }
+}
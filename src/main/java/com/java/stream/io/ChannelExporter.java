@@ -0,0 +1,348 @@
+package com.java.stream.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.java.stream.customclass.Employee;
+import com.java.stream.customclass.EmployeeCsvLoader;
+
+/**
+ * ChannelExporter
+ * Exports a stream of records as lines of CSV or NDJSON to a WritableByteChannel (a FileChannel, a socket, or
+ * Channels.newChannel(outputStream)), without ever holding the whole output in memory.
+ *
+ * Building the export with Collectors.joining or string concatenation first holds every line as a String, then
+ * the whole text, then its bytes: several copies of the output at the peak, and nothing reaches the channel
+ * until the last record is formatted. Here the RecordEncoder writes each record straight into 64 KB direct
+ * ByteBuffers taken from a bounded pool, and every full buffer is written to the channel and reused.
+ *
+ *   try (Stream<Employee> employees = EmployeeCsvLoader.stream(input, true)) {
+ *       ChannelExporter.employeesNdjson().export(employees, output);
+ *   }
+ *
+ * A parallel stream is split into ordered parts that are encoded concurrently, each on its own virtual thread;
+ * the calling thread writes the parts' buffers to the channel in encounter order as they fill up. The export
+ * then needs at most the pool's buffers, however many records there are, plus at most three for the part being
+ * written when later parts hold all the others: one being filled, one queued and one being written. Exporters
+ * are immutable and thread-safe, and share their buffer pool across exports.
+ *
+ * CSV fields cannot contain line breaks (see ByteBufferWriter.writeCsvField), since EmployeeCsvLoader reads one
+ * record per line.
+ */
+public final class ChannelExporter<T> {
+
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    private static final ByteBuffer END_OF_PART = ByteBuffer.allocate(0);
+    private static final DirectBufferPool POOL = new DirectBufferPool(BUFFER_SIZE,
+            Math.max(8, Runtime.getRuntime().availableProcessors() * 8));
+
+    private final RecordEncoder<? super T> encoder;
+    private final String header;
+
+    /**
+     * @param header first line of the output, e.g. CSV column names; null for none
+     */
+    public ChannelExporter(RecordEncoder<? super T> encoder, String header) {
+        this.encoder = Objects.requireNonNull(encoder);
+        this.header = header;
+    }
+
+    /**
+     * Employees as CSV in the format EmployeeCsvLoader reads, header included.
+     */
+    public static ChannelExporter<Employee> employeesCsv() {
+        return new ChannelExporter<>((employee, out) -> {
+            out.writeCsvField(employee.getName()).write(',')
+                    .write(employee.getId()).write(',')
+                    .write(employee.getSalary()).write(',')
+                    .writeCsvField(employee.getDepartment()).write(',')
+                    .writeCsvField(employee.getJobTitle()).write(',')
+                    .write(employee.getYearsOfExperience()).write(',')
+                    .writeCsvField(employee.getEmploymentType()).write(',')
+                    .writeCsvField(String.join(";", employee.getSkills()));
+        }, EmployeeCsvLoader.HEADER);
+    }
+
+    /**
+     * Employees as NDJSON, one object per line with the same fields as the CSV format.
+     */
+    public static ChannelExporter<Employee> employeesNdjson() {
+        return new ChannelExporter<>((employee, out) -> {
+            out.write("{\"name\":").writeJsonString(employee.getName())
+                    .write(",\"id\":").write(employee.getId())
+                    .write(",\"salary\":").write(employee.getSalary())
+                    .write(",\"department\":").writeJsonString(employee.getDepartment())
+                    .write(",\"jobTitle\":").writeJsonString(employee.getJobTitle())
+                    .write(",\"yearsOfExperience\":").write(employee.getYearsOfExperience())
+                    .write(",\"employmentType\":").writeJsonString(employee.getEmploymentType())
+                    .write(",\"skills\":").writeJsonStrings(employee.getSkills())
+                    .write('}');
+        }, null);
+    }
+
+    /**
+     * Group-by results, e.g. the entries of a groupingBy(..., counting()) map, as "key,value" CSV lines.
+     */
+    public static <K, V> ChannelExporter<Map.Entry<K, V>> entriesCsv(String keyColumn, String valueColumn) {
+        return new ChannelExporter<>((entry, out) -> {
+            out.writeCsvField(String.valueOf(entry.getKey())).write(',');
+            if (isIntegral(entry.getValue())) {
+                out.write(((Number) entry.getValue()).longValue());
+            } else {
+                out.writeCsvField(String.valueOf(entry.getValue()));
+            }
+        }, keyColumn + "," + valueColumn);
+    }
+
+    /**
+     * Group-by results as NDJSON objects {"keyField": key, "valueField": value}; integral values are written as
+     * numbers, anything else as strings.
+     */
+    public static <K, V> ChannelExporter<Map.Entry<K, V>> entriesNdjson(String keyField, String valueField) {
+        return new ChannelExporter<>((entry, out) -> {
+            out.write('{').writeJsonString(keyField).write(':').writeJsonString(String.valueOf(entry.getKey()))
+                    .write(',').writeJsonString(valueField).write(':');
+            if (isIntegral(entry.getValue())) {
+                out.write(((Number) entry.getValue()).longValue());
+            } else {
+                out.writeJsonString(String.valueOf(entry.getValue()));
+            }
+            out.write('}');
+        }, null);
+    }
+
+    /**
+     * Writes the records to the file, replacing its contents, and returns the number of bytes written.
+     */
+    public long export(Stream<? extends T> records, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return export(records, channel);
+        }
+    }
+
+    /**
+     * Writes the header and one line per record to the channel, in encounter order, and returns the number of
+     * bytes written. The channel is left open.
+     */
+    public long export(Stream<? extends T> records, WritableByteChannel channel) throws IOException {
+        Output output = new Output(channel);
+        if (header != null) {
+            output.write(ByteBuffer.wrap((header + "\n").getBytes(StandardCharsets.UTF_8)).compact());
+        }
+        List<Spliterator<? extends T>> parts = OrderedParts.of(records);
+        try {
+            if (parts.size() == 1) {
+                exportSequential(parts.get(0), output);
+            } else {
+                exportParallel(parts, output);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return output.bytes;
+    }
+
+    /**
+     * One buffer, written to the channel each time it fills up.
+     */
+    private void exportSequential(Spliterator<? extends T> records, Output output) {
+        ByteBuffer buffer = POOL.acquire(() -> true, () -> false);
+        try {
+            ByteBufferWriter out = new ByteBufferWriter(full -> {
+                if (full != null) {
+                    output.writeUnchecked(full);
+                }
+                return buffer.clear();
+            });
+            records.forEachRemaining(record -> {
+                encoder.encode(record, out);
+                out.write('\n');
+            });
+            output.writeUnchecked(out.buffer());
+        } finally {
+            POOL.release(buffer);
+        }
+    }
+
+    private void exportParallel(List<Spliterator<? extends T>> parts, Output output) throws IOException {
+        ParallelExport export = new ParallelExport(parts.size());
+        try (ExecutorService encoders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int part = 0; part < parts.size(); part++) {
+                int index = part;
+                encoders.execute(() -> encodePart(parts.get(index), index, export));
+            }
+            // Drain every part, even after a failure, so that all buffers go back to the pool
+            for (int part = 0; part < parts.size(); part++) {
+                export.writingPart = part;
+                POOL.signalWaiters();
+                ByteBuffer buffer;
+                while ((buffer = take(export.queues.get(part), export)) != END_OF_PART) {
+                    if (export.failure.get() == null) {
+                        try {
+                            output.write(buffer);
+                        } catch (IOException | RuntimeException e) {
+                            export.fail(e);
+                        }
+                    }
+                    POOL.release(buffer);
+                }
+            }
+        }
+        if (export.interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while exporting");
+        }
+        Throwable failure = export.failure.get();
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * Encodes one part into pooled buffers and queues them for the writer, ending with END_OF_PART.
+     */
+    private void encodePart(Spliterator<? extends T> records, int part, ParallelExport export) {
+        BlockingQueue<ByteBuffer> queue = export.queues.get(part);
+        ByteBufferWriter out = null;
+        try {
+            out = new ByteBufferWriter(full -> {
+                // acquire first: if that is cancelled, the full buffer is still the writer's and queued below.
+                // Only the part being written may overdraw, and only once the writer has taken its queued buffers.
+                ByteBuffer next = POOL.acquire(() -> export.writingPart == part && queue.isEmpty(),
+                        () -> export.failure.get() != null);
+                if (full != null) {
+                    queue.add(full);
+                }
+                return next;
+            });
+            ByteBufferWriter writer = out;
+            records.forEachRemaining(record -> {
+                if (export.failure.get() != null) {
+                    throw new PartCancelled();
+                }
+                encoder.encode(record, writer);
+                writer.write('\n');
+            });
+        } catch (PartCancelled e) {
+            // another part failed first
+        } catch (Throwable e) {
+            // Recorded unless another part failed first, including a CancellationException of the caller's own
+            // stream: only PartCancelled means this part was stopped by the export
+            export.fail(e);
+        } finally {
+            if (out != null) {
+                queue.add(out.buffer());
+            }
+            queue.add(END_OF_PART);
+        }
+    }
+
+    private static ByteBuffer take(BlockingQueue<ByteBuffer> queue, ParallelExport export) {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                // Stop the encoders, but keep draining so their buffers return to the pool
+                export.interrupted = true;
+                export.fail(new CancellationException("Export interrupted"));
+            }
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * The channel and the bytes written to it.
+     */
+    private static final class Output {
+
+        private final WritableByteChannel channel;
+        private long bytes;
+
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes the buffer's content, from 0 to its position, and clears it.
+         */
+        void write(ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void writeUnchecked(ByteBuffer buffer) {
+            try {
+                write(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Stops an encoder once another part has failed. A private type, so that a CancellationException thrown by
+     * the records' own stream is still reported as a failure.
+     */
+    private static final class PartCancelled extends RuntimeException {
+
+        PartCancelled() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * State shared by the writer and the encoders of one parallel export.
+     */
+    private static final class ParallelExport {
+
+        final List<BlockingQueue<ByteBuffer>> queues = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        volatile int writingPart;
+        boolean interrupted;
+
+        ParallelExport(int parts) {
+            for (int i = 0; i < parts; i++) {
+                queues.add(new LinkedBlockingQueue<>());
+            }
+        }
+
+        void fail(Throwable e) {
+            if (failure.compareAndSet(null, e)) {
+                POOL.signalWaiters();
+            }
+        }
+    }
+}
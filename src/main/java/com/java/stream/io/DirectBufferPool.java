@@ -0,0 +1,113 @@
+package com.java.stream.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded pool of direct ByteBuffers of one size, reused across exports.
+ *
+ * Direct buffers are written to a channel without the copy into a temporary direct buffer that the JDK makes for
+ * heap buffers, but they are expensive to allocate and only freed by the GC, hence the pool. The pool counts the
+ * buffers in circulation, free or handed out. Up to capacity of them are created on demand; beyond that callers
+ * wait until a buffer is released, unless they may overdraw (see acquire). A buffer released while more than
+ * capacity are in circulation is dropped for the GC instead of pooled, so overdrawn buffers never pile up in the
+ * pool and the steady state is capacity buffers, however many exports ran.
+ */
+final class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int capacity;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a buffer is released, and by signalWaiters(). */
+    private final Condition changed = lock.newCondition();
+    private int circulating;
+
+    DirectBufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns an empty buffer, waiting while the pool is exhausted. When overdraw is true the caller gets a new
+     * buffer beyond the capacity instead of waiting: an export's writer waits for one particular part, and that
+     * part must not be stuck behind later parts that hold every pooled buffer. The caller is responsible for
+     * keeping its overdraft small. Waiting stops with a CancellationException once cancelled is true.
+     *
+     * Both conditions are checked again whenever a buffer is released; call signalWaiters() when either can
+     * change otherwise.
+     */
+    ByteBuffer acquire(BooleanSupplier overdraw, BooleanSupplier cancelled) {
+        lock.lock();
+        try {
+            while (true) {
+                ByteBuffer buffer = free.poll();
+                if (buffer != null) {
+                    return buffer.clear();
+                }
+                if (circulating < capacity || overdraw.getAsBoolean()) {
+                    circulating++;
+                    break;
+                }
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException("Export cancelled");
+                }
+                changed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a buffer");
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return ByteBuffer.allocateDirect(bufferSize);
+        } catch (OutOfMemoryError e) {
+            drop();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a buffer to the pool, or drops it while more than capacity buffers are in circulation.
+     */
+    void release(ByteBuffer buffer) {
+        lock.lock();
+        try {
+            if (circulating > capacity) {
+                circulating--;
+            } else {
+                free.push(buffer.clear());
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wakes the callers waiting in acquire, so that they check overdraw and cancelled again.
+     */
+    void signalWaiters() {
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drop() {
+        lock.lock();
+        try {
+            circulating--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
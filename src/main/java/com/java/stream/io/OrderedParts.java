@@ -0,0 +1,56 @@
+package com.java.stream.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import com.java.stream.execution.ParallelSplits;
+
+/**
+ * Splits a stream into parts in encounter order, for sinks that process the parts concurrently and put their
+ * output back together in order.
+ */
+final class OrderedParts {
+
+    private OrderedParts() {
+    }
+
+    /**
+     * A few parts per worker thread of the current pool for a parallel stream, a single part otherwise.
+     * Splitting stops early when the source cannot be split any further.
+     */
+    static <T> List<Spliterator<? extends T>> of(Stream<? extends T> stream) {
+        Spliterator<? extends T> spliterator = stream.spliterator();
+        if (!stream.isParallel()) {
+            return List.of(spliterator);
+        }
+        return split(spliterator, ParallelSplits.count(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Splits the spliterator into up to target parts, keeping them in encounter order (a prefix comes before its rest).
+     */
+    private static <T> List<Spliterator<? extends T>> split(Spliterator<? extends T> spliterator, int target) {
+        List<Spliterator<? extends T>> parts = new ArrayList<>();
+        parts.add(spliterator);
+        boolean progress = true;
+        while (parts.size() < target && progress) {
+            progress = false;
+            List<Spliterator<? extends T>> next = new ArrayList<>(parts.size() * 2);
+            for (int i = 0; i < parts.size(); i++) {
+                Spliterator<? extends T> part = parts.get(i);
+                // parts so far plus the ones not visited yet, this one included
+                int count = next.size() + parts.size() - i;
+                Spliterator<? extends T> prefix = count < target ? part.trySplit() : null;
+                if (prefix != null) {
+                    next.add(prefix);
+                    progress = true;
+                }
+                next.add(part);
+            }
+            parts = next;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,10 @@
+package com.java.stream.io;
+
+/**
+ * Writes one record, without the line break, e.g. a CSV row or an NDJSON object; see ChannelExporter.
+ */
+@FunctionalInterface
+public interface RecordEncoder<T> {
+
+    void encode(T record, ByteBufferWriter out);
+}
@@ -0,0 +1,80 @@
+package com.java.stream.metrics;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Wraps the source spliterator of an instrumented pipeline to count how often a parallel stream split it,
+ * and how many elements the source produced.
+ */
+final class CountingSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<T> delegate;
+    private final StageMetrics source;
+    private final LongAdder splits;
+
+    CountingSpliterator(Spliterator<T> delegate, StageMetrics source, LongAdder splits) {
+        this.delegate = delegate;
+        this.source = source;
+        this.splits = splits;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        boolean advanced = delegate.tryAdvance(action);
+        if (advanced) {
+            source.in();
+            source.out();
+        }
+        return advanced;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long size = delegate.getExactSizeIfKnown();
+        if (size >= 0) {
+            // Sized: count the whole remainder up front instead of once per element
+            delegate.forEachRemaining(action);
+            source.in(size);
+            source.out(size);
+        } else {
+            delegate.forEachRemaining(element -> {
+                source.in();
+                source.out();
+                action.accept(element);
+            });
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = delegate.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+        splits.increment();
+        return new CountingSpliterator<>(prefix, source, splits);
+    }
+
+    @Override
+    public long estimateSize() {
+        return delegate.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return delegate.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return delegate.getComparator();
+    }
+}
@@ -0,0 +1,227 @@
+package com.java.stream.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PipelineMetrics
+ * Instruments the stages of a stream pipeline with counters, as a production-safe replacement for
+ * peek(e -> log.info(...)), which formats a string per element and makes parallel workers queue on the logger.
+ *
+ *   PipelineMetrics metrics = new PipelineMetrics("it-salaries", 64);
+ *   int total = metrics.measure(() -> metrics.source(employees.parallelStream())
+ *           .filter(metrics.filter("it", employee -> "IT".equals(employee.getDepartment())))
+ *           .map(metrics.map("salary", Employee::getSalary))
+ *           .reduce(0, Integer::sum));
+ *
+ * Every wrapped stage counts the elements going in and out (so filter selectivity falls out), and times one call
+ * in sampleEvery, picked at random, so the cost of System.nanoTime() is only paid on a sample. source() counts
+ * how often a parallel stream split the source, and measure() times whole runs and records how many tasks the
+ * ForkJoinPool workers stole from each other meanwhile. The pool's steal count is only updated as workers go
+ * idle, and concurrent runs on the same pool share it, so the steal figure is an approximation.
+ *
+ * A disabled PipelineMetrics returns the stages and streams unchanged, so the instrumentation costs nothing.
+ * In the Spring Boot app, instances come from the PipelineMetricsRegistry, which publishes them to Micrometer.
+ */
+public final class PipelineMetrics {
+
+    static final String SOURCE_STAGE = "source";
+
+    private final String name;
+    private final boolean enabled;
+    private final int sampleEvery;
+    private final Consumer<StageMetrics> stageListener;
+    private final Map<String, StageMetrics> stages = new ConcurrentHashMap<>();
+    private final List<StageMetrics> stagesInOrder = Collections.synchronizedList(new ArrayList<>());
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAdder splits = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+
+    /**
+     * @param sampleEvery time one call in sampleEvery per stage; 1 times every call
+     */
+    public PipelineMetrics(String name, int sampleEvery) {
+        this(name, true, sampleEvery, stage -> {
+        });
+    }
+
+    PipelineMetrics(String name, boolean enabled, int sampleEvery, Consumer<StageMetrics> stageListener) {
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("sampleEvery must be positive: " + sampleEvery);
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.sampleEvery = sampleEvery;
+        this.stageListener = stageListener;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counts the filter's input and output elements and times a sample of its calls.
+     */
+    public <T> Predicate<T> filter(String stage, Predicate<? super T> predicate) {
+        if (!enabled) {
+            return predicate::test;
+        }
+        StageMetrics metrics = stage(stage);
+        return element -> {
+            metrics.in();
+            boolean passed;
+            if (sampled()) {
+                long start = System.nanoTime();
+                passed = predicate.test(element);
+                metrics.sample(System.nanoTime() - start);
+            } else {
+                passed = predicate.test(element);
+            }
+            if (passed) {
+                metrics.out();
+            }
+            return passed;
+        };
+    }
+
+    /**
+     * Counts the elements the mapper transforms and times a sample of its calls.
+     */
+    public <T, R> Function<T, R> map(String stage, Function<? super T, ? extends R> mapper) {
+        if (!enabled) {
+            return mapper::apply;
+        }
+        StageMetrics metrics = stage(stage);
+        return element -> {
+            metrics.in();
+            R result;
+            if (sampled()) {
+                long start = System.nanoTime();
+                result = mapper.apply(element);
+                metrics.sample(System.nanoTime() - start);
+            } else {
+                result = mapper.apply(element);
+            }
+            metrics.out();
+            return result;
+        };
+    }
+
+    /**
+     * A counting replacement for peek(e -> log.info(...)): peek(metrics.count("stage")).
+     */
+    public <T> Consumer<T> count(String stage) {
+        if (!enabled) {
+            return element -> {
+            };
+        }
+        StageMetrics metrics = stage(stage);
+        return element -> {
+            metrics.in();
+            metrics.out();
+        };
+    }
+
+    /**
+     * Rebuilds the stream on a spliterator that counts the source elements and the parallel splits.
+     * Call it on a freshly created stream, before any stage is added.
+     */
+    public <T> Stream<T> source(Stream<T> stream) {
+        if (!enabled) {
+            return stream;
+        }
+        CountingSpliterator<T> spliterator = new CountingSpliterator<>(stream.spliterator(), stage(SOURCE_STAGE), splits);
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
+    }
+
+    /**
+     * Runs the pipeline's terminal operation, recording its duration and the steals in the ForkJoinPool it runs
+     * on: the pool of the calling worker (e.g. inside ParallelStreamExecutor.invoke) or else the common pool.
+     */
+    public <R> R measure(Supplier<R> pipeline) {
+        if (!enabled) {
+            return pipeline.get();
+        }
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        long stealsBefore = pool.getStealCount();
+        long start = System.nanoTime();
+        try {
+            return pipeline.get();
+        } finally {
+            runNanos.add(System.nanoTime() - start);
+            runs.increment();
+            steals.add(Math.max(0, pool.getStealCount() - stealsBefore));
+        }
+    }
+
+    public long runs() {
+        return runs.sum();
+    }
+
+    public long runNanos() {
+        return runNanos.sum();
+    }
+
+    public long splits() {
+        return splits.sum();
+    }
+
+    public long steals() {
+        return steals.sum();
+    }
+
+    /**
+     * The stages in the order they were first instrumented.
+     */
+    public List<StageMetrics> stages() {
+        synchronized (stagesInOrder) {
+            return List.copyOf(stagesInOrder);
+        }
+    }
+
+    public StageMetrics stage(String stage) {
+        StageMetrics metrics = stages.get(stage);
+        if (metrics != null) {
+            return metrics;
+        }
+        boolean[] created = new boolean[1];
+        metrics = stages.computeIfAbsent(stage, key -> {
+            created[0] = true;
+            return new StageMetrics(name, key);
+        });
+        if (created[0]) {
+            stagesInOrder.add(metrics);
+            stageListener.accept(metrics);
+        }
+        return metrics;
+    }
+
+    private boolean sampled() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%s: runs=%d, splits=%d, steals=%d", name, runs(), splits(), steals()));
+        stages().forEach(stage -> report.append(System.lineSeparator()).append("  ").append(stage));
+        return report.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.java.stream.metrics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the PipelineMetricsRegistry from the stream.metrics properties.
+ * Being a MeterBinder bean, it is bound to the Actuator's MeterRegistry at startup.
+ */
+@Configuration
+@EnableConfigurationProperties(PipelineMetricsProperties.class)
+public class PipelineMetricsConfiguration {
+
+    @Bean
+    public PipelineMetricsRegistry pipelineMetricsRegistry(PipelineMetricsProperties properties) {
+        return new PipelineMetricsRegistry(properties.isEnabled(), properties.getSampleEvery());
+    }
+}
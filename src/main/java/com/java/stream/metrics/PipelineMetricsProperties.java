@@ -0,0 +1,26 @@
+package com.java.stream.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Pipeline instrumentation, configured in application.properties:
+ *
+ *   stream.metrics.enabled=true
+ *   stream.metrics.sample-every=64
+ */
+@Data
+@ConfigurationProperties(prefix = "stream.metrics")
+public class PipelineMetricsProperties {
+
+    /**
+     * When false, instrumented stages run unwrapped.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time one stage call in this many; counting is never sampled.
+     */
+    private int sampleEvery = 64;
+}
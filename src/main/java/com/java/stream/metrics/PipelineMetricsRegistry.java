@@ -0,0 +1,112 @@
+package com.java.stream.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * PipelineMetricsRegistry
+ * Hands out one PipelineMetrics per pipeline name and publishes their counters to Micrometer, so they show up
+ * under /actuator/metrics (e.g. /actuator/metrics/stream.pipeline.stage.elements.in?tag=stage:filter):
+ *
+ *   stream.pipeline.runs                   timer of measure() runs             tag pipeline
+ *   stream.pipeline.splits                 source splits by parallel streams   tag pipeline
+ *   stream.pipeline.steals                 ForkJoinPool steals during runs     tag pipeline
+ *   stream.pipeline.stage.elements.in      elements entering a stage           tags pipeline, stage
+ *   stream.pipeline.stage.elements.out     elements leaving a stage            tags pipeline, stage
+ *   stream.pipeline.stage.selectivity      elements out / elements in          tags pipeline, stage
+ *   stream.pipeline.stage.sampled.time     timer of the sampled stage calls    tags pipeline, stage
+ *
+ * Stages are registered as they are first instrumented, also after Spring has bound the registry.
+ */
+public class PipelineMetricsRegistry implements MeterBinder {
+
+    private final boolean enabled;
+    private final int sampleEvery;
+    private final Map<String, PipelineMetrics> pipelines = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public PipelineMetricsRegistry(boolean enabled, int sampleEvery) {
+        this.enabled = enabled;
+        this.sampleEvery = sampleEvery;
+    }
+
+    public PipelineMetrics pipeline(String name) {
+        PipelineMetrics pipeline = pipelines.get(name);
+        if (pipeline != null) {
+            return pipeline;
+        }
+        return pipelines.computeIfAbsent(name, key -> {
+            PipelineMetrics created = new PipelineMetrics(key, enabled, sampleEvery, this::register);
+            register(created);
+            return created;
+        });
+    }
+
+    public Collection<PipelineMetrics> pipelines() {
+        return pipelines.values();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        // Micrometer returns the existing meter for an id registered twice, so racing a new stage is harmless
+        pipelines.values().forEach(pipeline -> {
+            register(pipeline);
+            pipeline.stages().forEach(this::register);
+        });
+    }
+
+    private void register(PipelineMetrics pipeline) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null || !pipeline.isEnabled()) {
+            return;
+        }
+        Tags tags = Tags.of("pipeline", pipeline.name());
+        FunctionTimer.builder("stream.pipeline.runs", pipeline, PipelineMetrics::runs, PipelineMetrics::runNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Terminal operations run through PipelineMetrics.measure")
+                .register(registry);
+        FunctionCounter.builder("stream.pipeline.splits", pipeline, PipelineMetrics::splits)
+                .tags(tags)
+                .description("Times a parallel stream split the pipeline's source")
+                .register(registry);
+        FunctionCounter.builder("stream.pipeline.steals", pipeline, PipelineMetrics::steals)
+                .tags(tags)
+                .description("Tasks stolen between ForkJoinPool workers while the pipeline ran (approximate)")
+                .register(registry);
+    }
+
+    private void register(StageMetrics stage) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        Tags tags = Tags.of("pipeline", stage.pipeline(), "stage", stage.name());
+        FunctionCounter.builder("stream.pipeline.stage.elements.in", stage, StageMetrics::elementsIn)
+                .tags(tags)
+                .baseUnit("elements")
+                .register(registry);
+        FunctionCounter.builder("stream.pipeline.stage.elements.out", stage, StageMetrics::elementsOut)
+                .tags(tags)
+                .baseUnit("elements")
+                .register(registry);
+        Gauge.builder("stream.pipeline.stage.selectivity", stage, StageMetrics::selectivity)
+                .tags(tags)
+                .description("Fraction of the elements that passed the stage")
+                .register(registry);
+        FunctionTimer.builder("stream.pipeline.stage.sampled.time", stage, StageMetrics::sampledCalls,
+                        StageMetrics::sampledNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Time of the sampled calls of the stage")
+                .register(registry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.java.stream.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StageMetrics
+ * Counters of one instrumented stage of a pipeline: elements in and out, and the time of a sample of the calls.
+ *
+ * The counters are LongAdders, which give each contending thread its own cell, so parallel workers updating the
+ * same stage do not fight over one cache line; the cells are only summed when the counters are read.
+ */
+public final class StageMetrics {
+
+    private final String pipeline;
+    private final String name;
+    private final LongAdder elementsIn = new LongAdder();
+    private final LongAdder elementsOut = new LongAdder();
+    private final LongAdder sampledCalls = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+
+    StageMetrics(String pipeline, String name) {
+        this.pipeline = pipeline;
+        this.name = name;
+    }
+
+    public String pipeline() {
+        return pipeline;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long elementsIn() {
+        return elementsIn.sum();
+    }
+
+    public long elementsOut() {
+        return elementsOut.sum();
+    }
+
+    /**
+     * The fraction of the elements that passed the stage: below 1 for filters, 1 for maps; NaN before any element.
+     */
+    public double selectivity() {
+        long in = elementsIn();
+        return in == 0 ? Double.NaN : (double) elementsOut() / in;
+    }
+
+    /**
+     * The number of calls that were timed.
+     */
+    public long sampledCalls() {
+        return sampledCalls.sum();
+    }
+
+    /**
+     * The total time of the timed calls.
+     */
+    public long sampledNanos() {
+        return sampledNanos.sum();
+    }
+
+    /**
+     * Average time of one call, estimated from the timed calls.
+     */
+    public double averageNanos() {
+        long calls = sampledCalls();
+        return calls == 0 ? 0 : (double) sampledNanos() / calls;
+    }
+
+    /**
+     * Time spent in the stage across all calls, extrapolated from the timed calls.
+     */
+    public double estimatedTotalNanos() {
+        return averageNanos() * elementsIn();
+    }
+
+    void in() {
+        elementsIn.increment();
+    }
+
+    void in(long count) {
+        elementsIn.add(count);
+    }
+
+    void out() {
+        elementsOut.increment();
+    }
+
+    void out(long count) {
+        elementsOut.add(count);
+    }
+
+    void sample(long nanos) {
+        sampledCalls.increment();
+        sampledNanos.add(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/%s: in=%d, out=%d, selectivity=%.3f, avg=%.1f ns",
+                pipeline, name, elementsIn(), elementsOut(), selectivity(), averageNanos());
+    }
+}
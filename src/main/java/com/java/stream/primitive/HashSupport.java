@@ -0,0 +1,31 @@
+package com.java.stream.primitive;
+
+/**
+ * Hashing helpers shared by the open-addressing maps.
+ */
+final class HashSupport {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private HashSupport() {
+    }
+
+    /**
+     * Spreads the bits of a key (Fibonacci hashing), so consecutive ids do not form long probe runs.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The power-of-two table size that holds expectedSize entries below the load factor.
+     */
+    static int tableSize(int expectedSize, float loadFactor) {
+        long needed = Math.max(4, (long) Math.ceil(expectedSize / loadFactor) + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Map too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
@@ -0,0 +1,270 @@
+package com.java.stream.primitive;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * IntList
+ * A growable list of primitive ints backed by a flat int[] array.
+ * Unlike List<Integer> it stores no Integer objects, so every element costs 4 bytes
+ * instead of a reference plus a 16 byte object, and a scan walks memory sequentially.
+ *
+ * The filter, map and from operations stay in int[] end to end, and the spliterator
+ * splits the backing array in halves, so parallel streams get cache-friendly chunks.
+ */
+public final class IntList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = new int[initialCapacity];
+    }
+
+    private IntList(int[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * Creates a list holding a copy of the given values.
+     */
+    public static IntList of(int... values) {
+        return new IntList(values.clone(), values.length);
+    }
+
+    /**
+     * Wraps the given array without copying it; the caller must not modify the array afterwards.
+     */
+    public static IntList wrap(int[] values) {
+        return new IntList(values, values.length);
+    }
+
+    /**
+     * Creates the list startInclusive, startInclusive + 1, ..., endInclusive,
+     * the primitive counterpart of IntStream.rangeClosed(...).boxed().collect(toList()).
+     */
+    public static IntList rangeClosed(int startInclusive, int endInclusive) {
+        if (endInclusive < startInclusive) {
+            return new IntList(0);
+        }
+        int[] values = new int[Math.toIntExact((long) endInclusive - startInclusive + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = startInclusive + i;
+        }
+        return wrap(values);
+    }
+
+    /**
+     * Collects an IntStream into a list. IntStream.toArray() sizes its buffer up front when it can
+     * and concatenates the parallel results once, so no Integer is ever created.
+     */
+    public static IntList from(IntStream stream) {
+        return wrap(stream.toArray());
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(IntList other) {
+        if (size + other.size > elements.length) {
+            grow(size + other.size);
+        }
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * Returns a new list with the elements matching the predicate, in a single pass over the array.
+     */
+    public IntList filter(IntPredicate predicate) {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int value = elements[i];
+            if (predicate.test(value)) {
+                result[count++] = value;
+            }
+        }
+        return new IntList(result, count);
+    }
+
+    /**
+     * Returns a new list with the mapper applied to every element.
+     */
+    public IntList map(IntUnaryOperator mapper) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = mapper.applyAsInt(elements[i]);
+        }
+        return new IntList(result, size);
+    }
+
+    /**
+     * Sum of the elements as a long, computed by PrimitiveReductions without going through an IntStream.
+     */
+    public long sum() {
+        return PrimitiveReductions.sum(elements, 0, size);
+    }
+
+    public IntSummaryStatistics summaryStatistics() {
+        return PrimitiveReductions.summaryStatistics(elements, 0, size);
+    }
+
+    /**
+     * Sorts the list in place with PrimitiveSorts: radix sort, or Arrays.parallelSort for large lists.
+     */
+    public void sort() {
+        PrimitiveSorts.sort(elements, 0, size);
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new IntListSpliterator(elements, 0, size);
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1));
+        elements = Arrays.copyOf(elements, Math.max(newCapacity, DEFAULT_CAPACITY));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList other) || size != other.size) {
+            return false;
+        }
+        return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Array-range spliterator that splits in halves, like the spliterator of ArrayList,
+     * but hands out primitive ints.
+     */
+    static final class IntListSpliterator implements Spliterator.OfInt {
+
+        private final int[] array;
+        private int index;
+        private final int fence;
+
+        IntListSpliterator(int[] array, int origin, int fence) {
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new IntListSpliterator(array, lo, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index < fence) {
+                action.accept(array[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int[] a = array;
+            int hi = fence;
+            for (int i = index; i < hi; i++) {
+                action.accept(a[i]);
+            }
+            index = hi;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+}
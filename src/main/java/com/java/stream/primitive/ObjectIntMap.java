@@ -0,0 +1,193 @@
+package com.java.stream.primitive;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * ObjectIntMap
+ * An open-addressing hash map from object keys to primitive int values, typically used to count
+ * or sum per key (the unboxed counterpart of toMap(..., Integer::sum) or groupingBy(..., summingInt(...))).
+ * Null keys are not supported.
+ */
+public final class ObjectIntMap<K> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private Object[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public ObjectIntMap() {
+        this(16);
+    }
+
+    public ObjectIntMap(int expectedSize) {
+        allocate(HashSupport.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    public int getOrDefault(K key, int defaultValue) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public int getInt(K key) {
+        return getOrDefault(key, 0);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    public void put(K key, int value) {
+        int slot = insertionSlot(key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            values[slot] = value;
+            afterInsert();
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Adds the delta to the value of the key (a missing key counts as 0) and returns the new value.
+     */
+    public int addTo(K key, int delta) {
+        int slot = insertionSlot(key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            values[slot] = delta;
+            afterInsert();
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Adds every value of the other map to this one, key by key.
+     */
+    public void addAll(ObjectIntMap<? extends K> other) {
+        other.forEach(this::addTo);
+    }
+
+    /**
+     * Removes the key and returns its value, or defaultValue if the key was missing.
+     */
+    public int remove(K key, int defaultValue) {
+        int slot = find(key);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        int previous = values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                action.accept((K) keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        return HashSupport.mix(key.hashCode());
+    }
+
+    private int find(Object key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * The slot holding the key, or the free slot where it would be inserted.
+     */
+    private int insertionSlot(Object key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void afterInsert() {
+        if (++size >= resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Backward-shift deletion: moves later entries of the same probe run into the freed slot,
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(int slot) {
+        int last;
+        while (true) {
+            last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if (keys[slot] == null) {
+                    keys[last] = null;
+                    return;
+                }
+                int home = hash(keys[slot]) & mask;
+                if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = keys[slot];
+            values[last] = values[slot];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = insertionSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.java.stream.primitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * PrimitiveCollectors
+ * Collectors that fill the primitive-keyed maps directly, the unboxed counterparts of
+ * Collectors.toMap, Collectors.groupingBy and toMap(..., Integer::sum).
+ * Keys and counts are never wrapped in Integer objects, which keeps GC quiet on large datasets.
+ */
+public final class PrimitiveCollectors {
+
+    private PrimitiveCollectors() {
+    }
+
+    /**
+     * Like Collectors.toMap(keyMapper, valueMapper) for int keys; throws IllegalStateException on duplicate keys.
+     */
+    public static <T, V> Collector<T, ?, IntObjectMap<V>> toIntMap(ToIntFunction<? super T> keyMapper,
+                                                                 Function<? super T, ? extends V> valueMapper) {
+        return Collector.of(
+                IntObjectMap<V>::new,
+                (map, element) -> putUnique(map, keyMapper.applyAsInt(element), valueMapper.apply(element)),
+                (left, right) -> {
+                    right.forEach((key, value) -> putUnique(left, key, value));
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Like Collectors.groupingBy(classifier) for int keys: a list of elements per key.
+     */
+    public static <T> Collector<T, ?, IntObjectMap<List<T>>> groupingByInt(ToIntFunction<? super T> classifier) {
+        return Collector.of(
+                IntObjectMap<List<T>>::new,
+                (map, element) -> map.computeIfAbsent(classifier.applyAsInt(element), key -> new ArrayList<>()).add(element),
+                (left, right) -> {
+                    right.forEach((key, list) -> left.computeIfAbsent(key, k -> new ArrayList<>()).addAll(list));
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Like Collectors.groupingBy(classifier, counting()) for int keys, counting into an IntIntMap.
+     */
+    public static <T> Collector<T, ?, IntIntMap> countingByInt(ToIntFunction<? super T> classifier) {
+        return Collector.of(
+                IntIntMap::new,
+                (map, element) -> map.addTo(classifier.applyAsInt(element), 1),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Sums an int value per key, like toMap(keyMapper, valueMapper, Integer::sum) without boxing.
+     */
+    public static <T, K> Collector<T, ?, ObjectIntMap<K>> summingIntInto(Function<? super T, ? extends K> keyMapper,
+                                                                       ToIntFunction<? super T> valueMapper) {
+        return summingIntInto(keyMapper, valueMapper, ObjectIntMap::new);
+    }
+
+    /**
+     * Sums an int value per key into maps created by the supplier (e.g. to presize them).
+     */
+    public static <T, K> Collector<T, ?, ObjectIntMap<K>> summingIntInto(Function<? super T, ? extends K> keyMapper,
+                                                                       ToIntFunction<? super T> valueMapper,
+                                                                       Supplier<ObjectIntMap<K>> mapFactory) {
+        return Collector.of(
+                mapFactory,
+                (map, element) -> map.addTo(keyMapper.apply(element), valueMapper.applyAsInt(element)),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Like sorted(Comparator.comparingInt(keyExtractor)).toList(), sorted with PrimitiveSorts.sortByInt
+     * so no Comparator is called and no key is boxed.
+     */
+    public static <T> Collector<T, ?, List<T>> toListSortedByInt(ToIntFunction<? super T> keyExtractor) {
+        return Collectors.collectingAndThen(Collectors.toList(), list -> PrimitiveSorts.sortByInt(list, keyExtractor));
+    }
+
+    private static <V> void putUnique(IntObjectMap<V> map, int key, V value) {
+        if (map.put(key, value) != null) {
+            throw new IllegalStateException("Duplicate key " + key);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.java.stream.primitive;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.stream.IntStream;
+
+import com.java.stream.execution.ParallelSplits;
+
+/**
+ * PrimitiveReductions
+ * sum, min, max, average, count-if and summary statistics directly over int[], long[] and double[] arrays,
+ * instead of pushing one element at a time through IntStream/LongStream/DoubleStream.
+ *
+ * When the JVM runs with --add-modules jdk.incubator.vector the kernels use the Vector API and process a whole
+ * SIMD register per iteration; otherwise (or with -Dstream.vector.enabled=false) they fall back to plain loops.
+ * Results are the same either way, except for the rounding of double sums (see VectorReductionKernels).
+ *
+ * The parallel* variants split the array into chunks and reduce the chunks in parallel, on the common
+ * ForkJoinPool or, when called inside ParallelStreamExecutor.invoke(...), on that pool.
+ */
+public final class PrimitiveReductions {
+
+    /**
+     * Smallest chunk worth handing to another thread; below it the fork costs more than the scan.
+     */
+    private static final int MIN_CHUNK = 1 << 16;
+
+    private static final ReductionKernels KERNELS = loadKernels();
+
+    private PrimitiveReductions() {
+    }
+
+    /**
+     * Whether the Vector API kernels are in use.
+     */
+    public static boolean isVectorized() {
+        return !(KERNELS instanceof ScalarReductionKernels);
+    }
+
+    public static long sum(int[] array) {
+        return KERNELS.sum(array, 0, array.length);
+    }
+
+    /**
+     * Sum of array[from, to), e.g. of the filled part of a primitive column.
+     */
+    public static long sum(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        return KERNELS.sum(array, from, to);
+    }
+
+    public static long sum(long[] array) {
+        return KERNELS.sum(array, 0, array.length);
+    }
+
+    public static double sum(double[] array) {
+        return KERNELS.sum(array, 0, array.length);
+    }
+
+    public static OptionalInt min(int[] array) {
+        return array.length == 0 ? OptionalInt.empty() : OptionalInt.of(KERNELS.min(array, 0, array.length));
+    }
+
+    public static OptionalLong min(long[] array) {
+        return array.length == 0 ? OptionalLong.empty() : OptionalLong.of(KERNELS.min(array, 0, array.length));
+    }
+
+    public static OptionalDouble min(double[] array) {
+        return array.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(KERNELS.min(array, 0, array.length));
+    }
+
+    public static OptionalInt max(int[] array) {
+        return array.length == 0 ? OptionalInt.empty() : OptionalInt.of(KERNELS.max(array, 0, array.length));
+    }
+
+    public static OptionalLong max(long[] array) {
+        return array.length == 0 ? OptionalLong.empty() : OptionalLong.of(KERNELS.max(array, 0, array.length));
+    }
+
+    public static OptionalDouble max(double[] array) {
+        return array.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(KERNELS.max(array, 0, array.length));
+    }
+
+    public static OptionalDouble average(int[] array) {
+        return array.length == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum(array) / array.length);
+    }
+
+    public static OptionalDouble average(long[] array) {
+        return array.length == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum(array) / array.length);
+    }
+
+    public static OptionalDouble average(double[] array) {
+        return array.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum(array) / array.length);
+    }
+
+    /**
+     * The number of elements greater than the threshold, like filter(value -> value > threshold).count().
+     */
+    public static long countGreaterThan(int[] array, int threshold) {
+        return KERNELS.countGreaterThan(array, 0, array.length, threshold);
+    }
+
+    public static long countGreaterThan(long[] array, long threshold) {
+        return KERNELS.countGreaterThan(array, 0, array.length, threshold);
+    }
+
+    public static long countGreaterThan(double[] array, double threshold) {
+        return KERNELS.countGreaterThan(array, 0, array.length, threshold);
+    }
+
+    public static IntSummaryStatistics summaryStatistics(int[] array) {
+        return summaryStatistics(array, 0, array.length);
+    }
+
+    /**
+     * Statistics of array[from, to), e.g. of the filled part of a primitive column.
+     */
+    public static IntSummaryStatistics summaryStatistics(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        return KERNELS.summaryStatistics(array, from, to);
+    }
+
+    public static LongSummaryStatistics summaryStatistics(long[] array) {
+        return KERNELS.summaryStatistics(array, 0, array.length);
+    }
+
+    public static DoubleSummaryStatistics summaryStatistics(double[] array) {
+        return KERNELS.summaryStatistics(array, 0, array.length);
+    }
+
+    public static long parallelSum(int[] array) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(chunk -> KERNELS.sum(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1)))
+                .sum();
+    }
+
+    public static long parallelSum(long[] array) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(chunk -> KERNELS.sum(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1)))
+                .sum();
+    }
+
+    public static long parallelCountGreaterThan(int[] array, int threshold) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(chunk -> KERNELS.countGreaterThan(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1), threshold))
+                .sum();
+    }
+
+    public static IntSummaryStatistics parallelSummaryStatistics(int[] array) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> KERNELS.summaryStatistics(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1)))
+                .collect(IntSummaryStatistics::new, IntSummaryStatistics::combine, IntSummaryStatistics::combine);
+    }
+
+    public static LongSummaryStatistics parallelSummaryStatistics(long[] array) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> KERNELS.summaryStatistics(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1)))
+                .collect(LongSummaryStatistics::new, LongSummaryStatistics::combine, LongSummaryStatistics::combine);
+    }
+
+    public static DoubleSummaryStatistics parallelSummaryStatistics(double[] array) {
+        int chunks = chunkCount(array.length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> KERNELS.summaryStatistics(array, chunkStart(array.length, chunks, chunk),
+                        chunkStart(array.length, chunks, chunk + 1)))
+                .collect(DoubleSummaryStatistics::new, DoubleSummaryStatistics::combine, DoubleSummaryStatistics::combine);
+    }
+
+    /**
+     * A few chunks per worker thread of the current pool for load balancing, none smaller than MIN_CHUNK.
+     */
+    private static int chunkCount(int length) {
+        return ParallelSplits.count(length / MIN_CHUNK);
+    }
+
+    /**
+     * Start of a chunk; consecutive chunks tile [0, length) exactly.
+     */
+    private static int chunkStart(int length, int chunks, int chunk) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    private static ReductionKernels loadKernels() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("stream.vector.enabled", "true"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively: linking VectorReductionKernels without the module would fail
+                return (ReductionKernels) Class.forName("com.java.stream.primitive.VectorReductionKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarReductionKernels();
+            }
+        }
+        return new ScalarReductionKernels();
+    }
+}
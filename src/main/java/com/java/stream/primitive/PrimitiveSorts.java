@@ -0,0 +1,406 @@
+package com.java.stream.primitive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * PrimitiveSorts
+ * Sorting without Comparator calls or boxing, for the cases where Stream.sorted() would buffer
+ * every element into an Object[] and compare through a Comparator on every comparison.
+ *
+ * - radixSort: LSD radix sort for int, long and char arrays, one byte per pass. Passes in which every
+ *   element has the same byte (e.g. the high bytes of small non-negative ints) are skipped.
+ * - sort / parallelSort: pick Arrays.sort, radix sort or Arrays.parallelSort by size.
+ * - sortByInt / sortByLong / sortByDouble: sort objects by a primitive key. The keys are extracted once
+ *   into a primitive array, that array is sorted together with an index permutation, and the elements
+ *   are placed by that permutation. All of these sorts are stable.
+ */
+public final class PrimitiveSorts {
+
+    /**
+     * Below this size Arrays.sort is faster than the counting passes and their scratch buffers.
+     */
+    private static final int RADIX_THRESHOLD = 1 << 10;
+
+    /**
+     * From this size on, and with more than one core, the fork/join sorts pay off.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int RADIX = 256;
+
+    private PrimitiveSorts() {
+    }
+
+    /**
+     * Sorts ascending with the algorithm suited to the array size.
+     */
+    public static void sort(int[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts array[from, to) ascending with the algorithm suited to the range size.
+     */
+    public static void sort(int[] array, int from, int to) {
+        int n = to - from;
+        if (parallel(n)) {
+            Arrays.parallelSort(array, from, to);
+        } else if (n >= RADIX_THRESHOLD) {
+            radixSort(array, from, to);
+        } else {
+            Arrays.sort(array, from, to);
+        }
+    }
+
+    /**
+     * Sorts ascending with the algorithm suited to the array size.
+     */
+    public static void sort(long[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts array[from, to) ascending with the algorithm suited to the range size.
+     */
+    public static void sort(long[] array, int from, int to) {
+        int n = to - from;
+        if (parallel(n)) {
+            Arrays.parallelSort(array, from, to);
+        } else if (n >= RADIX_THRESHOLD) {
+            radixSort(array, from, to);
+        } else {
+            Arrays.sort(array, from, to);
+        }
+    }
+
+    /**
+     * Sorts ascending; two counting passes for anything but small arrays.
+     */
+    public static void sort(char[] array) {
+        if (array.length >= RADIX_THRESHOLD) {
+            radixSort(array);
+        } else {
+            Arrays.sort(array);
+        }
+    }
+
+    /**
+     * Arrays.parallelSort: a fork/join merge sort on the common pool.
+     */
+    public static void parallelSort(int[] array) {
+        Arrays.parallelSort(array);
+    }
+
+    /**
+     * Arrays.parallelSort: a fork/join merge sort on the common pool.
+     */
+    public static void parallelSort(long[] array) {
+        Arrays.parallelSort(array);
+    }
+
+    public static void radixSort(int[] array) {
+        radixSort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts array[from, to) ascending. The sign bit is flipped while reading the top byte,
+     * so negative numbers come before positive ones.
+     */
+    public static void radixSort(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int i = from; i < to; i++) {
+            int value = array[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < Integer.BYTES; pass++) {
+                counts[pass][(value >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        int first = array[from] ^ Integer.MIN_VALUE;
+        int[] source = array;
+        int[] target = new int[n];
+        int sourceOffset = from;
+        int targetOffset = 0;
+        for (int pass = 0; pass < Integer.BYTES; pass++) {
+            int shift = pass * 8;
+            int[] count = counts[pass];
+            if (count[(first >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            toStartOffsets(count, targetOffset);
+            for (int i = sourceOffset, end = sourceOffset + n; i < end; i++) {
+                int value = source[i];
+                target[count[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+            int swapOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = swapOffset;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceOffset, array, from, n);
+        }
+    }
+
+    public static void radixSort(long[] array) {
+        radixSort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts array[from, to) ascending, eight passes at most.
+     */
+    public static void radixSort(long[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (int i = from; i < to; i++) {
+            long value = array[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass][(int) (value >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        long first = array[from] ^ Long.MIN_VALUE;
+        long[] source = array;
+        long[] target = new long[n];
+        int sourceOffset = from;
+        int targetOffset = 0;
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * 8;
+            int[] count = counts[pass];
+            if (count[(int) (first >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            toStartOffsets(count, targetOffset);
+            for (int i = sourceOffset, end = sourceOffset + n; i < end; i++) {
+                long value = source[i];
+                target[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+            int swapOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = swapOffset;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceOffset, array, from, n);
+        }
+    }
+
+    /**
+     * Sorts the chars ascending in two passes (chars are unsigned, so there is no sign bit to flip).
+     */
+    public static void radixSort(char[] array) {
+        int n = array.length;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[Character.BYTES][RADIX];
+        for (char value : array) {
+            counts[0][value & 0xFF]++;
+            counts[1][value >>> 8]++;
+        }
+        char[] source = array;
+        char[] target = new char[n];
+        for (int pass = 0; pass < Character.BYTES; pass++) {
+            int shift = pass * 8;
+            int[] count = counts[pass];
+            if (count[(array[0] >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            toStartOffsets(count, 0);
+            for (char value : source) {
+                target[count[(value >>> shift) & 0xFF]++] = value;
+            }
+            char[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * The positions of the elements in ascending key order: list.get(result[0]) has the smallest key.
+     * Equal keys keep their original order.
+     */
+    public static <T> int[] sortedIndexesByInt(List<? extends T> list, ToIntFunction<? super T> keyExtractor) {
+        Object[] elements = list.toArray();
+        return sortedIndexesByInt(elements, intKeys(elements, keyExtractor));
+    }
+
+    /**
+     * A new list with the elements in ascending key order, like
+     * sorted(Comparator.comparingInt(keyExtractor)) but without a single Comparator call.
+     */
+    public static <T> List<T> sortByInt(List<? extends T> list, ToIntFunction<? super T> keyExtractor) {
+        Object[] elements = list.toArray();
+        return permute(elements, sortedIndexesByInt(elements, intKeys(elements, keyExtractor)));
+    }
+
+    /**
+     * A new list with the elements in descending key order; equal keys keep their original order.
+     */
+    public static <T> List<T> sortByIntDescending(List<? extends T> list, ToIntFunction<? super T> keyExtractor) {
+        Object[] elements = list.toArray();
+        int[] keys = intKeys(elements, keyExtractor);
+        // ~key reverses the order of every int without overflowing (unlike -key for Integer.MIN_VALUE)
+        Arrays.setAll(keys, i -> ~keys[i]);
+        return permute(elements, sortedIndexesByInt(elements, keys));
+    }
+
+    /**
+     * A new list with the elements in ascending key order.
+     */
+    public static <T> List<T> sortByLong(List<? extends T> list, ToLongFunction<? super T> keyExtractor) {
+        Object[] elements = list.toArray();
+        long[] keys = new long[elements.length];
+        fill(elements.length, i -> keys[i] = keyExtractor.applyAsLong(element(elements, i)) ^ Long.MIN_VALUE);
+        return permute(elements, sortedIndexesUnsigned(keys));
+    }
+
+    /**
+     * A new list with the elements in ascending key order, in the order of Double.compare
+     * (-0.0 before 0.0, NaN last).
+     */
+    public static <T> List<T> sortByDouble(List<? extends T> list, ToDoubleFunction<? super T> keyExtractor) {
+        Object[] elements = list.toArray();
+        long[] keys = new long[elements.length];
+        fill(elements.length, i -> {
+            long bits = Double.doubleToLongBits(keyExtractor.applyAsDouble(element(elements, i)));
+            // Negative doubles: flip every bit (larger magnitude sorts first); positive: flip only the sign bit
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        });
+        return permute(elements, sortedIndexesUnsigned(keys));
+    }
+
+    private static boolean parallel(int length) {
+        return length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Turns the per-digit counts into the start offset of every digit in the target array.
+     */
+    private static void toStartOffsets(int[] count, int offset) {
+        int position = offset;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int c = count[digit];
+            count[digit] = position;
+            position += c;
+        }
+    }
+
+    private static <T> int[] intKeys(Object[] elements, ToIntFunction<? super T> keyExtractor) {
+        int[] keys = new int[elements.length];
+        fill(elements.length, i -> keys[i] = keyExtractor.applyAsInt(PrimitiveSorts.<T>element(elements, i)));
+        return keys;
+    }
+
+    /**
+     * Large inputs are sorted with Arrays.parallelSort on (key << 32 | index): the index in the low half makes
+     * equal keys compare by position, so the result is stable. Smaller ones go through the radix sort.
+     */
+    private static int[] sortedIndexesByInt(Object[] elements, int[] keys) {
+        int n = elements.length;
+        if (parallel(n)) {
+            long[] packed = new long[n];
+            Arrays.parallelSetAll(packed, i -> (long) keys[i] << 32 | i);
+            Arrays.parallelSort(packed);
+            int[] indexes = new int[n];
+            Arrays.parallelSetAll(indexes, i -> (int) packed[i]);
+            return indexes;
+        }
+        long[] unsignedKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            unsignedKeys[i] = (keys[i] ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+        }
+        return sortedIndexesUnsigned(unsignedKeys);
+    }
+
+    /**
+     * LSD radix sort of keys compared as unsigned longs, moving an index permutation along with them.
+     * Counting sort is stable, so equal keys keep their original order.
+     */
+    private static int[] sortedIndexesUnsigned(long[] keys) {
+        int n = keys.length;
+        int[] indexes = new int[n];
+        Arrays.setAll(indexes, i -> i);
+        if (n < 2) {
+            return indexes;
+        }
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass][(int) (key >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        long first = keys[0];
+        long[] sourceKeys = keys;
+        long[] targetKeys = new long[n];
+        int[] sourceIndexes = indexes;
+        int[] targetIndexes = new int[n];
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * 8;
+            int[] count = counts[pass];
+            if (count[(int) (first >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            toStartOffsets(count, 0);
+            for (int i = 0; i < n; i++) {
+                int position = count[(int) (sourceKeys[i] >>> shift) & 0xFF]++;
+                targetKeys[position] = sourceKeys[i];
+                targetIndexes[position] = sourceIndexes[i];
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapIndexes = sourceIndexes;
+            sourceIndexes = targetIndexes;
+            targetIndexes = swapIndexes;
+        }
+        return sourceIndexes;
+    }
+
+    /**
+     * Runs the per-index key extraction, in parallel for large inputs.
+     */
+    private static void fill(int n, IntConsumer action) {
+        IntStream indexes = IntStream.range(0, n);
+        if (parallel(n)) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T element(Object[] elements, int index) {
+        return (T) elements[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> permute(Object[] elements, int[] indexes) {
+        Object[] sorted = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            sorted[i] = elements[indexes[i]];
+        }
+        return Collections.unmodifiableList((List<T>) Arrays.asList(sorted));
+    }
+}
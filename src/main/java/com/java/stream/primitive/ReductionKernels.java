@@ -0,0 +1,58 @@
+package com.java.stream.primitive;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Reductions over array[from, to). min and max are only called on non-empty ranges.
+ * Implemented once with plain loops and once with the Vector API; PrimitiveReductions picks one at startup.
+ */
+interface ReductionKernels {
+
+    long sum(int[] array, int from, int to);
+
+    long sum(long[] array, int from, int to);
+
+    double sum(double[] array, int from, int to);
+
+    int min(int[] array, int from, int to);
+
+    long min(long[] array, int from, int to);
+
+    double min(double[] array, int from, int to);
+
+    int max(int[] array, int from, int to);
+
+    long max(long[] array, int from, int to);
+
+    double max(double[] array, int from, int to);
+
+    long countGreaterThan(int[] array, int from, int to, int threshold);
+
+    long countGreaterThan(long[] array, int from, int to, long threshold);
+
+    long countGreaterThan(double[] array, int from, int to, double threshold);
+
+    IntSummaryStatistics summaryStatistics(int[] array, int from, int to);
+
+    LongSummaryStatistics summaryStatistics(long[] array, int from, int to);
+
+    DoubleSummaryStatistics summaryStatistics(double[] array, int from, int to);
+
+    /**
+     * The statistics from the computed min, max and sum. The constructor rejects a NaN sum with non-NaN
+     * extremes, which happens when the range holds both infinities; that rare case is recomputed element
+     * by element so the result matches DoubleStream.summaryStatistics().
+     */
+    static DoubleSummaryStatistics doubleStatistics(double[] array, int from, int to, double min, double max, double sum) {
+        if (Double.isNaN(sum) && !Double.isNaN(min)) {
+            DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+            for (int i = from; i < to; i++) {
+                statistics.accept(array[i]);
+            }
+            return statistics;
+        }
+        return new DoubleSummaryStatistics(to - from, min, max, sum);
+    }
+}
@@ -0,0 +1,168 @@
+package com.java.stream.primitive;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Plain counted loops, used when the jdk.incubator.vector module is not available.
+ * The JIT unrolls them and auto-vectorizes some (int and long sums, min and max), but not all of them.
+ */
+final class ScalarReductionKernels implements ReductionKernels {
+
+    @Override
+    public long sum(int[] array, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sum(long[] array, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sum(double[] array, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] array, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long min(long[] array, int from, int to) {
+        long min = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double min(double[] array, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] array, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long max(long[] array, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public double max(double[] array, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long countGreaterThan(int[] array, int from, int to, int threshold) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long countGreaterThan(long[] array, int from, int to, long threshold) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long countGreaterThan(double[] array, int from, int to, double threshold) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public IntSummaryStatistics summaryStatistics(int[] array, int from, int to) {
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new IntSummaryStatistics(to - from, min, max, sum);
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics(long[] array, int from, int to) {
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            long value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new LongSummaryStatistics(to - from, min, max, sum);
+    }
+
+    @Override
+    public DoubleSummaryStatistics summaryStatistics(double[] array, int from, int to) {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return ReductionKernels.doubleStatistics(array, from, to, min, max, sum);
+    }
+}
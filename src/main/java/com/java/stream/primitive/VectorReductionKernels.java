@@ -0,0 +1,301 @@
+package com.java.stream.primitive;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels: each loop iteration processes a full SIMD register (e.g. 8 ints or 4 doubles with AVX2),
+ * accumulating lane-wise and reducing the lanes once at the end; the elements past the last full vector are
+ * handled by a scalar tail loop.
+ *
+ * Ints are widened to longs before they are summed, so int sums do not overflow (like IntSummaryStatistics).
+ * Double sums add lane by lane, which rounds differently from both a left-to-right loop and the compensated
+ * DoubleStream.sum(); expect differences in the last bits on large arrays.
+ *
+ * Only loaded by PrimitiveReductions when the jdk.incubator.vector module is present
+ * (--add-modules jdk.incubator.vector).
+ */
+final class VectorReductionKernels implements ReductionKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Half of an int vector widened to longs: same bit size, half the lanes, so every int vector converts into parts 0 and 1.
+     */
+    private static final VectorSpecies<Long> WIDENED_INTS = LONGS;
+
+    @Override
+    public long sum(int[] array, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        LongVector low = LongVector.zero(WIDENED_INTS);
+        LongVector high = LongVector.zero(WIDENED_INTS);
+        for (; i < bound; i += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, array, i);
+            low = low.add(values.convertShape(VectorOperators.I2L, WIDENED_INTS, 0));
+            high = high.add(values.convertShape(VectorOperators.I2L, WIDENED_INTS, 1));
+        }
+        long sum = low.add(high).reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sum(long[] array, int from, int to) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        LongVector sums = LongVector.zero(LONGS);
+        for (; i < bound; i += LONGS.length()) {
+            sums = sums.add(LongVector.fromArray(LONGS, array, i));
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sum(double[] array, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        for (; i < bound; i += DOUBLES.length()) {
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] array, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        IntVector mins = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        for (; i < bound; i += INTS.length()) {
+            mins = mins.min(IntVector.fromArray(INTS, array, i));
+        }
+        int min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long min(long[] array, int from, int to) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        LongVector mins = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        for (; i < bound; i += LONGS.length()) {
+            mins = mins.min(LongVector.fromArray(LONGS, array, i));
+        }
+        long min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double min(double[] array, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        for (; i < bound; i += DOUBLES.length()) {
+            mins = mins.min(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] array, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        IntVector maxes = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        for (; i < bound; i += INTS.length()) {
+            maxes = maxes.max(IntVector.fromArray(INTS, array, i));
+        }
+        int max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long max(long[] array, int from, int to) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        LongVector maxes = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        for (; i < bound; i += LONGS.length()) {
+            maxes = maxes.max(LongVector.fromArray(LONGS, array, i));
+        }
+        long max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public double max(double[] array, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        for (; i < bound; i += DOUBLES.length()) {
+            maxes = maxes.max(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long countGreaterThan(int[] array, int from, int to, int threshold) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        long count = 0;
+        for (; i < bound; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, array, i).compare(VectorOperators.GT, threshold).trueCount();
+        }
+        for (; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long countGreaterThan(long[] array, int from, int to, long threshold) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        long count = 0;
+        for (; i < bound; i += LONGS.length()) {
+            count += LongVector.fromArray(LONGS, array, i).compare(VectorOperators.GT, threshold).trueCount();
+        }
+        for (; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long countGreaterThan(double[] array, int from, int to, double threshold) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        long count = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, array, i).compare(VectorOperators.GT, threshold).trueCount();
+        }
+        for (; i < to; i++) {
+            if (array[i] > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum, min and max in one pass, so large arrays are read from memory only once.
+     */
+    @Override
+    public IntSummaryStatistics summaryStatistics(int[] array, int from, int to) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        LongVector low = LongVector.zero(WIDENED_INTS);
+        LongVector high = LongVector.zero(WIDENED_INTS);
+        IntVector mins = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        IntVector maxes = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        for (; i < bound; i += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, array, i);
+            low = low.add(values.convertShape(VectorOperators.I2L, WIDENED_INTS, 0));
+            high = high.add(values.convertShape(VectorOperators.I2L, WIDENED_INTS, 1));
+            mins = mins.min(values);
+            maxes = maxes.max(values);
+        }
+        long sum = low.add(high).reduceLanes(VectorOperators.ADD);
+        int min = mins.reduceLanes(VectorOperators.MIN);
+        int max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            int value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new IntSummaryStatistics(to - from, min, max, sum);
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics(long[] array, int from, int to) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        LongVector sums = LongVector.zero(LONGS);
+        LongVector mins = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        LongVector maxes = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        for (; i < bound; i += LONGS.length()) {
+            LongVector values = LongVector.fromArray(LONGS, array, i);
+            sums = sums.add(values);
+            mins = mins.min(values);
+            maxes = maxes.max(values);
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        long min = mins.reduceLanes(VectorOperators.MIN);
+        long max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            long value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new LongSummaryStatistics(to - from, min, max, sum);
+    }
+
+    @Override
+    public DoubleSummaryStatistics summaryStatistics(double[] array, int from, int to) {
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector values = DoubleVector.fromArray(DOUBLES, array, i);
+            sums = sums.add(values);
+            mins = mins.min(values);
+            maxes = maxes.max(values);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            double value = array[i];
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return ReductionKernels.doubleStatistics(array, from, to, min, max, sum);
+    }
+}
@@ -0,0 +1,46 @@
+package com.java.stream.source;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * ArithmeticSequence
+ * Splittable sources for first, first + step, first + 2 * step, ...
+ *
+ * Stream.iterate(first, n -> n + step) must compute every element from the previous one, so it cannot split
+ * and a parallel stream gains nothing. Here element k is computed directly as first + k * step from an
+ * index range, so any split can start anywhere and the sequence is generated in parallel without boxing.
+ * Values wrap around on overflow, exactly like repeated addition would.
+ */
+public final class ArithmeticSequence {
+
+    private ArithmeticSequence() {
+    }
+
+    /**
+     * The first count elements as an IntStream (SIZED and splittable).
+     */
+    public static IntStream ints(int first, int step, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        return IntStream.range(0, count).map(k -> first + k * step);
+    }
+
+    /**
+     * The first count elements as a LongStream (SIZED and splittable).
+     */
+    public static LongStream longs(long first, long step, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        return LongStream.range(0, count).map(k -> first + k * step);
+    }
+
+    /**
+     * Element k of the sequence.
+     */
+    public static long element(long first, long step, long k) {
+        return first + k * step;
+    }
+}
@@ -0,0 +1,177 @@
+package com.java.stream.source;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * LinearRecurrence
+ * A splittable source for second-order linear recurrences a(n) = p * a(n-1) + q * a(n-2),
+ * such as Fibonacci (p = q = 1, a(0) = 0, a(1) = 1).
+ *
+ * The recurrence is the matrix step [a(n+1), a(n)] = M * [a(n), a(n-1)] with M = [[p, q], [1, 0]],
+ * so element k is reached by raising M to the power k with repeated squaring in O(log k) multiplications.
+ * The spliterator uses that jump to start each split at its own index, and then walks its range with two
+ * long variables: no int[] pair is allocated per element as with Stream.iterate(new int[]{0, 1}, ...).
+ * All arithmetic is done modulo 2^64 (plain long overflow), e.g. Fibonacci numbers are exact up to a(92).
+ */
+public final class LinearRecurrence {
+
+    private final long p;
+    private final long q;
+    private final long a0;
+    private final long a1;
+
+    public LinearRecurrence(long p, long q, long a0, long a1) {
+        this.p = p;
+        this.q = q;
+        this.a0 = a0;
+        this.a1 = a1;
+    }
+
+    public static LinearRecurrence fibonacci() {
+        return new LinearRecurrence(1, 1, 0, 1);
+    }
+
+    /**
+     * The first count elements as a SIZED, splittable LongStream.
+     */
+    public LongStream longs(long count) {
+        return range(0, count);
+    }
+
+    /**
+     * Elements a(from) up to a(to - 1).
+     */
+    public LongStream range(long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range: [" + from + ", " + to + ")");
+        }
+        return StreamSupport.longStream(new RecurrenceSpliterator(from, to), false);
+    }
+
+    /**
+     * Element k, computed in O(log k) steps.
+     */
+    public long element(long k) {
+        return state(k)[0];
+    }
+
+    /**
+     * Returns {a(k), a(k+1)} using M^k, where M^k * [a(1), a(0)] = [a(k+1), a(k)].
+     */
+    private long[] state(long k) {
+        // result = identity, base = M; matrices are stored as {m00, m01, m10, m11}
+        long r00 = 1, r01 = 0, r10 = 0, r11 = 1;
+        long b00 = p, b01 = q, b10 = 1, b11 = 0;
+        long e = k;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                long t00 = r00 * b00 + r01 * b10;
+                long t01 = r00 * b01 + r01 * b11;
+                long t10 = r10 * b00 + r11 * b10;
+                long t11 = r10 * b01 + r11 * b11;
+                r00 = t00;
+                r01 = t01;
+                r10 = t10;
+                r11 = t11;
+            }
+            long s00 = b00 * b00 + b01 * b10;
+            long s01 = b00 * b01 + b01 * b11;
+            long s10 = b10 * b00 + b11 * b10;
+            long s11 = b10 * b01 + b11 * b11;
+            b00 = s00;
+            b01 = s01;
+            b10 = s10;
+            b11 = s11;
+            e >>>= 1;
+        }
+        long next = r00 * a1 + r01 * a0;
+        long current = r10 * a1 + r11 * a0;
+        return new long[] {current, next};
+    }
+
+    /**
+     * Walks [index, fence) with the two most recent elements; a split jumps the suffix to its start index.
+     */
+    private final class RecurrenceSpliterator implements Spliterator.OfLong {
+
+        private long index;
+        private final long fence;
+        private long current;
+        private long next;
+
+        RecurrenceSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+            long[] state = state(index);
+            this.current = state[0];
+            this.next = state[1];
+        }
+
+        private RecurrenceSpliterator(long index, long fence, long current, long next) {
+            this.index = index;
+            this.fence = fence;
+            this.current = current;
+            this.next = next;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long lo = index;
+            long mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            RecurrenceSpliterator prefix = new RecurrenceSpliterator(lo, mid, current, next);
+            long[] state = state(mid);
+            index = mid;
+            current = state[0];
+            next = state[1];
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(current);
+            step();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long c = current;
+            long n = next;
+            for (long i = index; i < fence; i++) {
+                action.accept(c);
+                long following = p * n + q * c;
+                c = n;
+                n = following;
+            }
+            index = fence;
+            current = c;
+            next = n;
+        }
+
+        private void step() {
+            long following = p * next + q * current;
+            current = next;
+            next = following;
+            index++;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.java.stream.source;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * RandomSources
+ * Seeded, splittable random number streams for parallel pipelines.
+ *
+ * Stream.generate(Math::random) draws every number from one shared java.util.Random, whose seed is updated
+ * with a CAS, so parallel workers all contend on the same cache line. The streams created here cut the index
+ * range into blocks of BLOCK_SIZE numbers, and each block is drawn from its own generator, seeded from the
+ * stream seed and the block number. Spliterators only split on block boundaries and own the generator of the
+ * block they are in, so every fork-join task draws from its own generators and no state is shared.
+ *
+ * Number i only depends on the seed and i: a stream produces the same numbers sequentially and in parallel,
+ * whatever the pool's parallelism or the thread timing, and a shorter stream with the same seed is a prefix
+ * of a longer one, which keeps Monte-Carlo results reproducible. (The streams of SplittableGenerator.doubles()
+ * itself split from one shared parent generator, so which split gets which generator depends on thread timing.)
+ */
+public final class RandomSources {
+
+    /** A splittable LXM generator: fast, 128 bits of state, and statistically independent splits. */
+    public static final String ALGORITHM = "L64X128MixRandom";
+
+    /** Numbers per block generator; a stream of at most this many numbers does not split. */
+    public static final int BLOCK_SIZE = 1 << 10;
+
+    private static final RandomGeneratorFactory<RandomGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+    private RandomSources() {
+    }
+
+    /**
+     * A new splittable generator for the seed.
+     */
+    public static SplittableGenerator generator(long seed) {
+        return (SplittableGenerator) FACTORY.create(seed);
+    }
+
+    /**
+     * count doubles in [0, 1), the splittable replacement of Stream.generate(Math::random).limit(count).
+     */
+    public static DoubleStream doubles(long seed, long count) {
+        return doubles(seed, count, 0.0, 1.0);
+    }
+
+    /**
+     * count doubles in [origin, bound).
+     */
+    public static DoubleStream doubles(long seed, long count, double origin, double bound) {
+        checkCount(count);
+        if (!(origin < bound)) {
+            throw new IllegalArgumentException("origin must be below bound: " + origin + ", " + bound);
+        }
+        return StreamSupport.doubleStream(new DoubleSpliterator(seed, 0, count, origin, bound), false);
+    }
+
+    /**
+     * count ints over the full int range.
+     */
+    public static IntStream ints(long seed, long count) {
+        checkCount(count);
+        return StreamSupport.intStream(new IntSpliterator(seed, 0, count, 0, 0), false);
+    }
+
+    /**
+     * count ints in [origin, bound).
+     */
+    public static IntStream ints(long seed, long count, int origin, int bound) {
+        checkCount(count);
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin must be below bound: " + origin + ", " + bound);
+        }
+        return StreamSupport.intStream(new IntSpliterator(seed, 0, count, origin, bound), false);
+    }
+
+    /**
+     * count longs over the full long range.
+     */
+    public static LongStream longs(long seed, long count) {
+        checkCount(count);
+        return StreamSupport.longStream(new LongSpliterator(seed, 0, count, 0, 0), false);
+    }
+
+    /**
+     * count longs in [origin, bound).
+     */
+    public static LongStream longs(long seed, long count, long origin, long bound) {
+        checkCount(count);
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin must be below bound: " + origin + ", " + bound);
+        }
+        return StreamSupport.longStream(new LongSpliterator(seed, 0, count, origin, bound), false);
+    }
+
+    private static void checkCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+    }
+
+    /**
+     * The generator of a block: the block number is spread over the seed with the golden-ratio increment and
+     * a 64-bit finalizer, as SplittableRandom derives its seeds, so neighbouring blocks get unrelated seeds.
+     */
+    private static RandomGenerator blockGenerator(long seed, long block) {
+        long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return FACTORY.create(z ^ (z >>> 31));
+    }
+
+    /**
+     * Index range [index, fence) drawing from the generator of the block index is in, owned by this spliterator
+     * alone. Ranges start and split on block boundaries.
+     */
+    private abstract static class RandomSpliterator {
+
+        final long seed;
+        long index;
+        final long fence;
+        private RandomGenerator generator;
+
+        RandomSpliterator(long seed, long index, long fence) {
+            this.seed = seed;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * Moves this spliterator to mid, a block boundary from splitPoint(), and returns its generator, which
+         * the lower half continues with.
+         */
+        RandomGenerator split(long mid) {
+            RandomGenerator lower = generator;
+            generator = null;
+            index = mid;
+            return lower;
+        }
+
+        /**
+         * The block boundary nearest the middle of the remaining range, or -1 if there is none inside it.
+         */
+        long splitPoint() {
+            long mid = ((index + fence) >>> 1) + BLOCK_SIZE / 2 & -BLOCK_SIZE;
+            return mid > index && mid < fence ? mid : -1;
+        }
+
+        /**
+         * The generator for the number at index; a new one at the start of every block.
+         */
+        RandomGenerator generator() {
+            if ((index & (BLOCK_SIZE - 1)) == 0) {
+                generator = blockGenerator(seed, index / BLOCK_SIZE);
+            }
+            return generator;
+        }
+
+        /**
+         * The end of the block index is in, capped at fence.
+         */
+        long blockEnd() {
+            return Math.min(fence, (index & -BLOCK_SIZE) + BLOCK_SIZE);
+        }
+
+        void resume(RandomGenerator generator) {
+            this.generator = generator;
+        }
+
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL
+                    | Spliterator.IMMUTABLE;
+        }
+    }
+
+    private static final class DoubleSpliterator extends RandomSpliterator implements Spliterator.OfDouble {
+
+        private final double origin;
+        private final double bound;
+
+        DoubleSpliterator(long seed, long index, long fence, double origin, double bound) {
+            super(seed, index, fence);
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            long lo = index;
+            long mid = splitPoint();
+            if (mid < 0) {
+                return null;
+            }
+            DoubleSpliterator prefix = new DoubleSpliterator(seed, lo, mid, origin, bound);
+            prefix.resume(split(mid));
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(generator().nextDouble(origin, bound));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < fence) {
+                RandomGenerator random = generator();
+                long end = blockEnd();
+                for (long i = index; i < end; i++) {
+                    action.accept(random.nextDouble(origin, bound));
+                }
+                index = end;
+            }
+        }
+    }
+
+    /**
+     * Draws from the full int range when origin == bound.
+     */
+    private static final class IntSpliterator extends RandomSpliterator implements Spliterator.OfInt {
+
+        private final int origin;
+        private final int bound;
+
+        IntSpliterator(long seed, long index, long fence, int origin, int bound) {
+            super(seed, index, fence);
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            long lo = index;
+            long mid = splitPoint();
+            if (mid < 0) {
+                return null;
+            }
+            IntSpliterator prefix = new IntSpliterator(seed, lo, mid, origin, bound);
+            prefix.resume(split(mid));
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(next(generator()));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (index < fence) {
+                RandomGenerator random = generator();
+                long end = blockEnd();
+                for (long i = index; i < end; i++) {
+                    action.accept(next(random));
+                }
+                index = end;
+            }
+        }
+
+        private int next(RandomGenerator random) {
+            return origin == bound ? random.nextInt() : random.nextInt(origin, bound);
+        }
+    }
+
+    /**
+     * Draws from the full long range when origin == bound.
+     */
+    private static final class LongSpliterator extends RandomSpliterator implements Spliterator.OfLong {
+
+        private final long origin;
+        private final long bound;
+
+        LongSpliterator(long seed, long index, long fence, long origin, long bound) {
+            super(seed, index, fence);
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long lo = index;
+            long mid = splitPoint();
+            if (mid < 0) {
+                return null;
+            }
+            LongSpliterator prefix = new LongSpliterator(seed, lo, mid, origin, bound);
+            prefix.resume(split(mid));
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(next(generator()));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (index < fence) {
+                RandomGenerator random = generator();
+                long end = blockEnd();
+                for (long i = index; i < end; i++) {
+                    action.accept(next(random));
+                }
+                index = end;
+            }
+        }
+
+        private long next(RandomGenerator random) {
+            return origin == bound ? random.nextLong() : random.nextLong(origin, bound);
+        }
+    }
+}
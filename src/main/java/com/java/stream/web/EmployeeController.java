@@ -0,0 +1,162 @@
+package com.java.stream.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IntSummaryStatistics;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.stream.collector.TopCollectors;
+import com.java.stream.customclass.Employee;
+import com.java.stream.execution.ParallelStreamExecutor;
+import com.java.stream.metrics.PipelineMetrics;
+import com.java.stream.metrics.PipelineMetricsRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * EmployeeController
+ * Exposes the CommonStreamFeatures and MapFeatures queries over HTTP.
+ *
+ * GET /employees streams the matching employees as NDJSON (one JSON object per line) straight from the
+ * stream pipeline: each element is serialized into the response as soon as it passes the filters, so memory
+ * stays flat no matter how many rows match. With spring.threads.virtual.enabled every request, and every
+ * streaming response, runs on a virtual thread, so thousands of slow clients only cost parked virtual threads.
+ * The aggregate endpoints return small JSON documents and run on the "analytics" ForkJoinPool.
+ * The filter and group-by pipelines are instrumented with PipelineMetrics (see /actuator/metrics/stream.pipeline.*).
+ */
+@RestController
+@RequestMapping("/employees")
+@RequiredArgsConstructor
+public class EmployeeController {
+
+    private static final String ANALYTICS_POOL = "analytics";
+    /** Largest n accepted by /top: the response holds n employees. */
+    static final int MAX_TOP_N = 10_000;
+
+    private final EmployeeDataset dataset;
+    private final ObjectMapper objectMapper;
+    private final ParallelStreamExecutor executor;
+    private final PipelineMetricsRegistry metrics;
+
+    /**
+     * Filters employees, e.g. /employees?department=IT&minSalary=50000, and streams them as NDJSON.
+     * The content type is set on the ResponseEntity: produces only matches the Accept header, and a bare
+     * StreamingResponseBody would be sent without a Content-Type.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> filter(@RequestParam(required = false) String department,
+                                        @RequestParam(required = false) String jobTitle,
+                                        @RequestParam(required = false) String employmentType,
+                                        @RequestParam(required = false) String skill,
+                                        @RequestParam(required = false) Integer minSalary,
+                                        @RequestParam(required = false) Integer maxSalary,
+                                        @RequestParam(required = false) Integer minExperience) {
+        Predicate<Employee> filter = employee -> (department == null || department.equals(employee.getDepartment()))
+            && (jobTitle == null || jobTitle.equals(employee.getJobTitle()))
+            && (employmentType == null || employmentType.equals(employee.getEmploymentType()))
+            && (skill == null || employee.getSkills().contains(skill))
+            && (minSalary == null || employee.getSalary() >= minSalary)
+            && (maxSalary == null || employee.getSalary() <= maxSalary)
+            && (minExperience == null || employee.getYearsOfExperience() >= minExperience);
+        PipelineMetrics pipeline = metrics.pipeline("employees.filter");
+        StreamingResponseBody body = outputStream ->
+            writeNdjson(pipeline.source(dataset.stream()).filter(pipeline.filter("filter", filter)), outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Counts employees per value of a field, e.g. /employees/group-by/department.
+     */
+    @GetMapping("/group-by/{field}")
+    public Map<String, Long> groupBy(@PathVariable String field) {
+        Function<Employee, String> classifier = EmployeeFields.groupingField(field);
+        PipelineMetrics pipeline = metrics.pipeline("employees.group-by");
+        return executor.invoke(ANALYTICS_POOL, () -> pipeline.measure(() -> pipeline.source(dataset.parallelStream())
+            .collect(Collectors.groupingBy(pipeline.map("classify", classifier), TreeMap::new, Collectors.counting()))));
+    }
+
+    /**
+     * The top n employees by a numeric field, e.g. /employees/top?by=salary&n=3 (add order=asc for the bottom n).
+     */
+    @GetMapping("/top")
+    public List<Employee> top(@RequestParam(defaultValue = "salary") String by,
+                              @RequestParam(defaultValue = "10") int n,
+                              @RequestParam(defaultValue = "desc") String order) {
+        if (n < 0 || n > MAX_TOP_N) {
+            throw new IllegalArgumentException("n must be between 0 and " + MAX_TOP_N + ": " + n);
+        }
+        ToIntFunction<Employee> key = EmployeeFields.numericField(by);
+        int k = Math.min(n, dataset.size());
+        Collector<Employee, ?, List<Employee>> topN = "asc".equalsIgnoreCase(order)
+            ? TopCollectors.bottomKByInt(k, key)
+            : TopCollectors.topKByInt(k, key);
+        return executor.invoke(ANALYTICS_POOL, () -> dataset.parallelStream().collect(topN));
+    }
+
+    /**
+     * Count, sum, min, max and average of a numeric field, overall or per group,
+     * e.g. /employees/aggregate?field=salary&groupBy=department.
+     */
+    @GetMapping("/aggregate")
+    public Map<String, IntSummaryStatistics> aggregate(@RequestParam(defaultValue = "salary") String field,
+                                                       @RequestParam(required = false) String groupBy) {
+        ToIntFunction<Employee> value = EmployeeFields.numericField(field);
+        if (groupBy == null) {
+            IntSummaryStatistics statistics = executor.invoke(ANALYTICS_POOL, () -> dataset.parallelStream()
+                .collect(Collectors.summarizingInt(value)));
+            return Map.of("all", statistics);
+        }
+        Function<Employee, String> classifier = EmployeeFields.groupingField(groupBy);
+        return executor.invoke(ANALYTICS_POOL, () -> dataset.parallelStream()
+            .collect(Collectors.groupingBy(classifier, TreeMap::new, Collectors.summarizingInt(value))));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    /**
+     * Serializes the stream element by element; the generator flushes its buffer to the response as it fills up.
+     */
+    private void writeNdjson(Stream<Employee> employees, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<Employee> iterator = employees.iterator();
+            boolean any = false;
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                any = true;
+            }
+            if (any) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.java.stream.web;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.java.stream.customclass.Employee;
+import com.java.stream.customclass.EmployeeCsvLoader;
+
+/**
+ * The in-memory employee dataset served by the EmployeeController.
+ * It is loaded from the CSV file set in stream.employees.csv-path, or else holds
+ * the same sample employees as the MapFeatures example.
+ */
+@Component
+public class EmployeeDataset {
+
+    private final List<Employee> employees;
+
+    @Autowired
+    public EmployeeDataset(@Value("${stream.employees.csv-path:}") String csvPath) throws IOException {
+        this(csvPath.isEmpty() ? sample() : EmployeeCsvLoader.load(Path.of(csvPath)));
+    }
+
+    public EmployeeDataset(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+    }
+
+    public Stream<Employee> stream() {
+        return employees.stream();
+    }
+
+    public Stream<Employee> parallelStream() {
+        return employees.parallelStream();
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    static List<Employee> sample() {
+        return Arrays.asList(
+            new Employee("John Doe", 1001, 45000, "IT", "Software Engineer", 5, "Full-time", Arrays.asList("Java", "Python")),
+            new Employee("Alice Smith", 1002, 55000, "HR", "HR Manager", 10, "Full-time", Arrays.asList("Communication", "Recruiting")),
+            new Employee("Bob Johnson", 1003, 50000, "IT", "DevOps Engineer", 3, "Contract", Arrays.asList("DevOps", "Python")),
+            new Employee("Mary Davis", 1004, 60000, "Finance", "Financial Analyst", 8, "Full-time", Arrays.asList("Accounting", "Management")),
+            new Employee("David Brown", 1005, 75000, "Finance", "Finance Manager", 12, "Part-time", Arrays.asList("Management", "Leadership")),
+            new Employee("Emily Clark", 1006, 48000, "IT", "Quality Analyst", 4, "Full-time", Arrays.asList("Testing", "Java")),
+            new Employee("Michael Wilson", 1007, 52000, "IT", "System Administrator", 6, "Full-time", Arrays.asList("Linux", "Networking")),
+            new Employee("Sarah Johnson", 1008, 60000, "HR", "Recruitment Specialist", 7, "Part-time", Arrays.asList("Interviewing", "Communication"))
+        );
+    }
+}
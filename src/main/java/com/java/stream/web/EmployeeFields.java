@@ -0,0 +1,45 @@
+package com.java.stream.web;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import com.java.stream.customclass.Employee;
+
+/**
+ * Maps the field names accepted by the HTTP API to Employee accessors.
+ */
+final class EmployeeFields {
+
+    private static final Map<String, Function<Employee, String>> GROUPING_FIELDS = Map.of(
+        "department", Employee::getDepartment,
+        "jobTitle", Employee::getJobTitle,
+        "employmentType", Employee::getEmploymentType,
+        "yearsOfExperience", employee -> String.valueOf(employee.getYearsOfExperience())
+    );
+
+    private static final Map<String, ToIntFunction<Employee>> NUMERIC_FIELDS = Map.of(
+        "id", Employee::getId,
+        "salary", Employee::getSalary,
+        "yearsOfExperience", Employee::getYearsOfExperience
+    );
+
+    private EmployeeFields() {
+    }
+
+    static Function<Employee, String> groupingField(String name) {
+        Function<Employee, String> field = GROUPING_FIELDS.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Cannot group by '" + name + "', expected one of " + GROUPING_FIELDS.keySet());
+        }
+        return field;
+    }
+
+    static ToIntFunction<Employee> numericField(String name) {
+        ToIntFunction<Employee> field = NUMERIC_FIELDS.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown numeric field '" + name + "', expected one of " + NUMERIC_FIELDS.keySet());
+        }
+        return field;
+    }
+}
@@ -0,0 +1,130 @@
+package com.java.stream.window;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * MinMaxQueue
+ * A FIFO queue of (key, value) pairs of longs that knows the count, sum, min and max of its values at all times,
+ * with O(1) amortized add and removeOldest: the two-stack queue.
+ *
+ * New pairs are pushed on an "in" stack that only tracks the min and max of everything on it. removeOldest pops
+ * from an "out" stack whose slots each remember the min and max of themselves and every slot above; when the out
+ * stack is empty the whole in stack is moved over once, oldest on top. Every pair is moved at most once, so a
+ * sliding window over an unbounded stream costs O(1) per element and O(window) memory.
+ * The key travels with the value, e.g. the timestamp of a time-based window.
+ */
+public final class MinMaxQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] inKeys = new long[INITIAL_CAPACITY];
+    private long[] inValues = new long[INITIAL_CAPACITY];
+    private int inSize;
+    private long inMin = Long.MAX_VALUE;
+    private long inMax = Long.MIN_VALUE;
+
+    private long[] outKeys = new long[INITIAL_CAPACITY];
+    private long[] outValues = new long[INITIAL_CAPACITY];
+    private long[] outMin = new long[INITIAL_CAPACITY];
+    private long[] outMax = new long[INITIAL_CAPACITY];
+    private int outSize;
+
+    private long sum;
+
+    public void add(long key, long value) {
+        if (inSize == inKeys.length) {
+            inKeys = Arrays.copyOf(inKeys, inSize * 2);
+            inValues = Arrays.copyOf(inValues, inSize * 2);
+        }
+        inKeys[inSize] = key;
+        inValues[inSize] = value;
+        inSize++;
+        inMin = Math.min(inMin, value);
+        inMax = Math.max(inMax, value);
+        sum += value;
+    }
+
+    /**
+     * Removes the oldest pair and returns its value.
+     */
+    public long removeOldest() {
+        prepareOut();
+        outSize--;
+        long value = outValues[outSize];
+        sum -= value;
+        return value;
+    }
+
+    public long oldestKey() {
+        prepareOut();
+        return outKeys[outSize - 1];
+    }
+
+    public int size() {
+        return inSize + outSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long min() {
+        checkNotEmpty();
+        return outSize == 0 ? inMin : Math.min(inMin, outMin[outSize - 1]);
+    }
+
+    public long max() {
+        checkNotEmpty();
+        return outSize == 0 ? inMax : Math.max(inMax, outMax[outSize - 1]);
+    }
+
+    public void clear() {
+        inSize = 0;
+        outSize = 0;
+        inMin = Long.MAX_VALUE;
+        inMax = Long.MIN_VALUE;
+        sum = 0;
+    }
+
+    /**
+     * Moves the in stack onto the empty out stack, newest first, so that the oldest pair ends up on top.
+     */
+    private void prepareOut() {
+        if (outSize > 0) {
+            return;
+        }
+        checkNotEmpty();
+        if (outKeys.length < inSize) {
+            outKeys = new long[inKeys.length];
+            outValues = new long[inKeys.length];
+            outMin = new long[inKeys.length];
+            outMax = new long[inKeys.length];
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = inSize - 1; i >= 0; i--) {
+            long value = inValues[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            outKeys[outSize] = inKeys[i];
+            outValues[outSize] = value;
+            outMin[outSize] = min;
+            outMax[outSize] = max;
+            outSize++;
+        }
+        inSize = 0;
+        inMin = Long.MAX_VALUE;
+        inMax = Long.MIN_VALUE;
+    }
+
+    private void checkNotEmpty() {
+        if (size() == 0) {
+            throw new NoSuchElementException("MinMaxQueue is empty");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.java.stream.window;
+
+/**
+ * The aggregates of one window of a Windows stage.
+ *
+ * @param start first position of the window: an element index for count windows, a timestamp for time windows
+ * @param end   end of the window (exclusive for count and tumbling time windows, see Windows for each operator)
+ * @param count number of elements in the window
+ * @param sum   sum of their values
+ * @param min   smallest value
+ * @param max   largest value
+ */
+public record Window(long start, long end, long count, long sum, long min, long max) {
+
+    public double average() {
+        return (double) sum / count;
+    }
+}
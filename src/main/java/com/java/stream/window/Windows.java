@@ -0,0 +1,291 @@
+package com.java.stream.window;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Windows
+ * Window stages for ordered, possibly infinite streams such as time series and activity logs: each stage turns a
+ * stream of elements into a lazy stream of Window aggregates (count, sum, min, max) of a value extracted from them.
+ *
+ * Collecting the elements first (groupingBy, a List per window) needs the whole stream in memory and never
+ * finishes on an infinite source. These stages read the source one element at a time and keep only incremental
+ * aggregates: a running count/sum/min/max for tumbling and session windows, and a MinMaxQueue holding just the
+ * current window for sliding windows. An infinite source therefore yields an infinite stream of windows in
+ * constant memory (for sliding windows, proportional to the window):
+ *
+ *   Windows.sliding(readings, 60, Reading::value)
+ *       .filter(window -> window.max() - window.min() > threshold)
+ *       .findFirst();
+ *
+ *   tumbling(source, size, value)                 windows of size elements, [start, end) element indexes
+ *   sliding(source, size, value)                  every run of size consecutive elements, one window per element
+ *   tumblingByTime(source, timestamp, width, value)  [k * width, (k + 1) * width) by timestamp
+ *   slidingByTime(source, timestamp, width, value)   the elements in (t - width, t] for each element's timestamp t
+ *   session(source, timestamp, gap, value)           runs of elements no more than gap apart, [first, last] timestamp
+ *
+ * Timestamps are longs in whatever unit the extractor uses (e.g. epoch millis), and time-based stages expect them in
+ * non-decreasing order (tumblingByTime tolerates disorder inside a window): an element that goes back in time fails
+ * the stage with an IllegalStateException. Windows are emitted in order from a sequential stream; closing the
+ * window stream closes the source. Empty windows are not emitted.
+ */
+public final class Windows {
+
+    private Windows() {
+    }
+
+    public static <T> Stream<Window> tumbling(Stream<T> source, int size, ToLongFunction<? super T> value) {
+        checkPositive(size, "size");
+        return stream(source, new WindowSpliterator<T>(source, value) {
+            private long index;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Window> action) {
+                aggregate.reset();
+                while (aggregate.count < size && elements.hasNext()) {
+                    aggregate.add(value(elements.next()));
+                }
+                if (aggregate.count == 0) {
+                    return false;
+                }
+                action.accept(aggregate.toWindow(index, index + aggregate.count));
+                index += aggregate.count;
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Slides a window of size elements one element at a time; the first window is emitted once size elements
+     * have been read, so a source shorter than size yields no window.
+     */
+    public static <T> Stream<Window> sliding(Stream<T> source, int size, ToLongFunction<? super T> value) {
+        checkPositive(size, "size");
+        return stream(source, new WindowSpliterator<T>(source, value) {
+            private final MinMaxQueue window = new MinMaxQueue();
+            private long index;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Window> action) {
+                while (elements.hasNext()) {
+                    window.add(index++, value(elements.next()));
+                    if (window.size() > size) {
+                        window.removeOldest();
+                    }
+                    if (window.size() == size) {
+                        action.accept(toWindow(window, index - size, index));
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    public static <T> Stream<Window> tumblingByTime(Stream<T> source, ToLongFunction<? super T> timestamp, long width,
+                                                    ToLongFunction<? super T> value) {
+        checkPositive(width, "width");
+        return stream(source, new LookaheadSpliterator<T>(source, timestamp, value) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Window> action) {
+                if (!readPending()) {
+                    return false;
+                }
+                long bucket = Math.floorDiv(pendingTimestamp, width);
+                aggregate.reset();
+                aggregate.add(pendingValue);
+                hasPending = false;
+                while (elements.hasNext()) {
+                    T element = elements.next();
+                    long time = timestamp.applyAsLong(element);
+                    long elementBucket = Math.floorDiv(time, width);
+                    if (elementBucket == bucket) {
+                        aggregate.add(value(element));
+                    } else if (elementBucket > bucket) {
+                        pend(time, value(element));
+                        break;
+                    } else {
+                        throw outOfOrder(time, bucket * width);
+                    }
+                }
+                action.accept(aggregate.toWindow(bucket * width, bucket * width + width));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * One window per element, over the elements whose timestamp is in (t - width, t], t being the element's
+     * timestamp; the window's start is t - width and its end t.
+     */
+    public static <T> Stream<Window> slidingByTime(Stream<T> source, ToLongFunction<? super T> timestamp, long width,
+                                                   ToLongFunction<? super T> value) {
+        checkPositive(width, "width");
+        return stream(source, new WindowSpliterator<T>(source, value) {
+            private final MinMaxQueue window = new MinMaxQueue();
+            private long last = Long.MIN_VALUE;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Window> action) {
+                if (!elements.hasNext()) {
+                    return false;
+                }
+                T element = elements.next();
+                long time = timestamp.applyAsLong(element);
+                if (time < last) {
+                    throw outOfOrder(time, last);
+                }
+                last = time;
+                window.add(time, value(element));
+                while (window.oldestKey() <= time - width) {
+                    window.removeOldest();
+                }
+                action.accept(toWindow(window, time - width, time));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Groups consecutive elements into sessions that end when the next timestamp is more than gap after the
+     * previous one; a window's start and end are the first and last timestamp of its session.
+     */
+    public static <T> Stream<Window> session(Stream<T> source, ToLongFunction<? super T> timestamp, long gap,
+                                             ToLongFunction<? super T> value) {
+        if (gap < 0) {
+            throw new IllegalArgumentException("gap must not be negative: " + gap);
+        }
+        return stream(source, new LookaheadSpliterator<T>(source, timestamp, value) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Window> action) {
+                if (!readPending()) {
+                    return false;
+                }
+                long start = pendingTimestamp;
+                long last = start;
+                aggregate.reset();
+                aggregate.add(pendingValue);
+                hasPending = false;
+                while (elements.hasNext()) {
+                    T element = elements.next();
+                    long time = timestamp.applyAsLong(element);
+                    if (time < last) {
+                        throw outOfOrder(time, last);
+                    }
+                    if (time - last > gap) {
+                        pend(time, value(element));
+                        break;
+                    }
+                    aggregate.add(value(element));
+                    last = time;
+                }
+                action.accept(aggregate.toWindow(start, last));
+                return true;
+            }
+        });
+    }
+
+    private static Stream<Window> stream(Stream<?> source, Spliterator<Window> windows) {
+        return StreamSupport.stream(windows, false).onClose(source::close);
+    }
+
+    private static Window toWindow(MinMaxQueue window, long start, long end) {
+        return new Window(start, end, window.size(), window.sum(), window.min(), window.max());
+    }
+
+    private static IllegalStateException outOfOrder(long timestamp, long previous) {
+        return new IllegalStateException("Timestamp " + timestamp + " goes back before " + previous
+                + "; time windows need timestamps in non-decreasing order");
+    }
+
+    private static void checkPositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+
+    /**
+     * Running count, sum, min and max of the current window.
+     */
+    private static final class Aggregate {
+
+        long count;
+        long sum;
+        long min;
+        long max;
+
+        void reset() {
+            count = 0;
+            sum = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+        }
+
+        void add(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        Window toWindow(long start, long end) {
+            return new Window(start, end, count, sum, min, max);
+        }
+    }
+
+    private abstract static class WindowSpliterator<T> extends Spliterators.AbstractSpliterator<Window> {
+
+        final Iterator<T> elements;
+        final Aggregate aggregate = new Aggregate();
+        private final ToLongFunction<? super T> value;
+
+        WindowSpliterator(Stream<T> source, ToLongFunction<? super T> value) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.elements = source.iterator();
+            this.value = value;
+        }
+
+        long value(T element) {
+            return value.applyAsLong(element);
+        }
+    }
+
+    /**
+     * For windows that only know they are complete once they have read the first element of the next window,
+     * which is kept as the pending element.
+     */
+    private abstract static class LookaheadSpliterator<T> extends WindowSpliterator<T> {
+
+        final ToLongFunction<? super T> timestamp;
+        boolean hasPending;
+        long pendingTimestamp;
+        long pendingValue;
+
+        LookaheadSpliterator(Stream<T> source, ToLongFunction<? super T> timestamp, ToLongFunction<? super T> value) {
+            super(source, value);
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * Makes sure there is a pending element, reading one from the source if needed; false at the end.
+         */
+        boolean readPending() {
+            if (!hasPending && elements.hasNext()) {
+                T element = elements.next();
+                pend(timestamp.applyAsLong(element), value(element));
+            }
+            return hasPending;
+        }
+
+        void pend(long time, long value) {
+            pendingTimestamp = time;
+            pendingValue = value;
+            hasPending = true;
+        }
+    }
+}
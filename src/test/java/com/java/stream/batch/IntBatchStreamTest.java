@@ -0,0 +1,140 @@
+package com.java.stream.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Batch pipelines against the same IntStream pipelines, sequential and parallel, on sizes around the batch
+ * size so that partial last batches and single-batch sources are covered.
+ */
+class IntBatchStreamTest {
+
+	private static final int[] SIZES = { 0, 1, 6, 7, 8, 1023, 1024, 1025, 10_007 };
+	private static final int[] BATCH_SIZES = { 7, IntBatchStream.DEFAULT_BATCH_SIZE };
+
+	private final SplittableRandom random = new SplittableRandom(41);
+
+	@Test
+	void perElementStagesMatchIntStream() {
+		assertMatches(
+				stream -> stream.filter(n -> n % 2 == 0).map(n -> n * 2),
+				stream -> stream.filter(n -> n % 2 == 0).map(n -> n * 2));
+		assertMatches(
+				stream -> stream.map(n -> n >> 3).filter(n -> n > 0).filter(n -> n % 3 != 0).map(n -> n + 1),
+				stream -> stream.map(n -> n >> 3).filter(n -> n > 0).filter(n -> n % 3 != 0).map(n -> n + 1));
+	}
+
+	@Test
+	void batchStagesMatchIntStream() {
+		assertMatches(
+				stream -> stream.filterBatch(IntBatchStreamTest::evens).mapBatch(IntBatchStreamTest::doubled),
+				stream -> stream.filter(n -> n % 2 == 0).map(n -> n * 2));
+		// a per-element filter on a selection, and a mapBatch that has to compact it
+		assertMatches(
+				stream -> stream.filterBatch(IntBatchStreamTest::evens).filter(n -> n > 0).map(n -> n - 1)
+						.mapBatch(IntBatchStreamTest::doubled).filterBatch(IntBatchStreamTest::evens),
+				stream -> stream.filter(n -> n % 2 == 0).filter(n -> n > 0).map(n -> n - 1).map(n -> n * 2)
+						.filter(n -> n % 2 == 0));
+	}
+
+	@Test
+	void filtersSelectingNothingOrEverything() {
+		assertMatches(stream -> stream.filter(n -> false), stream -> stream.filter(n -> false));
+		assertMatches(stream -> stream.filterBatch((values, selection, size) -> 0).map(n -> n + 1),
+				stream -> stream.filter(n -> false));
+		assertMatches(stream -> stream.filter(n -> true).filterBatch((values, selection, size) -> size),
+				UnaryOperator.identity());
+		assertMatches(stream -> stream.filterBatch((values, selection, size) -> size).mapBatch(IntBatchStreamTest::doubled),
+				stream -> stream.map(n -> n * 2));
+	}
+
+	@Test
+	void rangeMatchesIntStreamRange() {
+		for (boolean parallel : new boolean[] { false, true }) {
+			IntBatchStream tail = IntBatchStream.range(Integer.MAX_VALUE - 3000, Integer.MAX_VALUE).batchSize(100);
+			assertThat((parallel ? tail.parallel() : tail).toArray())
+					.isEqualTo(IntStream.range(Integer.MAX_VALUE - 3000, Integer.MAX_VALUE).toArray());
+		}
+		assertThat(IntBatchStream.range(5, 5).count()).isZero();
+		assertThat(IntBatchStream.range(5, -5).count()).isZero();
+	}
+
+	@Test
+	void objectBatchesMatchStream() {
+		for (int size : SIZES) {
+			List<String> words = IntStream.range(0, size).mapToObj(i -> "w" + random.nextInt(100)).toList();
+			for (int batchSize : BATCH_SIZES) {
+				BatchStream<String> stream = BatchStream.of(words).batchSize(batchSize);
+				for (BatchStream<String> mode : List.of(stream, stream.parallel())) {
+					BatchStream<String> filtered = mode.filter(word -> word.length() == 2).filter(word -> !word.endsWith("0"));
+					assertThat(filtered.toList()).isEqualTo(words.stream()
+							.filter(word -> word.length() == 2).filter(word -> !word.endsWith("0")).toList());
+					assertThat(filtered.count()).isEqualTo(filtered.toList().size());
+					assertThat(filtered.mapToInt(word -> word.charAt(1)).filter(c -> c > '3').sum())
+							.isEqualTo(words.stream().filter(word -> word.length() == 2).filter(word -> !word.endsWith("0"))
+									.mapToInt(word -> word.charAt(1)).filter(c -> c > '3').asLongStream().sum());
+				}
+			}
+		}
+	}
+
+	@Test
+	void filterBatchReturningAnImpossibleSizeIsRejected() {
+		assertThatThrownBy(() -> IntBatchStream.of(1, 2, 3).filterBatch((values, selection, size) -> size + 1).count())
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> IntBatchStream.of(1, 2, 3).filterBatch((values, selection, size) -> -1).count())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	/**
+	 * Evaluates both pipelines over random values, including the int extremes, with every terminal operation.
+	 */
+	private void assertMatches(UnaryOperator<IntBatchStream> batchPipeline, Function<IntStream, IntStream> streamPipeline) {
+		for (int size : SIZES) {
+			int[] values = random.ints(size, -1000, 1000).toArray();
+			if (size > 2) {
+				values[0] = Integer.MIN_VALUE;
+				values[size - 1] = Integer.MAX_VALUE;
+			}
+			int[] original = values.clone();
+			int[] expected = streamPipeline.apply(IntStream.of(values)).toArray();
+			for (int batchSize : BATCH_SIZES) {
+				IntBatchStream source = IntBatchStream.of(values).batchSize(batchSize);
+				for (IntBatchStream stream : List.of(source, source.parallel())) {
+					IntBatchStream pipeline = batchPipeline.apply(stream);
+					assertThat(pipeline.toArray()).isEqualTo(expected);
+					assertThat(pipeline.sum()).isEqualTo(IntStream.of(expected).asLongStream().sum());
+					assertThat(pipeline.count()).isEqualTo(expected.length);
+					assertThat(pipeline.summaryStatistics())
+							.hasToString(IntStream.of(expected).summaryStatistics().toString());
+				}
+			}
+			assertThat(values).as("the source array is never modified").isEqualTo(original);
+		}
+	}
+
+	private static int evens(int[] values, int[] selection, int size) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			int position = selection[i];
+			if (values[position] % 2 == 0) {
+				selection[kept++] = position;
+			}
+		}
+		return kept;
+	}
+
+	private static void doubled(int[] values, int length) {
+		for (int i = 0; i < length; i++) {
+			values[i] *= 2;
+		}
+	}
+}
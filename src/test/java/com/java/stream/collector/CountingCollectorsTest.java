@@ -0,0 +1,126 @@
+package com.java.stream.collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The counting collectors against groupingBy, and StripedCounterMap under concurrent updates, on both sides of
+ * the small table's SMALL_KEYS (32) keys.
+ */
+class CountingCollectorsTest {
+
+	private final SplittableRandom random = new SplittableRandom(24);
+
+	@Test
+	void countingByMatchesGroupingByCounting() {
+		for (int keys : new int[] {1, 5, 31, 32, 33, 64, 1_000}) {
+			List<Integer> elements = random.ints(200_000, 0, keys).boxed().toList();
+			Map<String, Long> expected = elements.stream()
+					.collect(Collectors.groupingBy(i -> "key" + i, Collectors.counting()));
+
+			assertThat(elements.parallelStream().collect(CountingCollectors.countingBy(i -> "key" + i))).isEqualTo(expected);
+			assertThat(elements.stream().collect(CountingCollectors.countingBy(i -> "key" + i))).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void summingByMatchesGroupingBySumming() {
+		for (int keys : new int[] {3, 32, 100}) {
+			List<Integer> elements = random.ints(200_000, -1_000, 1_000).boxed().toList();
+			Map<Integer, Long> expected = elements.stream()
+					.collect(Collectors.groupingBy(i -> Math.floorMod(i, keys), Collectors.summingLong(i -> i)));
+
+			assertThat(elements.parallelStream().collect(CountingCollectors.summingBy(i -> Math.floorMod(i, keys), i -> i)))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void concurrentIncrementsAreExact() throws InterruptedException {
+		StripedCounterMap<Integer> counts = new StripedCounterMap<>();
+		int threads = 8;
+		int perThread = 50_000;
+		CountDownLatch start = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			for (int t = 0; t < threads; t++) {
+				executor.execute(() -> {
+					await(start);
+					// The same 40 keys from every thread, so keys race for the last slots of the small table
+					for (int i = 0; i < perThread; i++) {
+						counts.increment(i % 40);
+						counts.add(-1 - i % 3, 2);
+					}
+				});
+			}
+			start.countDown();
+		}
+
+		Map<Integer, Long> map = counts.toMap();
+		assertThat(map).hasSize(43);
+		IntStream.range(0, 40).forEach(key -> {
+			assertThat(map.get(key)).isEqualTo((long) threads * perThread / 40);
+			assertThat(counts.get(key)).isEqualTo((long) threads * perThread / 40);
+		});
+		long perNegativeKey = 2L * threads * (perThread / 3 + 1);
+		assertThat(map.get(-1)).isEqualTo(perNegativeKey);
+		assertThat(map.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3L * threads * perThread);
+	}
+
+	@Test
+	void keysWithCollidingHashCodesStayApart() {
+		StripedCounterMap<CollidingKey> counts = new StripedCounterMap<>();
+		IntStream.range(0, 100).forEach(i -> counts.add(new CollidingKey(i), i));
+
+		assertThat(counts.toMap()).hasSize(100);
+		IntStream.range(0, 100).forEach(i -> assertThat(counts.get(new CollidingKey(i))).isEqualTo(i));
+		assertThat(counts.get(new CollidingKey(1_000))).isZero();
+	}
+
+	@Test
+	void addAllMergesBothTables() {
+		StripedCounterMap<Integer> left = new StripedCounterMap<>();
+		StripedCounterMap<Integer> right = new StripedCounterMap<>();
+		IntStream.range(0, 50).forEach(i -> left.add(i, i));
+		IntStream.range(25, 75).forEach(i -> right.add(i, 1));
+
+		Map<Integer, Long> merged = left.addAll(right).toMap();
+
+		assertThat(merged).hasSize(75);
+		assertThat(merged.get(10)).isEqualTo(10);
+		assertThat(merged.get(30)).isEqualTo(31);
+		assertThat(merged.get(70)).isEqualTo(1);
+	}
+
+	@Test
+	void nullKeysAreRejected() {
+		assertThatThrownBy(() -> List.of(1, 2).stream().collect(CountingCollectors.countingBy(i -> null)))
+				.isInstanceOf(NullPointerException.class);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private record CollidingKey(int value) {
+
+		@Override
+		public int hashCode() {
+			return 7;
+		}
+	}
+}
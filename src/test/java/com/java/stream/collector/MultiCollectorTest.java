@@ -0,0 +1,95 @@
+package com.java.stream.collector;
+
+import static java.util.stream.Collectors.averagingInt;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.summarizingInt;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Every key's result against its collector run alone, sequential and parallel; joining and toList also check
+ * that the encounter order survives the per-collector combine.
+ */
+class MultiCollectorTest {
+
+	private static final Collector<Integer, ?, Map<Integer, Long>> BY_REMAINDER_ALONE =
+			groupingBy(n -> Math.floorMod(n, 7), counting());
+	private static final MultiCollector.Key<Integer, Map<Integer, Long>> BY_REMAINDER =
+			MultiCollector.key("byRemainder", BY_REMAINDER_ALONE);
+	private static final MultiCollector.Key<Integer, String> JOINED =
+			MultiCollector.key("joined", mapping(String::valueOf, joining(",")));
+	private static final MultiCollector.Key<Integer, List<Integer>> LIST = MultiCollector.key("list", toList());
+	private static final MultiCollector.Key<Integer, Double> AVERAGE = MultiCollector.key("average", averagingInt(n -> n));
+	private static final MultiCollector.Key<Object, Long> COUNT = MultiCollector.key("count", counting());
+
+	private final SplittableRandom random = new SplittableRandom(4);
+
+	@Test
+	void eachKeyMatchesItsCollectorAlone() {
+		MultiCollector.Key<Integer, IntSummaryStatistics> statistics =
+				MultiCollector.key("statistics", summarizingInt(n -> n));
+		Collector<Integer, ?, MultiCollector.Results> all = MultiCollector.of(BY_REMAINDER, JOINED, LIST, AVERAGE, COUNT,
+				statistics);
+
+		for (int size : new int[] { 0, 1, 1_000, 100_000 }) {
+			List<Integer> numbers = random.ints(size, -1_000, 1_000).boxed().toList();
+			for (boolean parallel : new boolean[] { false, true }) {
+				MultiCollector.Results results = (parallel ? numbers.parallelStream() : numbers.stream()).collect(all);
+
+				assertThat(results.get(BY_REMAINDER)).isEqualTo(numbers.stream().collect(BY_REMAINDER_ALONE));
+				assertThat(results.get(JOINED)).isEqualTo(numbers.stream().map(String::valueOf).collect(joining(",")));
+				assertThat(results.get(LIST)).isEqualTo(numbers);
+				assertThat(results.get(AVERAGE)).isEqualTo(numbers.stream().collect(averagingInt(n -> n)));
+				assertThat(results.get(COUNT)).isEqualTo(size);
+				// IntSummaryStatistics has no equals
+				assertThat(results.get(statistics)).hasToString(numbers.stream().collect(summarizingInt(n -> n)).toString());
+				assertThat(results.asMap()).containsOnlyKeys("byRemainder", "joined", "list", "average", "count", "statistics");
+			}
+		}
+	}
+
+	@Test
+	void theVarargsArrayIsCopied() {
+		@SuppressWarnings("unchecked")
+		MultiCollector.Key<? super Integer, ?>[] keys = new MultiCollector.Key[] { COUNT, LIST };
+		Collector<Integer, ?, MultiCollector.Results> collector = MultiCollector.of(keys);
+		keys[0] = JOINED;
+		keys[1] = AVERAGE;
+
+		MultiCollector.Results results = IntStream.range(0, 5).boxed().collect(collector);
+
+		assertThat(results.asMap()).containsOnlyKeys("count", "list");
+		assertThat(results.get(COUNT)).isEqualTo(5);
+		assertThat(results.get(LIST)).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	void characteristicsAndKeyErrors() {
+		MultiCollector.Key<Integer, Set<Integer>> set = MultiCollector.key("set", toSet());
+		MultiCollector.Key<Integer, Set<Integer>> otherSet = MultiCollector.key("otherSet", toSet());
+
+		assertThat(MultiCollector.of(set, otherSet).characteristics()).containsExactly(Collector.Characteristics.UNORDERED);
+		assertThat(MultiCollector.of(set, LIST).characteristics()).isEmpty();
+		assertThatThrownBy(() -> MultiCollector.of(set, MultiCollector.key("set", toList())))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Duplicate key: set");
+		MultiCollector.Results results = List.of(1, 2).stream().collect(MultiCollector.of(set));
+		assertThatThrownBy(() -> results.get(COUNT)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> results.asMap().clear()).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
@@ -0,0 +1,82 @@
+package com.java.stream.collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TopCollectorsTest {
+
+	private static final List<Integer> NUMBERS = new SplittableRandom(7).ints(50_000, -1_000, 1_000).boxed().toList();
+
+	@Test
+	void topKMatchesSortedLimit() {
+		for (int k : new int[] {0, 1, 2, 10, 999, 50_000, 60_000}) {
+			List<Integer> expected = NUMBERS.stream().sorted(Comparator.reverseOrder()).limit(k).toList();
+
+			assertThat(NUMBERS.stream().collect(TopCollectors.topK(k, Comparator.naturalOrder()))).isEqualTo(expected);
+			assertThat(NUMBERS.parallelStream().collect(TopCollectors.topK(k, Comparator.naturalOrder()))).isEqualTo(expected);
+			assertThat(NUMBERS.parallelStream().collect(TopCollectors.topKByInt(k, Integer::intValue))).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void bottomKMatchesSortedLimit() {
+		for (int k : new int[] {0, 1, 7, 1_000, 50_000}) {
+			List<Integer> expected = NUMBERS.stream().sorted().limit(k).toList();
+
+			assertThat(NUMBERS.stream().collect(TopCollectors.bottomK(k, Comparator.naturalOrder()))).isEqualTo(expected);
+			assertThat(NUMBERS.parallelStream().collect(TopCollectors.bottomKByInt(k, Integer::intValue))).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void keysIncludeTheIntExtremes() {
+		List<Integer> extremes = List.of(0, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 1, Integer.MIN_VALUE);
+
+		assertThat(extremes.stream().collect(TopCollectors.topKByInt(3, Integer::intValue)))
+				.containsExactly(Integer.MAX_VALUE, 1, 0);
+		assertThat(extremes.stream().collect(TopCollectors.bottomKByInt(3, Integer::intValue)))
+				.containsExactly(Integer.MIN_VALUE, Integer.MIN_VALUE, -1);
+	}
+
+	@Test
+	void hugeKOnlyCostsTheElementsSeen() {
+		// Every fork of the parallel stream creates a heap for k; none may allocate k slots up front
+		List<Integer> expected = NUMBERS.stream().sorted(Comparator.reverseOrder()).toList();
+
+		assertThat(NUMBERS.parallelStream().collect(TopCollectors.topKByInt(Integer.MAX_VALUE, Integer::intValue)))
+				.isEqualTo(expected);
+		assertThat(NUMBERS.parallelStream().collect(TopCollectors.topK(Integer.MAX_VALUE, Comparator.naturalOrder())))
+				.isEqualTo(expected);
+		assertThat(IntStream.range(0, 3).boxed().collect(TopCollectors.bottomKByInt(Integer.MAX_VALUE, Integer::intValue)))
+				.containsExactly(0, 1, 2);
+	}
+
+	@Test
+	void keepsTheElementsOfTheBestKeys() {
+		List<String> words = List.of("kiwi", "banana", "fig", "cherry", "apple", "elderberry");
+
+		assertThat(words.stream().collect(TopCollectors.topKByInt(2, String::length)))
+				.containsExactly("elderberry", "banana");
+		assertThat(words.stream().collect(TopCollectors.bottomKByInt(2, String::length)))
+				.containsExactly("fig", "kiwi");
+		// banana and cherry tie on length: both are kept, in either order
+		List<String> top3 = words.parallelStream().collect(TopCollectors.topKByInt(3, String::length));
+		assertThat(top3).extracting(String::length).containsExactly(10, 6, 6);
+		assertThat(top3).containsExactlyInAnyOrder("elderberry", "banana", "cherry");
+	}
+
+	@Test
+	void rejectsNegativeK() {
+		assertThatThrownBy(() -> TopCollectors.topK(-1, Comparator.<Integer>naturalOrder()))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TopCollectors.bottomKByInt(-1, Integer::intValue))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
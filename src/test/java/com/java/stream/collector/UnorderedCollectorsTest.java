@@ -0,0 +1,67 @@
+package com.java.stream.collector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * toUnorderedList against toList, compared as multisets, on both sides of the 1024-element chunks.
+ */
+class UnorderedCollectorsTest {
+
+	private final SplittableRandom random = new SplittableRandom(6);
+
+	@Test
+	void toUnorderedListHoldsTheSameElementsAsToList() {
+		for (int size : new int[] {0, 1, 10, 1023, 1024, 1025, 100_000}) {
+			// duplicates, so that the comparison counts occurrences
+			List<Integer> elements = random.ints(size, 0, size / 2 + 1).boxed().toList();
+			List<Integer> expected = sorted(elements.stream().collect(Collectors.toList()));
+
+			assertThat(sorted(elements.stream().collect(UnorderedCollectors.toUnorderedList()))).isEqualTo(expected);
+			// ordered parallel stream: one sink per fork, merged with addAll
+			assertThat(sorted(elements.parallelStream().collect(UnorderedCollectors.toUnorderedList()))).isEqualTo(expected);
+			// unordered parallel stream: one sink shared by every worker
+			assertThat(sorted(elements.parallelStream().unordered().collect(UnorderedCollectors.toUnorderedList())))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void sinkGathersConcurrentAddsAndMovesChunks() throws Exception {
+		StripedListSink<Integer> sink = new StripedListSink<>();
+		try (ExecutorService threads = Executors.newFixedThreadPool(4)) {
+			for (int thread = 0; thread < 4; thread++) {
+				int first = thread * 5_000;
+				threads.execute(() -> IntStream.range(first, first + 5_000).forEach(sink::accept));
+			}
+		}
+		StripedListSink<Integer> other = new StripedListSink<>();
+		IntStream.range(20_000, 20_700).forEach(other::accept);
+
+		sink.addAll(other);
+
+		assertThat(sink.size()).isEqualTo(20_700);
+		assertThat(sorted(sink.toList())).isEqualTo(IntStream.range(0, 20_700).boxed().toList());
+		assertThat(other.size()).isZero();
+		assertThat(other.toList()).isEmpty();
+		other.accept(-1);
+		assertThat(other.toList()).containsExactly(-1);
+		assertThatThrownBy(() -> sink.toList().add(1)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	private static List<Integer> sorted(List<Integer> list) {
+		List<Integer> copy = new ArrayList<>(list);
+		copy.sort(null);
+		return copy;
+	}
+}
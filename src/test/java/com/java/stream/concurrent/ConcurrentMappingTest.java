@@ -0,0 +1,112 @@
+package com.java.stream.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentMappingTest {
+
+	@Test
+	void orderedResultsFollowTheSource() {
+		try (Stream<Integer> mapped = ConcurrentMapping.mapConcurrent(IntStream.range(0, 1_000).boxed(), 64, i -> {
+			sleep(Duration.ofMillis(i % 7));
+			return i * 2;
+		})) {
+			assertThat(mapped.toList()).isEqualTo(IntStream.range(0, 1_000).map(i -> i * 2).boxed().toList());
+		}
+	}
+
+	@Test
+	void unorderedResultsContainEveryElement() {
+		try (Stream<Integer> mapped = ConcurrentMapping.mapConcurrent(IntStream.range(0, 1_000).boxed(), 64, i -> {
+			sleep(Duration.ofMillis(i % 7));
+			return i * 2;
+		}, false)) {
+			assertThat(mapped.sorted().toList()).isEqualTo(IntStream.range(0, 1_000).map(i -> i * 2).boxed().toList());
+		}
+	}
+
+	@Test
+	void neverRunsMoreThanMaxInFlightCalls() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		try (Stream<Integer> mapped = ConcurrentMapping.mapConcurrent(IntStream.range(0, 500).boxed(), 8, i -> {
+			peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(Duration.ofMillis(1));
+			running.decrementAndGet();
+			return i;
+		})) {
+			assertThat(mapped.count()).isEqualTo(500);
+		}
+		assertThat(peak.get()).isLessThanOrEqualTo(8);
+	}
+
+	@Test
+	void orderedFailureIsNotHeldBackBySlowerEarlierCalls() {
+		CountDownLatch never = new CountDownLatch(1);
+		AtomicBoolean firstCallInterrupted = new AtomicBoolean();
+		long start = System.nanoTime();
+		try (Stream<Integer> mapped = ConcurrentMapping.mapConcurrent(IntStream.range(0, 1_000).boxed(), 1_000, i -> {
+			if (i == 0) {
+				try {
+					never.await();
+				} catch (InterruptedException e) {
+					firstCallInterrupted.set(true);
+					throw new IllegalStateException("interrupted");
+				}
+			}
+			if (i == 500) {
+				throw new IllegalArgumentException("element 500");
+			}
+			return i;
+		})) {
+			assertThatThrownBy(mapped::toList)
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("element 500");
+		}
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+		await(firstCallInterrupted);
+	}
+
+	@Test
+	void earlyStopClosesTheSource() {
+		AtomicBoolean sourceClosed = new AtomicBoolean();
+		Stream<Integer> source = IntStream.range(0, 1_000).boxed().onClose(() -> sourceClosed.set(true));
+		try (Stream<Integer> mapped = ConcurrentMapping.mapConcurrent(source, 16, i -> i)) {
+			List<Integer> first = mapped.limit(3).toList();
+			assertThat(first).containsExactly(0, 1, 2);
+		}
+		assertThat(sourceClosed).isTrue();
+	}
+
+	@Test
+	void rejectsNonPositiveMaxInFlight() {
+		assertThatThrownBy(() -> ConcurrentMapping.mapConcurrent(Stream.of(1), 0, i -> i))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(AtomicBoolean flag) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!flag.get() && System.nanoTime() < deadline) {
+			sleep(Duration.ofMillis(10));
+		}
+		assertThat(flag).isTrue();
+	}
+}
@@ -0,0 +1,129 @@
+package com.java.stream.customclass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeCsvLoaderTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void parsesQuotedFieldsAndCrlfLineEnds() throws IOException {
+		Path file = write(EmployeeCsvLoader.HEADER + "\r\n"
+				+ "\"Doe, John\",1001,45000,IT,\"Engineer \"\"II\"\"\",5,Full-time,Java;Python\r\n"
+				+ "\r\n"
+				+ "Jürgen Müller,-1002,0,HR,HR Manager,10,Part-time,\r\n"
+				+ "Alice,1003,50000,IT,\"\",3,Contract,\"Java;Go\"");
+
+		List<Employee> employees = EmployeeCsvLoader.load(file);
+
+		assertThat(employees).containsExactly(
+				new Employee("Doe, John", 1001, 45000, "IT", "Engineer \"II\"", 5, "Full-time", List.of("Java", "Python")),
+				new Employee("Jürgen Müller", -1002, 0, "HR", "HR Manager", 10, "Part-time", List.of()),
+				new Employee("Alice", 1003, 50000, "IT", "", 3, "Contract", List.of("Java", "Go")));
+	}
+
+	@Test
+	void parallelSplitsMatchAPlainLineByLineParse() throws IOException {
+		// Several MB, so the file is split into byte ranges at line boundaries
+		List<String> lines = new ArrayList<>();
+		lines.add(EmployeeCsvLoader.HEADER);
+		IntStream.range(0, 100_000).forEach(i -> lines.add((i % 7 == 0 ? "\"Employee, " + i + "\"" : "Employee " + i)
+				+ "," + i + "," + (30_000 + i % 70_000) + ",Dept" + (i % 5) + ",Title" + (i % 8) + "," + (i % 30)
+				+ ",Full-time,Java;Skill" + (i % 11)));
+		Path file = directory.resolve("large.csv");
+		Files.write(file, lines, StandardCharsets.UTF_8);
+
+		List<Employee> expected = lines.stream().skip(1).map(EmployeeCsvLoaderTest::parse).collect(Collectors.toList());
+		List<Employee> sequential;
+		try (Stream<Employee> employees = EmployeeCsvLoader.stream(file, false)) {
+			sequential = employees.collect(Collectors.toList());
+		}
+
+		assertThat(Files.size(file)).isGreaterThan(4L << 20);
+		assertThat(sequential).isEqualTo(expected);
+		assertThat(EmployeeCsvLoader.load(file)).isEqualTo(expected);
+	}
+
+	@Test
+	void emptyFileAndHeaderOnlyFileHaveNoEmployees() throws IOException {
+		assertThat(EmployeeCsvLoader.load(write(""))).isEmpty();
+		assertThat(EmployeeCsvLoader.load(write(EmployeeCsvLoader.HEADER + "\n"))).isEmpty();
+	}
+
+	@Test
+	void rejectsLinesWithTheWrongNumberOfFields() throws IOException {
+		Path file = write(EmployeeCsvLoader.HEADER + "\nJohn,1001,45000,IT\n");
+
+		assertThatThrownBy(() -> EmployeeCsvLoader.load(file))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Expected 8 fields but found 4");
+	}
+
+	@Test
+	void rejectsInvalidNumbers() throws IOException {
+		Path file = write(EmployeeCsvLoader.HEADER + "\nJohn,10x1,45000,IT,Engineer,5,Full-time,Java\n");
+
+		assertThatThrownBy(() -> EmployeeCsvLoader.load(file)).isInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void rejectsNumbersOutOfIntRange() throws IOException {
+		for (String number : new String[] {"2147483648", "9999999999", "-2147483649", "99999999999999999999"}) {
+			Path file = write(EmployeeCsvLoader.HEADER + "\nJohn," + number + ",45000,IT,Engineer,5,Full-time,Java\n");
+
+			assertThatThrownBy(() -> EmployeeCsvLoader.load(file))
+					.as(number)
+					.isInstanceOf(NumberFormatException.class)
+					.hasMessageContaining("at byte");
+		}
+		Path extremes = write(EmployeeCsvLoader.HEADER
+				+ "\nJohn,2147483647,-2147483648,IT,Engineer,0,Full-time,Java\n");
+
+		assertThat(EmployeeCsvLoader.load(extremes)).singleElement()
+				.satisfies(employee -> {
+					assertThat(employee.getId()).isEqualTo(Integer.MAX_VALUE);
+					assertThat(employee.getSalary()).isEqualTo(Integer.MIN_VALUE);
+				});
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = Files.createTempFile(directory, "employees", ".csv");
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	/**
+	 * Reference parser for the lines written by the test: only the name may be quoted, without inner quotes.
+	 */
+	private static Employee parse(String line) {
+		String name;
+		String rest;
+		if (line.startsWith("\"")) {
+			int close = line.indexOf('"', 1);
+			name = line.substring(1, close);
+			rest = line.substring(close + 2);
+		} else {
+			int comma = line.indexOf(',');
+			name = line.substring(0, comma);
+			rest = line.substring(comma + 1);
+		}
+		String[] fields = rest.split(",");
+		return new Employee(name, Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), fields[2], fields[3],
+				Integer.parseInt(fields[4]), fields[5], List.of(fields[6].split(";")));
+	}
+}
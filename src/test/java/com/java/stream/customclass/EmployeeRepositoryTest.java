@@ -0,0 +1,165 @@
+package com.java.stream.customclass;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.filtering;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.maxBy;
+import static java.util.stream.Collectors.summarizingInt;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Random inserts, updates and deletes, after each of which every registered aggregate must equal the same
+ * grouping recomputed with a stream over the stored employees.
+ */
+class EmployeeRepositoryTest {
+
+	private static final List<String> DEPARTMENTS = List.of("IT", "HR", "Sales", "R&D");
+	private static final List<String> SKILLS = List.of("Java", "SQL", "Excel", "Go");
+
+	private final SplittableRandom random = new SplittableRandom(31);
+
+	@Test
+	void aggregatesMatchAStreamRecomputation() {
+		EmployeeRepository repository = new EmployeeRepository();
+		repository.insertAll(List.of(employee(1), employee(2), employee(3)));
+		EmployeeRepository.View<Map<String, Long>> perDepartment = repository.register("perDepartment",
+				IncrementalAggregates.countBy(Employee::getDepartment));
+		EmployeeRepository.View<Map<String, Long>> highEarners = repository.register("highEarners",
+				IncrementalAggregates.countBy(employee -> employee.getSalary() > 0, Employee::getDepartment));
+		EmployeeRepository.View<Map<String, Long>> perSkill = repository.register("perSkill",
+				IncrementalAggregates.countEach(Employee::getSkills));
+		EmployeeRepository.View<Map<String, Integer>> maxSalary = repository.register("maxSalary",
+				IncrementalAggregates.maxBy(Employee::getDepartment, Employee::getSalary));
+		EmployeeRepository.View<Map<String, IntSummaryStatistics>> salaries = repository.register("salaries",
+				IncrementalAggregates.summarizingBy(Employee::getDepartment, Employee::getSalary));
+
+		for (int step = 0; step < 3000; step++) {
+			int id = random.nextInt(60);
+			int operation = random.nextInt(3);
+			boolean present = repository.findById(id).isPresent();
+			if (operation == 0 && !present) {
+				repository.insert(employee(id));
+			} else if (operation == 1 && present) {
+				Employee previous = repository.findById(id).orElseThrow();
+				assertThat(repository.update(employee(id))).isSameAs(previous);
+			} else if (operation == 2) {
+				assertThat(repository.delete(id).isPresent()).isEqualTo(present);
+			}
+			if (step % 10 == 0) {
+				// read some snapshots between changes too, so that the cached ones are checked for staleness
+				perDepartment.get();
+				salaries.get();
+			}
+
+			List<Employee> employees = repository.stream().toList();
+			assertThat(perDepartment.get()).isEqualTo(employees.stream()
+					.collect(groupingBy(Employee::getDepartment, counting())));
+			assertThat(highEarners.get()).isEqualTo(employees.stream()
+					.collect(filtering(employee -> employee.getSalary() > 0, groupingBy(Employee::getDepartment, counting()))));
+			assertThat(perSkill.get()).isEqualTo(employees.stream()
+					.flatMap(employee -> employee.getSkills().stream())
+					.collect(groupingBy(Function.identity(), counting())));
+			assertThat(maxSalary.get()).isEqualTo(employees.stream()
+					.collect(groupingBy(Employee::getDepartment,
+							collectingAndThen(mapping(Employee::getSalary, maxBy(Comparator.naturalOrder())), Optional::get))));
+			assertThat(asText(salaries.get())).isEqualTo(asText(employees.stream()
+					.collect(groupingBy(Employee::getDepartment, summarizingInt(Employee::getSalary)))));
+		}
+	}
+
+	@Test
+	void aChangeAnAggregateRejectsIsRolledBack() {
+		EmployeeRepository repository = new EmployeeRepository();
+		Employee first = employee(1);
+		repository.insert(first);
+		EmployeeRepository.View<Map<String, Long>> perDepartment = repository.register("perDepartment",
+				IncrementalAggregates.countBy(Employee::getDepartment));
+		EmployeeRepository.View<Map<String, IntSummaryStatistics>> salaries = repository.register("salaries",
+				IncrementalAggregates.summarizingBy(Employee::getDepartment, Employee::getSalary));
+		repository.register("rejectsRejected", new IncrementalAggregate<Employee, Void>() {
+			@Override
+			public void add(Employee element) {
+				if (element.getName().equals("Rejected")) {
+					throw new IllegalArgumentException("rejected");
+				}
+			}
+
+			@Override
+			public void remove(Employee element) {
+				if (element.getName().equals("Rejected on removal")) {
+					throw new IllegalArgumentException("rejected on removal");
+				}
+			}
+
+			@Override
+			public Void snapshot() {
+				return null;
+			}
+		});
+		Map<String, Long> counts = perDepartment.get();
+		String statistics = asText(salaries.get());
+		Employee rejected = new Employee("Rejected", 2, 10, "HR", "Clerk", 1, "Full-time", List.of());
+
+		assertThatThrownBy(() -> repository.insert(rejected)).hasMessage("rejected");
+		assertThatThrownBy(() -> repository.update(new Employee("Rejected", 1, 10, "HR", "Clerk", 1, "Full-time", List.of())))
+				.hasMessage("rejected");
+
+		assertThat(repository.size()).isEqualTo(1);
+		assertThat(repository.findById(1)).containsSame(first);
+		assertThat(perDepartment.get()).isEqualTo(counts);
+		assertThat(asText(salaries.get())).isEqualTo(statistics);
+
+		Employee removable = new Employee("Rejected on removal", 3, 10, "HR", "Clerk", 1, "Full-time", List.of());
+		repository.insert(removable);
+		counts = perDepartment.get();
+		statistics = asText(salaries.get());
+
+		assertThatThrownBy(() -> repository.delete(3)).hasMessage("rejected on removal");
+
+		assertThat(repository.findById(3)).containsSame(removable);
+		assertThat(perDepartment.get()).isEqualTo(counts);
+		assertThat(asText(salaries.get())).isEqualTo(statistics);
+	}
+
+	@Test
+	void duplicateIdsAndMissingEmployeesAreRejected() {
+		EmployeeRepository repository = new EmployeeRepository();
+		repository.insert(employee(1));
+
+		assertThatThrownBy(() -> repository.insert(employee(1))).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> repository.update(employee(2))).isInstanceOf(IllegalStateException.class);
+		assertThat(repository.delete(2)).isEmpty();
+		assertThat(repository.size()).isEqualTo(1);
+	}
+
+	/** Salaries include the int extremes, so that the multisets' min and max are checked at the boundaries. */
+	private Employee employee(int id) {
+		int salary = switch (random.nextInt(10)) {
+			case 0 -> Integer.MIN_VALUE;
+			case 1 -> Integer.MAX_VALUE;
+			default -> random.nextInt(-5, 6) * 1000;
+		};
+		List<String> skills = random.ints(random.nextInt(4), 0, SKILLS.size()).mapToObj(SKILLS::get).toList();
+		return new Employee("Employee " + id, id, salary, DEPARTMENTS.get(random.nextInt(DEPARTMENTS.size())),
+				"Engineer", random.nextInt(20), "Full-time", skills);
+	}
+
+	/** IntSummaryStatistics has no equals. */
+	private static String asText(Map<String, IntSummaryStatistics> statistics) {
+		return new TreeMap<>(statistics).toString();
+	}
+}
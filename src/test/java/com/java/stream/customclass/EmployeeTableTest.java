@@ -0,0 +1,104 @@
+package com.java.stream.customclass;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.maxBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Column queries against the same query over the Employee list, sequential and parallel, on a table grown
+ * from the smallest capacity. Salaries include the int extremes, and one department only has
+ * Integer.MIN_VALUE salaries.
+ */
+class EmployeeTableTest {
+
+	private static final List<String> DEPARTMENTS = List.of("IT", "HR", "Sales", "R&D");
+
+	private final SplittableRandom random = new SplittableRandom(3);
+
+	@Test
+	void rowsRoundTripAfterGrowth() {
+		List<Employee> employees = employees(1_000);
+		EmployeeTable table = new EmployeeTable(1);
+		for (int i = 0; i < employees.size(); i++) {
+			assertThat(table.add(employees.get(i))).isEqualTo(i);
+		}
+
+		assertThat(table.size()).isEqualTo(employees.size());
+		assertThat(table.employees().toList()).isEqualTo(employees);
+		assertThat(table.salaries().toArray()).isEqualTo(employees.stream().mapToInt(Employee::getSalary).toArray());
+		assertThat(table.yearsOfExperience().toArray())
+				.isEqualTo(employees.stream().mapToInt(Employee::getYearsOfExperience).toArray());
+		assertThat(table.department(7)).isEqualTo(employees.get(7).getDepartment());
+		assertThat(table.departmentCode(table.department(7))).isEqualTo(table.departmentCode(7));
+		assertThat(table.departmentCode("Unknown")).isEqualTo(-1);
+		assertThatThrownBy(() -> table.salary(employees.size())).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> table.toEmployee(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void queriesMatchTheEmployeeList() {
+		for (int size : new int[] { 0, 1, 17, 5_000 }) {
+			List<Employee> employees = employees(size);
+			EmployeeTable table = EmployeeTable.of(employees);
+
+			for (boolean parallel : new boolean[] { false, true }) {
+				IntStream rows = parallel ? table.rows().parallel() : table.rows();
+				assertThat(table.countByDepartment(rows))
+						.isEqualTo(employees.stream().collect(groupingBy(Employee::getDepartment, counting())));
+			}
+			assertThat(table.maxSalaryByDepartment()).isEqualTo(employees.stream()
+					.collect(groupingBy(Employee::getDepartment,
+							collectingAndThen(mapping(Employee::getSalary, maxBy(Comparator.naturalOrder())), Optional::get))));
+			assertThat(table.rowsWithSalaryAbove(0).parallel().mapToObj(table::toEmployee).toList())
+					.isEqualTo(employees.stream().filter(employee -> employee.getSalary() > 0).toList());
+			assertThat(table.rowsWithSalaryAbove(Integer.MIN_VALUE).count())
+					.isEqualTo(employees.stream().filter(employee -> employee.getSalary() > Integer.MIN_VALUE).count());
+			assertThat(table.rowsInDepartment("HR").mapToObj(table::toEmployee).toList())
+					.isEqualTo(employees.stream().filter(employee -> employee.getDepartment().equals("HR")).toList());
+			assertThat(table.rowsInDepartment("Unknown").count()).isZero();
+			// IntSummaryStatistics has no equals
+			assertThat(table.salaryStatistics())
+					.hasToString(employees.stream().mapToInt(Employee::getSalary).summaryStatistics().toString());
+		}
+	}
+
+	@Test
+	void aDepartmentWhoseMaximumIsMinValueIsNotDropped() {
+		EmployeeTable table = EmployeeTable.of(List.of(
+				new Employee("A", 1, Integer.MIN_VALUE, "Interns", "Intern", 0, "Part-time", List.of()),
+				new Employee("B", 2, 10, "IT", "Engineer", 3, "Full-time", List.of()),
+				new Employee("C", 3, Integer.MIN_VALUE, "Interns", "Intern", 0, "Part-time", List.of())));
+
+		assertThat(table.maxSalaryByDepartment()).containsExactly(
+				Map.entry("Interns", Integer.MIN_VALUE), Map.entry("IT", 10));
+	}
+
+	private List<Employee> employees(int count) {
+		return IntStream.range(0, count).mapToObj(id -> {
+			String department = DEPARTMENTS.get(random.nextInt(DEPARTMENTS.size()));
+			int salary = switch (random.nextInt(10)) {
+				case 0 -> Integer.MIN_VALUE;
+				case 1 -> Integer.MAX_VALUE;
+				default -> random.nextInt(-5, 6) * 1000;
+			};
+			if (department.equals("R&D")) {
+				salary = Integer.MIN_VALUE;
+			}
+			return new Employee("Employee " + id, id, salary, department, "Engineer", random.nextInt(20), "Full-time",
+					List.of("Java"));
+		}).toList();
+	}
+}
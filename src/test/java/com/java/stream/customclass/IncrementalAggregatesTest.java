@@ -0,0 +1,56 @@
+package com.java.stream.customclass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class IncrementalAggregatesTest {
+
+	@Test
+	void maxAndMinFollowRemovalsOfDuplicateValues() {
+		IncrementalAggregate<int[], Map<Integer, Integer>> max = IncrementalAggregates.maxBy(pair -> pair[0], pair -> pair[1]);
+		IncrementalAggregate<int[], Map<Integer, IntSummaryStatistics>> statistics =
+				IncrementalAggregates.summarizingBy(pair -> pair[0], pair -> pair[1]);
+		List<int[]> pairs = List.of(new int[] { 1, 5 }, new int[] { 1, 9 }, new int[] { 1, 9 }, new int[] { 1, -3 });
+		pairs.forEach(max::add);
+		pairs.forEach(statistics::add);
+
+		max.remove(new int[] { 1, 9 });
+		statistics.remove(new int[] { 1, 9 });
+		assertThat(max.snapshot()).containsExactly(Map.entry(1, 9));
+		assertThat(statistics.snapshot().get(1)).hasToString(new IntSummaryStatistics(3, -3, 9, 11).toString());
+
+		max.remove(new int[] { 1, 9 });
+		statistics.remove(new int[] { 1, -3 });
+		assertThat(max.snapshot()).containsExactly(Map.entry(1, 5));
+		assertThat(statistics.snapshot().get(1)).hasToString(new IntSummaryStatistics(2, 5, 9, 14).toString());
+
+		max.remove(new int[] { 1, 5 });
+		max.remove(new int[] { 1, -3 });
+		assertThat(max.snapshot()).isEmpty();
+	}
+
+	@Test
+	void rejectedChangesLeaveTheAggregateUnchanged() {
+		IncrementalAggregate<List<String>, Map<String, Long>> counts = IncrementalAggregates.countEach(Function.identity());
+		IncrementalAggregate<int[], Map<Integer, Integer>> max = IncrementalAggregates.maxBy(pair -> pair[0], pair -> pair[1]);
+		counts.add(List.of("Java", "SQL", "Java"));
+		max.add(new int[] { 1, 5 });
+
+		assertThatThrownBy(() -> counts.add(Arrays.asList("Go", null))).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> counts.remove(List.of("Java", "Go"))).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> counts.remove(List.of("SQL", "SQL"))).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> max.remove(new int[] { 1, 6 })).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> max.remove(new int[] { 2, 5 })).isInstanceOf(IllegalStateException.class);
+
+		assertThat(counts.snapshot()).isEqualTo(Map.of("Java", 2L, "SQL", 1L));
+		assertThat(max.snapshot()).isEqualTo(Map.of(1, 5));
+	}
+}
@@ -0,0 +1,115 @@
+package com.java.stream.customclass;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Index lookups against the equivalent filter over the list, with duplicate salaries, the int extremes as
+ * salaries and thresholds, and employees listing a skill twice.
+ */
+class IndexedEmployeesTest {
+
+	private static final List<String> SKILLS = List.of("Java", "SQL", "Excel", "Go", "Rust");
+	private static final int[] EXTREMES = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1,
+			Integer.MAX_VALUE};
+
+	private final SplittableRandom random = new SplittableRandom(15);
+	private final List<Employee> employees = IntStream.range(0, 2_000).mapToObj(this::employee).toList();
+	private final IndexedEmployees indexed = IndexedEmployees.of(employees);
+
+	@Test
+	void salaryRangesMatchAFilterSortedBySalary() {
+		for (int i = 0; i < 300; i++) {
+			int min = bound();
+			int max = random.nextInt(4) == 0 ? min : bound();
+
+			assertThat(indexed.withSalaryBetween(min, max).toList())
+					.isEqualTo(bySalary(employee -> employee.getSalary() >= min && employee.getSalary() <= max));
+		}
+		for (int threshold : EXTREMES) {
+			assertAbove(threshold);
+		}
+		for (int i = 0; i < 100; i++) {
+			assertAbove(bound());
+		}
+	}
+
+	@Test
+	void experienceRangesMatchAFilter() {
+		for (int min = -1; min <= 31; min += 4) {
+			for (int max = min - 1; max <= 32; max += 5) {
+				int from = min;
+				int to = max;
+				assertThat(indexed.withExperienceBetween(from, to).toList()).isEqualTo(employees.stream()
+						.filter(employee -> employee.getYearsOfExperience() >= from && employee.getYearsOfExperience() <= to)
+						.sorted(Comparator.comparingInt(Employee::getYearsOfExperience))
+						.toList());
+			}
+		}
+	}
+
+	@Test
+	void hashLookupsKeepTheListOrder() {
+		for (String department : List.of("IT", "HR", "Sales", "Nowhere")) {
+			assertThat(indexed.withDepartment(department).toList())
+					.isEqualTo(employees.stream().filter(employee -> employee.getDepartment().equals(department)).toList());
+		}
+		assertThat(indexed.withEmploymentType("Part-time").toList())
+				.isEqualTo(employees.stream().filter(employee -> employee.getEmploymentType().equals("Part-time")).toList());
+		assertThat(indexed.withJobTitle("Engineer").parallel().toList())
+				.isEqualTo(employees.stream().filter(employee -> employee.getJobTitle().equals("Engineer")).toList());
+		assertThat(indexed.departments()).containsExactlyInAnyOrder("IT", "HR", "Sales");
+	}
+
+	@Test
+	void skillIndexListsAnEmployeeOncePerSkill() {
+		assertThat(employees).as("some employee lists a skill twice")
+				.anySatisfy(employee -> assertThat(employee.getSkills().stream().distinct().count())
+						.isLessThan(employee.getSkills().size()));
+
+		for (String skill : SKILLS) {
+			assertThat(indexed.withSkill(skill).toList())
+					.isEqualTo(employees.stream().filter(employee -> employee.getSkills().contains(skill)).toList());
+		}
+		assertThat(indexed.withSkill("Cobol")).isEmpty();
+		Map<String, List<Employee>> expected = employees.stream()
+				.flatMap(employee -> employee.getSkills().stream().distinct().map(skill -> Map.entry(skill, employee)))
+				.collect(groupingBy(Map.Entry::getKey, mapping(Map.Entry::getValue, toList())));
+		assertThat(indexed.employeesBySkill()).isEqualTo(expected);
+	}
+
+	private void assertAbove(int threshold) {
+		List<Employee> expected = bySalary(employee -> employee.getSalary() > threshold);
+
+		assertThat(indexed.withSalaryAbove(threshold).toList()).as("above " + threshold).isEqualTo(expected);
+		assertThat(indexed.countWithSalaryAbove(threshold)).as("count above " + threshold).isEqualTo(expected.size());
+	}
+
+	private List<Employee> bySalary(Predicate<Employee> filter) {
+		return employees.stream().filter(filter).sorted(Comparator.comparingInt(Employee::getSalary)).toList();
+	}
+
+	/** A range bound: mostly near the salaries, sometimes an extreme. */
+	private int bound() {
+		return random.nextInt(5) == 0 ? EXTREMES[random.nextInt(EXTREMES.length)] : random.nextInt(-10, 60) * 1000;
+	}
+
+	private Employee employee(int id) {
+		int salary = random.nextInt(8) == 0 ? EXTREMES[random.nextInt(EXTREMES.length)] : random.nextInt(50) * 1000;
+		List<String> skills = random.ints(random.nextInt(4), 0, SKILLS.size()).mapToObj(SKILLS::get).toList();
+		return new Employee("Employee " + id, id, salary, List.of("IT", "HR", "Sales").get(random.nextInt(3)),
+				random.nextBoolean() ? "Engineer" : "Manager", random.nextInt(31),
+				random.nextBoolean() ? "Full-time" : "Part-time", skills);
+	}
+}
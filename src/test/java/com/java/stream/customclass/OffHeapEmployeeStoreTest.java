@@ -0,0 +1,101 @@
+package com.java.stream.customclass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.java.stream.customclass.OffHeapEmployeeStore.EmployeeView;
+
+class OffHeapEmployeeStoreTest {
+
+	/** More rows than one slot page (65,536) and more name and skill bytes than one 4 MB arena page. */
+	private static final List<Employee> EMPLOYEES = IntStream.range(0, 150_000).mapToObj(OffHeapEmployeeStoreTest::employee).toList();
+	private static final OffHeapEmployeeStore STORE = OffHeapEmployeeStore.of(EMPLOYEES);
+
+	@Test
+	void rowsMaterializeToTheAddedEmployees() {
+		assertThat(STORE.size()).isEqualTo(EMPLOYEES.size());
+		assertThat(STORE.employees().toList()).isEqualTo(EMPLOYEES);
+		for (int row : new int[] {0, 1, 65_535, 65_536, 149_999}) {
+			assertThat(STORE.view(row).toEmployee()).isEqualTo(EMPLOYEES.get(row));
+			assertThat(STORE.view(row).row()).isEqualTo(row);
+		}
+		assertThat(STORE.offHeapBytes()).isGreaterThan(2L * 65_536 * 40 + (4L << 20));
+	}
+
+	@Test
+	void parallelQueriesMatchTheEmployeeList() {
+		assertThat(STORE.stream().parallel().mapToLong(EmployeeView::salary).sum())
+				.isEqualTo(EMPLOYEES.stream().mapToLong(Employee::getSalary).sum());
+		assertThat(STORE.employees().parallel().toList()).isEqualTo(EMPLOYEES);
+
+		int it = STORE.departmentCode("IT");
+		assertThat(STORE.stream().parallel().filter(view -> view.departmentCode() == it).count())
+				.isEqualTo(EMPLOYEES.stream().filter(employee -> employee.getDepartment().equals("IT")).count());
+		assertThat(STORE.stream().parallel().collect(Collectors.groupingBy(EmployeeView::department, Collectors.counting())))
+				.isEqualTo(EMPLOYEES.stream().collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
+	}
+
+	@Test
+	void hasSkillMatchesTheSkillList() {
+		for (String skill : List.of("Java", "Go", "Skill3", "Unknown")) {
+			assertThat(STORE.stream().parallel().filter(view -> view.hasSkill(skill)).count())
+					.isEqualTo(EMPLOYEES.stream().filter(employee -> employee.getSkills().contains(skill)).count());
+		}
+		assertThat(STORE.view(0).skillCount()).isZero();
+		assertThat(STORE.view(0).hasSkill("Java")).isFalse();
+	}
+
+	@Test
+	void viewsMoveWithoutAllocatingNewViews() {
+		EmployeeView view = STORE.view(10);
+		assertThat(view.moveTo(20)).isSameAs(view);
+		assertThat(view.id()).isEqualTo(EMPLOYEES.get(20).getId());
+		assertThat(view.name()).isEqualTo(EMPLOYEES.get(20).getName());
+		assertThat(view.yearsOfExperience()).isEqualTo(EMPLOYEES.get(20).getYearsOfExperience());
+		assertThat(view.jobTitle()).isEqualTo(EMPLOYEES.get(20).getJobTitle());
+		assertThat(view.employmentType()).isEqualTo(EMPLOYEES.get(20).getEmploymentType());
+	}
+
+	@Test
+	void rowsOutsideTheStoreAreRejected() {
+		assertThatThrownBy(() -> STORE.view(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> STORE.view(STORE.size())).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThat(STORE.departmentCode("Nowhere")).isEqualTo(-1);
+
+		OffHeapEmployeeStore empty = OffHeapEmployeeStore.of(List.of());
+		assertThat(empty.stream()).isEmpty();
+		assertThat(empty.offHeapBytes()).isZero();
+		assertThatThrownBy(() -> empty.view(0)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void addReturnsTheRowIndex() {
+		OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+		assertThat(store.add(EMPLOYEES.get(3))).isZero();
+		assertThat(store.add(EMPLOYEES.get(4))).isEqualTo(1);
+		assertThat(store.view(1).toEmployee()).isEqualTo(EMPLOYEES.get(4));
+		assertThat(store.size()).isEqualTo(2);
+	}
+
+	private static Employee employee(int i) {
+		String name = switch (i % 3) {
+			case 0 -> "Employee number " + i;
+			case 1 -> "Jürgen Müller-Lüdenscheidt " + i;
+			default -> "Zoë 😀 " + i;
+		};
+		List<String> skills = switch (i % 4) {
+			case 0 -> List.of();
+			case 1 -> List.of("Java");
+			case 2 -> List.of("Java", "Go", "Skill" + i % 7);
+			default -> List.of("Skill" + i % 7, "Python", "SQL", "Kotlin");
+		};
+		return new Employee(name, i, 30_000 + i % 90_000, List.of("IT", "HR", "Finance", "Sales").get(i % 4),
+				"Title " + i % 9, i % 40, i % 2 == 0 ? "Full-time" : "Contract", skills);
+	}
+}
@@ -0,0 +1,37 @@
+package com.java.stream.customclass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+	@Test
+	void codesAreAssignedInInsertionOrder() {
+		StringDictionary dictionary = new StringDictionary();
+
+		assertThat(List.of("IT", "HR", "IT", "Sales", "HR", "").stream().mapToInt(dictionary::encode).toArray())
+				.containsExactly(0, 1, 0, 2, 1, 3);
+		assertThat(dictionary.size()).isEqualTo(4);
+		assertThat(dictionary.decode(2)).isEqualTo("Sales");
+		assertThat(dictionary.decode(3)).isEmpty();
+		assertThat(dictionary.codeOf("HR")).isEqualTo(1);
+		assertThat(dictionary.codeOf("R&D")).isEqualTo(-1);
+		assertThat(dictionary.size()).as("codeOf does not assign codes").isEqualTo(4);
+		assertThatThrownBy(() -> dictionary.decode(4)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void nullIsAValueLikeAnyOther() {
+		StringDictionary dictionary = new StringDictionary();
+		dictionary.encode("IT");
+
+		assertThat(dictionary.codeOf(null)).isEqualTo(-1);
+		assertThat(dictionary.encode(null)).isEqualTo(1);
+		assertThat(dictionary.encode(null)).isEqualTo(1);
+		assertThat(dictionary.decode(1)).isNull();
+	}
+}
@@ -0,0 +1,25 @@
+package com.java.stream.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelSplitsTest {
+
+	@Test
+	void countFollowsThePoolRunningTheCaller() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			assertThat(pool.submit(() -> ParallelSplits.count(Integer.MAX_VALUE)).get())
+					.isEqualTo(3 * ParallelSplits.PIECES_PER_WORKER);
+			assertThat(pool.submit(() -> ParallelSplits.count(5)).get()).isEqualTo(5);
+			assertThat(pool.submit(() -> ParallelSplits.count(0)).get()).isEqualTo(1);
+		} finally {
+			pool.shutdown();
+		}
+		assertThat(ParallelSplits.count(Integer.MAX_VALUE))
+				.isEqualTo(ForkJoinPool.getCommonPoolParallelism() * ParallelSplits.PIECES_PER_WORKER);
+	}
+}
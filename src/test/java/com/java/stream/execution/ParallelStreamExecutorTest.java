@@ -0,0 +1,58 @@
+package com.java.stream.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelStreamExecutorTest {
+
+	private final ParallelStreamExecutor executor = new ParallelStreamExecutor(
+			Map.of("analytics", new PoolSettings(2, 4)), Duration.ofSeconds(5));
+
+	@AfterEach
+	void close() {
+		executor.close();
+	}
+
+	@Test
+	void runsThePipelineOnTheNamedPool() {
+		List<String> threads = executor.invoke("analytics", () -> IntStream.range(0, 10_000).parallel()
+				.mapToObj(i -> Thread.currentThread().getName())
+				.distinct()
+				.toList());
+
+		assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("stream-analytics-"));
+	}
+
+	@Test
+	void rethrowsTheSameExceptionInstance() {
+		IllegalStateException failure = new IllegalStateException("boom");
+
+		assertThatThrownBy(() -> executor.invoke("analytics", () -> IntStream.range(0, 10_000).parallel()
+				.map(i -> {
+					if (i == 5_000) {
+						throw failure;
+					}
+					return i;
+				})
+				.sum()))
+				.isSameAs(failure);
+		assertThatThrownBy(() -> executor.run("analytics", () -> {
+			throw failure;
+		})).isSameAs(failure);
+	}
+
+	@Test
+	void rejectsUnknownPools() {
+		assertThatThrownBy(() -> executor.invoke("missing", () -> 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("missing");
+	}
+}
@@ -0,0 +1,154 @@
+package com.java.stream.fusion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compiled queries against the same pipeline on IntStream/LongStream/DoubleStream, on empty, single-element
+ * and larger arrays including the extreme values, NaN and -0.0. Doubles are otherwise whole numbers, so sums
+ * are exact in any order.
+ */
+class FusedPipelineTest {
+
+	private static final int[] LENGTHS = { 0, 1, 2, 7, 1000 };
+
+	private final SplittableRandom random = new SplittableRandom(23);
+
+	@Test
+	void intQueriesMatchIntStream() {
+		FusedPipeline.OfInt<int[]> evens = FusedPipeline.ints().filter(n -> n % 2 == 0);
+		FusedPipeline.OfInt<int[]> doubledEvens = evens.map(n -> n * 2);
+		ToIntFunction<int[]> sum = doubledEvens.sum();
+		ToIntFunction<int[]> max = FusedPipeline.ints().map(n -> n ^ 1).reduce(Integer.MIN_VALUE, Math::max);
+		ToLongFunction<int[]> count = evens.count();
+		Function<int[], int[]> toArray = doubledEvens.filter(n -> n > 0).toArray();
+		ToLongFunction<int[]> widenedSum = FusedPipeline.ints().mapToLong(n -> n).sum();
+		ToDoubleFunction<int[]> halves = FusedPipeline.ints().mapToDouble(n -> n / 2.0).filter(d -> d < 0).sum();
+
+		for (int length : LENGTHS) {
+			int[] array = withExtremes(random.ints(length).toArray());
+
+			assertThat(sum.applyAsInt(array))
+					.isEqualTo(Arrays.stream(array).filter(n -> n % 2 == 0).map(n -> n * 2).sum());
+			assertThat(max.applyAsInt(array))
+					.isEqualTo(Arrays.stream(array).map(n -> n ^ 1).reduce(Integer.MIN_VALUE, Math::max));
+			assertThat(count.applyAsLong(array)).isEqualTo(Arrays.stream(array).filter(n -> n % 2 == 0).count());
+			assertThat(toArray.apply(array))
+					.isEqualTo(Arrays.stream(array).filter(n -> n % 2 == 0).map(n -> n * 2).filter(n -> n > 0).toArray());
+			assertThat(widenedSum.applyAsLong(array)).isEqualTo(Arrays.stream(array).asLongStream().sum());
+			assertThat(halves.applyAsDouble(array))
+					.isEqualTo(Arrays.stream(array).mapToDouble(n -> n / 2.0).filter(d -> d < 0).sum());
+		}
+	}
+
+	@Test
+	void longQueriesMatchLongStream() {
+		FusedPipeline.OfLong<long[]> odds = FusedPipeline.longs().filter(n -> (n & 1) != 0);
+		ToLongFunction<long[]> sum = odds.map(n -> n * 3).sum();
+		ToLongFunction<long[]> min = FusedPipeline.longs().reduce(Long.MAX_VALUE, Math::min);
+		ToLongFunction<long[]> count = odds.count();
+		Function<long[], long[]> toArray = odds.map(n -> n >> 1).toArray();
+		ToIntFunction<long[]> narrowed = FusedPipeline.longs().mapToInt(n -> (int) (n >>> 40)).sum();
+		ToDoubleFunction<long[]> scaled = odds.mapToDouble(n -> n % 1000).sum();
+
+		for (int length : LENGTHS) {
+			long[] array = withExtremes(random.longs(length).toArray());
+
+			assertThat(sum.applyAsLong(array))
+					.isEqualTo(Arrays.stream(array).filter(n -> (n & 1) != 0).map(n -> n * 3).sum());
+			assertThat(min.applyAsLong(array)).isEqualTo(Arrays.stream(array).reduce(Long.MAX_VALUE, Math::min));
+			assertThat(count.applyAsLong(array)).isEqualTo(Arrays.stream(array).filter(n -> (n & 1) != 0).count());
+			assertThat(toArray.apply(array))
+					.isEqualTo(Arrays.stream(array).filter(n -> (n & 1) != 0).map(n -> n >> 1).toArray());
+			assertThat(narrowed.applyAsInt(array))
+					.isEqualTo(Arrays.stream(array).mapToInt(n -> (int) (n >>> 40)).sum());
+			assertThat(scaled.applyAsDouble(array))
+					.isEqualTo(Arrays.stream(array).filter(n -> (n & 1) != 0).mapToDouble(n -> n % 1000).sum());
+		}
+	}
+
+	@Test
+	void doubleQueriesMatchDoubleStream() {
+		FusedPipeline.OfDouble<double[]> positives = FusedPipeline.doubles().filter(d -> d > 0);
+		ToDoubleFunction<double[]> sum = positives.map(d -> d * 2).sum();
+		ToDoubleFunction<double[]> max = FusedPipeline.doubles().reduce(Double.NEGATIVE_INFINITY, Math::max);
+		ToLongFunction<double[]> count = positives.count();
+		Function<double[], double[]> toArray = FusedPipeline.doubles().map(d -> -d).toArray();
+		ToIntFunction<double[]> truncated = FusedPipeline.doubles().mapToInt(d -> (int) d).sum();
+		ToLongFunction<double[]> rounded = positives.mapToLong(Math::round).sum();
+
+		for (int length : LENGTHS) {
+			double[] array = random.ints(length, -1_000_000, 1_000_000).asDoubleStream().toArray();
+			if (length > 1) {
+				array[0] = Double.NaN;
+				array[length - 1] = -0.0;
+			}
+
+			assertThat(sum.applyAsDouble(array))
+					.isEqualTo(Arrays.stream(array).filter(d -> d > 0).map(d -> d * 2).sum());
+			assertThat(Double.doubleToLongBits(max.applyAsDouble(array)))
+					.isEqualTo(Double.doubleToLongBits(Arrays.stream(array).reduce(Double.NEGATIVE_INFINITY, Math::max)));
+			assertThat(count.applyAsLong(array)).isEqualTo(Arrays.stream(array).filter(d -> d > 0).count());
+			assertThat(toArray.apply(array)).isEqualTo(Arrays.stream(array).map(d -> -d).toArray());
+			assertThat(truncated.applyAsInt(array)).isEqualTo(Arrays.stream(array).mapToInt(d -> (int) d).sum());
+			assertThat(rounded.applyAsLong(array))
+					.isEqualTo(Arrays.stream(array).filter(d -> d > 0).mapToLong(Math::round).sum());
+		}
+	}
+
+	@Test
+	void filtersSelectingNothingOrEverything() {
+		int[] array = random.ints(100).toArray();
+
+		assertThat(FusedPipeline.ints().filter(n -> false).count().applyAsLong(array)).isZero();
+		assertThat(FusedPipeline.ints().filter(n -> false).toArray().apply(array)).isEmpty();
+		assertThat(FusedPipeline.ints().filter(n -> true).toArray().apply(array)).isEqualTo(array);
+		assertThat(FusedPipeline.ints().filter(n -> true).filter(n -> true).count().applyAsLong(array)).isEqualTo(100);
+	}
+
+	@Test
+	void eachCompiledQueryHasItsOwnHiddenClass() {
+		FusedPipeline.OfInt<int[]> pipeline = FusedPipeline.ints().map(n -> n + 1);
+		ToIntFunction<int[]> first = pipeline.sum();
+		ToIntFunction<int[]> second = pipeline.sum();
+
+		assertThat(first.getClass().isHidden()).isTrue();
+		assertThat(first.getClass()).isNotSameAs(second.getClass());
+		assertThat(first.applyAsInt(new int[] { 1, 2 })).isEqualTo(second.applyAsInt(new int[] { 1, 2 })).isEqualTo(5);
+	}
+
+	@Test
+	void exceptionsFromStagesAreRethrownUnchanged() {
+		ToIntFunction<int[]> query = FusedPipeline.ints().map(n -> 10 / n).sum();
+
+		assertThatThrownBy(() -> query.applyAsInt(new int[] { 1, 0 })).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> query.applyAsInt(null)).isInstanceOf(NullPointerException.class);
+	}
+
+	private static int[] withExtremes(int[] array) {
+		if (array.length > 2) {
+			array[0] = Integer.MIN_VALUE;
+			array[1] = Integer.MAX_VALUE;
+			array[2] = 0;
+		}
+		return array;
+	}
+
+	private static long[] withExtremes(long[] array) {
+		if (array.length > 2) {
+			array[0] = Long.MIN_VALUE;
+			array[1] = Long.MAX_VALUE;
+			array[2] = 0;
+		}
+		return array;
+	}
+}
@@ -0,0 +1,135 @@
+package com.java.stream.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BatchedOutputSinkTest {
+
+	private static final String SEPARATOR = System.lineSeparator();
+
+	@Test
+	void writeOrderedKeepsTheEncounterOrder() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (BatchedOutputSink<Integer> sink = new BatchedOutputSink<>(Channels.newChannel(output), true,
+				i -> "line " + i, 100)) {
+			sink.writeOrdered(IntStream.range(0, 100_000).boxed().parallel());
+			sink.writeOrdered(IntStream.range(100_000, 100_010).boxed());
+		}
+
+		String expected = IntStream.range(0, 100_010).mapToObj(i -> "line " + i + SEPARATOR).collect(Collectors.joining());
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+	}
+
+	@Test
+	void acceptWritesEveryElement() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (BatchedOutputSink<Integer> sink = new BatchedOutputSink<>(Channels.newChannel(output), true,
+				String::valueOf, 64)) {
+			IntStream.range(0, 50_000).boxed().parallel().forEach(sink);
+		}
+
+		List<Integer> lines = Arrays.stream(output.toString(StandardCharsets.UTF_8).split(SEPARATOR))
+				.map(Integer::valueOf)
+				.sorted()
+				.toList();
+		assertThat(lines).isEqualTo(IntStream.range(0, 50_000).boxed().toList());
+	}
+
+	@Test
+	void orderedPartsWaitForASlowOutput() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger formatted = new AtomicInteger();
+		WritableByteChannel blockedChannel = new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer source) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				int written = source.remaining();
+				source.position(source.limit());
+				return written;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		try (BatchedOutputSink<Integer> sink = new BatchedOutputSink<>(blockedChannel, false, i -> {
+			formatted.incrementAndGet();
+			return "x";
+		}, 1)) {
+			// From a virtual thread, which must not pin its carrier while it waits for the parts
+			Thread producer = Thread.ofVirtual()
+					.start(() -> sink.writeOrdered(IntStream.range(0, 200_000).boxed().parallel()));
+			int last;
+			do {
+				last = formatted.get();
+				Thread.sleep(200);
+			} while (formatted.get() != last);
+
+			// Each element is a block: a few per part, the writer queue and the one being written
+			int parts = ForkJoinPool.getCommonPoolParallelism() * 4;
+			assertThat(formatted.get()).isLessThan(parts * 8 + 100);
+			release.countDown();
+			producer.join(TimeUnit.SECONDS.toMillis(30));
+		}
+		assertThat(formatted.get()).isEqualTo(200_000);
+	}
+
+	@Test
+	void formatterFailureIsRethrown() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (BatchedOutputSink<Integer> sink = new BatchedOutputSink<>(Channels.newChannel(output), true, i -> {
+			if (i == 54_321) {
+				throw new IllegalArgumentException("bad element");
+			}
+			return String.valueOf(i);
+		}, 128)) {
+			assertThatThrownBy(() -> sink.writeOrdered(IntStream.range(0, 100_000).boxed().parallel()))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("bad element");
+			sink.writeOrdered(IntStream.range(0, 3).boxed().parallel());
+		}
+		assertThat(output.toString(StandardCharsets.UTF_8)).endsWith("0" + SEPARATOR + "1" + SEPARATOR + "2" + SEPARATOR);
+	}
+
+	@Test
+	void cancellationFromTheFormatterIsRethrown() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (BatchedOutputSink<Integer> sink = new BatchedOutputSink<>(Channels.newChannel(output), true, i -> {
+			if (i == 77_777) {
+				throw new CancellationException("cancelled upstream");
+			}
+			return String.valueOf(i);
+		}, 128)) {
+			assertThatThrownBy(() -> sink.writeOrdered(IntStream.range(0, 100_000).boxed().parallel()))
+					.isInstanceOf(CancellationException.class)
+					.hasMessage("cancelled upstream");
+		}
+	}
+}
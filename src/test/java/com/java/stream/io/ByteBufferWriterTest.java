@@ -0,0 +1,74 @@
+package com.java.stream.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ByteBufferWriter output against the JDK's UTF-8 encoder, on buffers small enough that multi-byte characters
+ * and numbers keep crossing buffer boundaries.
+ */
+class ByteBufferWriterTest {
+
+	private static final String TEXT = "plain ascii, Jürgen Müller, 東京, Zoë 😀 and 🎉!";
+
+	@Test
+	void encodesTextAsUtf8() {
+		assertThat(written(out -> out.write(TEXT).write(TEXT).write('é'))).isEqualTo(TEXT + TEXT + "é");
+	}
+
+	@Test
+	void loneSurrogatesBecomeQuestionMarks() {
+		assertThat(written(out -> out.write("a\uD83Db").write("\uDE00").write('\uD83D'))).isEqualTo("a?b??");
+	}
+
+	@Test
+	void writesNumbers() {
+		assertThat(written(out -> out.write(0).write(',').write(-7).write(',').write(Long.MAX_VALUE).write(',')
+				.write(Long.MIN_VALUE).write(',').write(Integer.MIN_VALUE)))
+				.isEqualTo("0,-7," + Long.MAX_VALUE + "," + Long.MIN_VALUE + "," + Integer.MIN_VALUE);
+	}
+
+	@Test
+	void quotesCsvFieldsOnlyWhenNeeded() {
+		assertThat(written(out -> out.writeCsvField("plain").write(',').writeCsvField("a,b").write(',')
+				.writeCsvField("say \"hi\"").write(',').writeCsvField("").write(',').writeCsvField("Zoë 😀, x")))
+				.isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",,\"Zoë 😀, x\"");
+	}
+
+	@Test
+	void rejectsLineBreaksInCsvFields() {
+		assertThatThrownBy(() -> written(out -> out.writeCsvField("two\nlines"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> written(out -> out.writeCsvField("two\rlines"))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void escapesJsonStrings() {
+		assertThat(written(out -> out.writeJsonString("q\"b\\n\nr\rt\t\u0001 😀").write(',').writeJsonString(null)
+				.write(',').writeJsonStrings(List.of("a", "b\"")).write(',').writeJsonStrings(List.of())))
+				.isEqualTo("\"q\\\"b\\\\n\\nr\\rt\\t\\u0001 😀\",null,[\"a\",\"b\\\"\"],[]");
+	}
+
+	/**
+	 * Runs the writes on 24-byte buffers and returns everything written, decoded as UTF-8.
+	 */
+	private static String written(Consumer<ByteBufferWriter> writes) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ByteBufferWriter out = new ByteBufferWriter(full -> {
+			if (full != null) {
+				output.write(full.array(), 0, full.position());
+			}
+			return ByteBuffer.allocate(24);
+		});
+		writes.accept(out);
+		output.write(out.buffer().array(), 0, out.buffer().position());
+		return output.toString(StandardCharsets.UTF_8);
+	}
+}
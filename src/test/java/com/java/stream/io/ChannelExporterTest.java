@@ -0,0 +1,161 @@
+package com.java.stream.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.stream.customclass.Employee;
+import com.java.stream.customclass.EmployeeCsvLoader;
+
+class ChannelExporterTest {
+
+	@TempDir
+	Path directory;
+
+	/** Enough records for several 64 KB buffers per part of a parallel export. */
+	private static final List<Employee> EMPLOYEES = IntStream.range(0, 50_000).mapToObj(ChannelExporterTest::employee).toList();
+
+	@Test
+	void csvExportLoadsBackUnchanged() throws IOException {
+		Path sequential = directory.resolve("sequential.csv");
+		Path parallel = directory.resolve("parallel.csv");
+
+		long bytes = ChannelExporter.employeesCsv().export(EMPLOYEES.stream(), sequential);
+		ChannelExporter.employeesCsv().export(EMPLOYEES.parallelStream(), parallel);
+
+		assertThat(bytes).isEqualTo(Files.size(sequential));
+		assertThat(Files.readAllBytes(parallel)).isEqualTo(Files.readAllBytes(sequential));
+		assertThat(EmployeeCsvLoader.load(sequential)).isEqualTo(EMPLOYEES);
+	}
+
+	@Test
+	void ndjsonExportParsesBackToTheSameFields() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ChannelExporter.employeesNdjson().export(EMPLOYEES.parallelStream(), Channels.newChannel(output));
+
+		ObjectMapper mapper = new ObjectMapper();
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(EMPLOYEES.size());
+		for (int i = 0; i < lines.length; i += 997) {
+			JsonNode node = mapper.readTree(lines[i]);
+			Employee expected = EMPLOYEES.get(i);
+			List<String> skills = new ArrayList<>();
+			node.get("skills").forEach(skill -> skills.add(skill.asText()));
+			assertThat(new Employee(node.get("name").asText(), node.get("id").asInt(), node.get("salary").asInt(),
+					node.get("department").asText(), node.get("jobTitle").asText(), node.get("yearsOfExperience").asInt(),
+					node.get("employmentType").asText(), skills)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void entriesWriteIntegralValuesAsNumbers() throws IOException {
+		Map<String, Object> counts = new LinkedHashMap<>();
+		counts.put("IT", 3L);
+		counts.put("R&D, \"Labs\"", 2);
+		counts.put("HR", 1.5);
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		ChannelExporter.<String, Object>entriesCsv("department", "count").export(counts.entrySet().stream(),
+				Channels.newChannel(csv));
+		ChannelExporter.<String, Object>entriesNdjson("department", "count").export(counts.entrySet().stream(),
+				Channels.newChannel(ndjson));
+
+		assertThat(csv.toString(StandardCharsets.UTF_8))
+				.isEqualTo("department,count\nIT,3\n\"R&D, \"\"Labs\"\"\",2\nHR,1.5\n");
+		assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				{"department":"IT","count":3}
+				{"department":"R&D, \\"Labs\\"","count":2}
+				{"department":"HR","count":"1.5"}
+				""");
+	}
+
+	@Test
+	void csvFieldsWithLineBreaksAreRejected() {
+		List<Employee> employees = new ArrayList<>(EMPLOYEES);
+		employees.set(40_000, new Employee("Line\nBreak", 1, 1, "IT", "Engineer", 1, "Full-time", List.of()));
+
+		assertThatThrownBy(() -> ChannelExporter.employeesCsv().export(employees.parallelStream(), directory.resolve("x.csv")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("line break");
+		assertThatThrownBy(() -> ChannelExporter.employeesCsv().export(employees.stream(), directory.resolve("y.csv")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void channelFailureIsRethrown() {
+		WritableByteChannel failing = new WritableByteChannel() {
+			private int writes;
+
+			@Override
+			public int write(ByteBuffer source) throws IOException {
+				if (++writes > 3) {
+					throw new IOException("disk full");
+				}
+				int written = source.remaining();
+				source.position(source.limit());
+				return written;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		assertThatThrownBy(() -> ChannelExporter.employeesCsv().export(EMPLOYEES.parallelStream(), failing))
+				.isInstanceOf(IOException.class)
+				.hasMessage("disk full");
+	}
+
+	@Test
+	void cancellationFromTheStreamIsRethrown() {
+		Map<Integer, Integer> entries = new LinkedHashMap<>();
+		IntStream.range(0, 100_000).forEach(i -> entries.put(i, i));
+
+		assertThatThrownBy(() -> ChannelExporter.<Integer, Integer>entriesCsv("key", "value").export(
+				entries.entrySet().parallelStream().map(entry -> {
+					if (entry.getKey() == 77_777) {
+						throw new CancellationException("cancelled upstream");
+					}
+					return entry;
+				}), directory.resolve("cancelled.csv")))
+				.isInstanceOf(CancellationException.class)
+				.hasMessage("cancelled upstream");
+	}
+
+	private static Employee employee(int i) {
+		String name = switch (i % 4) {
+			case 0 -> "Employee " + i;
+			case 1 -> "Doe, \"J\" " + i;
+			case 2 -> "Jürgen Müller " + i;
+			default -> "Zoë 😀 " + i;
+		};
+		List<String> skills = i % 5 == 0 ? List.of() : List.of("Java", "Skill" + i % 11);
+		return new Employee(name, i - 100, 30_000 + i, "Dept" + i % 5, "Title, " + i % 8, i % 30,
+				i % 2 == 0 ? "Full-time" : "Part-time", skills);
+	}
+}
@@ -0,0 +1,69 @@
+package com.java.stream.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class DirectBufferPoolTest {
+
+	private final DirectBufferPool pool = new DirectBufferPool(1024, 2);
+
+	@Test
+	void overdrawnBuffersAreNotPooled() throws Exception {
+		ByteBuffer first = pool.acquire(() -> false, () -> false);
+		ByteBuffer second = pool.acquire(() -> false, () -> false);
+		ByteBuffer overdrawn = pool.acquire(() -> true, () -> false);
+		assertThat(overdrawn.isDirect()).isTrue();
+		pool.release(first);
+		pool.release(overdrawn);
+		pool.release(second);
+
+		// Only capacity buffers went back to the pool: the third caller has to wait
+		pool.acquire(() -> false, () -> false);
+		pool.acquire(() -> false, () -> false);
+		AtomicBoolean cancelled = new AtomicBoolean();
+		CompletableFuture<ByteBuffer> third = CompletableFuture.supplyAsync(() -> pool.acquire(() -> false, cancelled::get));
+		Thread.sleep(100);
+		assertThat(third).isNotDone();
+
+		cancelled.set(true);
+		pool.signalWaiters();
+		assertThatThrownBy(() -> third.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+	}
+
+	@Test
+	void releaseWakesAWaitingCaller() throws Exception {
+		ByteBuffer first = pool.acquire(() -> false, () -> false);
+		pool.acquire(() -> false, () -> false);
+		CompletableFuture<ByteBuffer> waiting = CompletableFuture.supplyAsync(() -> pool.acquire(() -> false, () -> false));
+		Thread.sleep(100);
+		assertThat(waiting).isNotDone();
+
+		first.put((byte) 1);
+		pool.release(first);
+		ByteBuffer reused = waiting.get(5, TimeUnit.SECONDS);
+		assertThat(reused).isSameAs(first);
+		assertThat(reused.position()).isZero();
+	}
+
+	@Test
+	void signalWaitersLetsACallerThatMayNowOverdrawContinue() throws Exception {
+		pool.acquire(() -> false, () -> false);
+		pool.acquire(() -> false, () -> false);
+		AtomicBoolean overdraw = new AtomicBoolean();
+		CompletableFuture<ByteBuffer> waiting = CompletableFuture.supplyAsync(() -> pool.acquire(overdraw::get, () -> false));
+		Thread.sleep(100);
+		assertThat(waiting).isNotDone();
+
+		overdraw.set(true);
+		pool.signalWaiters();
+		assertThat(waiting.get(5, TimeUnit.SECONDS).capacity()).isEqualTo(1024);
+	}
+}
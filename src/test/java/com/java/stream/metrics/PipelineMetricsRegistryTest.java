@@ -0,0 +1,79 @@
+package com.java.stream.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PipelineMetricsRegistryTest {
+
+	@Test
+	void bindsPipelinesAndStagesCreatedBeforeAndAfterBinding() {
+		PipelineMetricsRegistry pipelines = new PipelineMetricsRegistry(true, 1);
+		PipelineMetrics before = pipelines.pipeline("before");
+		before.stage("filter");
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+		pipelines.bindTo(registry);
+		PipelineMetrics after = pipelines.pipeline("after");
+		assertThat(pipelines.pipeline("after")).isSameAs(after);
+		after.measure(() -> List.of(1, 2, 3, 4).stream()
+				.filter(after.filter("even", n -> n % 2 == 0))
+				.count());
+
+		for (String pipeline : List.of("before", "after")) {
+			assertThat(registry.get("stream.pipeline.runs").tags("pipeline", pipeline).functionTimer()).isNotNull();
+			assertThat(registry.get("stream.pipeline.splits").tags("pipeline", pipeline).functionCounter()).isNotNull();
+			assertThat(registry.get("stream.pipeline.steals").tags("pipeline", pipeline).functionCounter()).isNotNull();
+		}
+		assertStageMeters(registry, "before", "filter");
+		assertStageMeters(registry, "after", "even");
+
+		FunctionTimer runs = registry.get("stream.pipeline.runs").tags("pipeline", "after").functionTimer();
+		assertThat(runs.count()).isEqualTo(1);
+		assertThat(runs.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(after.runNanos());
+		assertThat(stageCounter(registry, "stream.pipeline.stage.elements.in", "after", "even").count()).isEqualTo(4);
+		assertThat(stageCounter(registry, "stream.pipeline.stage.elements.out", "after", "even").count()).isEqualTo(2);
+		assertThat(registry.get("stream.pipeline.stage.selectivity").tags("pipeline", "after", "stage", "even").gauge().value())
+				.isEqualTo(0.5);
+		assertThat(registry.get("stream.pipeline.stage.sampled.time").tags("pipeline", "after", "stage", "even")
+				.functionTimer().count()).isEqualTo(4);
+	}
+
+	@Test
+	void disabledPipelinesRegisterNoMeters() {
+		PipelineMetricsRegistry pipelines = new PipelineMetricsRegistry(false, 64);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		pipelines.bindTo(registry);
+
+		PipelineMetrics pipeline = pipelines.pipeline("off");
+		pipeline.filter("filter", n -> true);
+
+		assertThat(pipeline.isEnabled()).isFalse();
+		assertThat(registry.getMeters()).isEmpty();
+	}
+
+	private static void assertStageMeters(SimpleMeterRegistry registry, String pipeline, String stage) {
+		FunctionCounter in = stageCounter(registry, "stream.pipeline.stage.elements.in", pipeline, stage);
+		assertThat(in.getId().getTags()).containsExactlyInAnyOrder(Tag.of("pipeline", pipeline), Tag.of("stage", stage));
+		assertThat(in.getId().getBaseUnit()).isEqualTo("elements");
+		assertThat(stageCounter(registry, "stream.pipeline.stage.elements.out", pipeline, stage).getId().getBaseUnit())
+				.isEqualTo("elements");
+		Gauge selectivity = registry.get("stream.pipeline.stage.selectivity").tags("pipeline", pipeline, "stage", stage).gauge();
+		assertThat(selectivity).isNotNull();
+		assertThat(registry.get("stream.pipeline.stage.sampled.time").tags("pipeline", pipeline, "stage", stage)
+				.functionTimer()).isNotNull();
+	}
+
+	private static FunctionCounter stageCounter(SimpleMeterRegistry registry, String name, String pipeline, String stage) {
+		return registry.get(name).tags("pipeline", pipeline, "stage", stage).functionCounter();
+	}
+}
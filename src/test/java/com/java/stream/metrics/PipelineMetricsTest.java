@@ -0,0 +1,74 @@
+package com.java.stream.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class PipelineMetricsTest {
+
+	private static final int SIZE = 100_000;
+
+	@Test
+	void stagesCountTheirElementsUnderAParallelStream() throws Exception {
+		List<Integer> numbers = IntStream.range(0, SIZE).boxed().toList();
+		PipelineMetrics metrics = new PipelineMetrics("evens", 16);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			long sum = pool.submit(() -> metrics.measure(() -> metrics.source(numbers.parallelStream())
+					.filter(metrics.filter("even", n -> n % 2 == 0))
+					.map(metrics.map("square", n -> (long) n * n))
+					.peek(metrics.count("after"))
+					.mapToLong(Long::longValue)
+					.sum())).get();
+
+			assertThat(sum).isEqualTo(IntStream.range(0, SIZE).filter(n -> n % 2 == 0).mapToLong(n -> (long) n * n).sum());
+		} finally {
+			pool.shutdown();
+		}
+
+		assertThat(metrics.stages()).extracting(StageMetrics::name).containsExactly("source", "even", "square", "after");
+		assertCounts(metrics.stage("source"), SIZE, SIZE);
+		assertCounts(metrics.stage("even"), SIZE, SIZE / 2);
+		assertCounts(metrics.stage("square"), SIZE / 2, SIZE / 2);
+		assertCounts(metrics.stage("after"), SIZE / 2, SIZE / 2);
+		assertThat(metrics.stage("even").selectivity()).isEqualTo(0.5);
+		assertThat(metrics.stage("even").sampledCalls()).isBetween(1L, (long) SIZE);
+		assertThat(metrics.splits()).isPositive();
+		assertThat(metrics.runs()).isEqualTo(1);
+	}
+
+	@Test
+	void sourceOfUnknownSizeCountsEachElement() {
+		PipelineMetrics metrics = new PipelineMetrics("unsized", 1);
+		Stream<Integer> unsized = StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(IntStream.range(0, SIZE).iterator(), 0), true);
+
+		assertThat(metrics.source(unsized).filter(metrics.filter("odd", n -> n % 2 != 0)).count()).isEqualTo(SIZE / 2);
+		assertCounts(metrics.stage("source"), SIZE, SIZE);
+		assertCounts(metrics.stage("odd"), SIZE, SIZE / 2);
+		assertThat(metrics.stage("odd").sampledCalls()).isEqualTo(SIZE);
+	}
+
+	@Test
+	void disabledMetricsLeaveTheStreamUnchanged() {
+		PipelineMetrics metrics = new PipelineMetrics("off", false, 1, stage -> {
+		});
+		Stream<Integer> stream = Stream.of(1, 2, 3);
+
+		assertThat(metrics.source(stream)).isSameAs(stream);
+		assertThat(Stream.of(1, 2, 3).filter(metrics.filter("odd", n -> n % 2 != 0)).toList()).containsExactly(1, 3);
+		assertThat(metrics.stages()).isEmpty();
+	}
+
+	private static void assertCounts(StageMetrics stage, long in, long out) {
+		assertThat(stage.elementsIn()).as(stage.name() + " in").isEqualTo(in);
+		assertThat(stage.elementsOut()).as(stage.name() + " out").isEqualTo(out);
+	}
+}
@@ -0,0 +1,111 @@
+package com.java.stream.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lists grown element by element from a small capacity, against a List<Integer> built from the same values.
+ * Parallel streams run on a pool of 4, so that the splits are really processed by several workers.
+ */
+class IntListTest {
+
+	private static final int[] SIZES = {0, 1, 2, 3, 16, 17, 1000, 100_003};
+
+	private final SplittableRandom random = new SplittableRandom(2);
+
+	@Test
+	void parallelStreamsMatchAListOfIntegers() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int size : SIZES) {
+				IntList list = new IntList(2);
+				List<Integer> expected = new ArrayList<>();
+				random.ints(size, -1_000, 1_000).forEach(value -> {
+					list.add(value);
+					expected.add(value);
+				});
+
+				assertThat(list.size()).isEqualTo(size);
+				assertThat(pool.submit(() -> list.parallelStream().boxed().toList()).get()).isEqualTo(expected);
+				assertThat(pool.submit(() -> list.stream().parallel().map(n -> n * 3).filter(n -> n % 2 == 0).sum()).get())
+						.isEqualTo(expected.parallelStream().mapToInt(n -> n * 3).filter(n -> n % 2 == 0).sum());
+				assertThat(pool.submit(() -> list.parallelStream().count()).get()).isEqualTo(size);
+				assertThat(pool.submit(() -> list.parallelStream().boxed()
+						.collect(Collectors.groupingBy(n -> n % 10, Collectors.counting()))).get())
+						.isEqualTo(expected.stream().collect(Collectors.groupingBy(n -> n % 10, Collectors.counting())));
+				assertThat(pool.submit(() -> list.parallelStream().skip(size / 3).limit(size / 3).toArray()).get())
+						.isEqualTo(expected.stream().skip(size / 3).limit(size / 3).mapToInt(n -> n).toArray());
+				assertThat(list.parallelStream().sorted().boxed().toList())
+						.isEqualTo(expected.stream().sorted(Comparator.naturalOrder()).toList());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void spliteratorSplitsInHalvesThatStaySizedAndCoverTheList() {
+		IntList list = new IntList(0);
+		for (int i = 0; i < 1001; i++) {
+			list.add(i);
+		}
+		Spliterator.OfInt spliterator = list.spliterator();
+
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED))
+				.isTrue();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1001);
+
+		Spliterator.OfInt prefix = spliterator.trySplit();
+		assertThat(prefix.getExactSizeIfKnown()).isEqualTo(500);
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(501);
+		assertThat(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+
+		// split every part down to single elements; the parts, in encounter order, must be the whole list
+		List<Integer> seen = new ArrayList<>();
+		drain(prefix, seen);
+		drain(spliterator, seen);
+		assertThat(seen).isEqualTo(list.stream().boxed().toList());
+		assertThat(spliterator.trySplit()).isNull();
+		assertThat(spliterator.estimateSize()).isZero();
+	}
+
+	@Test
+	void aSplitAfterTryAdvanceSplitsTheRemainder() {
+		IntList list = IntList.rangeClosed(0, 9);
+		Spliterator.OfInt spliterator = list.spliterator();
+		spliterator.tryAdvance((int value) -> assertThat(value).isZero());
+		spliterator.tryAdvance((int value) -> assertThat(value).isEqualTo(1));
+
+		Spliterator.OfInt prefix = spliterator.trySplit();
+
+		assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(8);
+		List<Integer> seen = new ArrayList<>();
+		prefix.forEachRemaining((int value) -> seen.add(value));
+		spliterator.forEachRemaining((int value) -> seen.add(value));
+		assertThat(seen).containsExactly(2, 3, 4, 5, 6, 7, 8, 9);
+	}
+
+	/** Splits recursively, checking that each pair of halves adds up to the size before the split. */
+	private static void drain(Spliterator.OfInt spliterator, List<Integer> seen) {
+		long size = spliterator.getExactSizeIfKnown();
+		Spliterator.OfInt prefix = spliterator.trySplit();
+		if (prefix == null) {
+			assertThat(size).isLessThanOrEqualTo(1);
+			spliterator.forEachRemaining((int value) -> seen.add(value));
+			return;
+		}
+		assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown()).isEqualTo(size);
+		assertThat(prefix.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+		drain(prefix, seen);
+		drain(spliterator, seen);
+	}
+}
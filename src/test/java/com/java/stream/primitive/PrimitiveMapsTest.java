@@ -0,0 +1,177 @@
+package com.java.stream.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The open-addressing maps against HashMap, under remove-heavy random workloads. The keys are drawn from a
+ * small set of values that share their low hash bits, so probe runs are long and every remove has to shift
+ * the entries behind it back (backward-shift deletion) without losing any of them.
+ */
+class PrimitiveMapsTest {
+
+	private static final int OPERATIONS = 200_000;
+
+	private final SplittableRandom random = new SplittableRandom(21);
+
+	@Test
+	void intIntMapBehavesLikeHashMap() {
+		IntIntMap map = new IntIntMap(4);
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < OPERATIONS; i++) {
+			int key = collidingKey();
+			int value = random.nextInt();
+			switch (random.nextInt(5)) {
+				case 0 -> assertThat(map.put(key, value, -7)).isEqualTo(orDefault(expected.put(key, value), -7));
+				case 1 -> assertThat(map.addTo(key, value)).isEqualTo(expected.merge(key, value, Integer::sum));
+				case 2, 3 -> assertThat(map.remove(key, -7)).isEqualTo(orDefault(expected.remove(key), -7));
+				default -> {
+					assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+					assertThat(map.getOrDefault(key, -7)).isEqualTo(expected.getOrDefault(key, -7));
+				}
+			}
+			assertThat(map.size()).isEqualTo(expected.size());
+		}
+		assertThat(toMap(map)).isEqualTo(expected);
+		expected.keySet().forEach(key -> assertThat(map.getOrDefault(key, -7)).isEqualTo(expected.get(key)));
+	}
+
+	@Test
+	void intObjectMapBehavesLikeHashMap() {
+		IntObjectMap<String> map = new IntObjectMap<>(4);
+		Map<Integer, String> expected = new HashMap<>();
+		for (int i = 0; i < OPERATIONS; i++) {
+			int key = collidingKey();
+			String value = "v" + random.nextInt(100);
+			switch (random.nextInt(5)) {
+				case 0 -> assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+				case 1 -> assertThat(map.computeIfAbsent(key, k -> value)).isEqualTo(expected.computeIfAbsent(key, k -> value));
+				case 2, 3 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+				default -> {
+					assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+					assertThat(map.get(key)).isEqualTo(expected.get(key));
+				}
+			}
+			assertThat(map.size()).isEqualTo(expected.size());
+		}
+		Map<Integer, String> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertThat(actual).isEqualTo(expected);
+		assertThat(IntStream.of(map.keys()).boxed().collect(Collectors.toSet())).isEqualTo(expected.keySet());
+	}
+
+	@Test
+	void objectIntMapBehavesLikeHashMap() {
+		ObjectIntMap<CollidingKey> map = new ObjectIntMap<>(4);
+		Map<CollidingKey, Integer> expected = new HashMap<>();
+		for (int i = 0; i < OPERATIONS; i++) {
+			CollidingKey key = new CollidingKey(random.nextInt(200));
+			int value = random.nextInt(1_000);
+			switch (random.nextInt(5)) {
+				case 0 -> {
+					map.put(key, value);
+					expected.put(key, value);
+				}
+				case 1 -> assertThat(map.addTo(key, value)).isEqualTo(expected.merge(key, value, Integer::sum));
+				case 2, 3 -> assertThat(map.remove(key, -7)).isEqualTo(orDefault(expected.remove(key), -7));
+				default -> {
+					assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+					assertThat(map.getOrDefault(key, -7)).isEqualTo(expected.getOrDefault(key, -7));
+				}
+			}
+			assertThat(map.size()).isEqualTo(expected.size());
+		}
+		Map<CollidingKey, Integer> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	void keyZeroIsAnOrdinaryKey() {
+		IntIntMap map = new IntIntMap();
+		map.addTo(0, 5);
+		map.addTo(0, 5);
+		map.put(Integer.MIN_VALUE, 1);
+
+		assertThat(map.getOrDefault(0, -1)).isEqualTo(10);
+		assertThat(map.size()).isEqualTo(2);
+		assertThat(map.remove(0, -1)).isEqualTo(10);
+		assertThat(map.containsKey(0)).isFalse();
+		assertThat(map.getOrDefault(Integer.MIN_VALUE, -1)).isEqualTo(1);
+	}
+
+	@Test
+	void intObjectMapRejectsNullValues() {
+		assertThatThrownBy(() -> new IntObjectMap<String>().put(1, null)).isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	void collectorsMatchTheBoxedCollectors() {
+		List<Integer> numbers = random.ints(100_000, -500, 500).boxed().toList();
+		Map<Integer, Long> expectedCounts = numbers.stream().collect(Collectors.groupingBy(n -> n % 37, Collectors.counting()));
+		Map<Integer, List<Integer>> expectedGroups = numbers.stream().collect(Collectors.groupingBy(n -> n % 37));
+		Map<String, Integer> expectedSums = numbers.stream()
+				.collect(Collectors.toMap(n -> "k" + n % 13, n -> n, Integer::sum));
+
+		IntIntMap counts = numbers.parallelStream().collect(PrimitiveCollectors.countingByInt(n -> n % 37));
+		IntObjectMap<List<Integer>> groups = numbers.parallelStream().collect(PrimitiveCollectors.groupingByInt(n -> n % 37));
+		ObjectIntMap<String> sums = numbers.parallelStream()
+				.collect(PrimitiveCollectors.summingIntInto(n -> "k" + n % 13, n -> n));
+
+		Map<Integer, Long> actualCounts = new HashMap<>();
+		counts.forEach((key, count) -> actualCounts.put(key, (long) count));
+		Map<Integer, List<Integer>> actualGroups = new HashMap<>();
+		groups.forEach(actualGroups::put);
+		Map<String, Integer> actualSums = new HashMap<>();
+		sums.forEach(actualSums::put);
+		assertThat(actualCounts).isEqualTo(expectedCounts);
+		assertThat(actualGroups).isEqualTo(expectedGroups);
+		assertThat(actualSums).isEqualTo(expectedSums);
+	}
+
+	@Test
+	void toIntMapRejectsDuplicateKeys() {
+		assertThat(IntStream.range(0, 1_000).boxed().parallel().collect(PrimitiveCollectors.toIntMap(n -> n, n -> "v" + n))
+				.get(999)).isEqualTo("v999");
+		assertThatThrownBy(() -> List.of(1, 2, 1).stream().collect(PrimitiveCollectors.toIntMap(n -> n, n -> n)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	/**
+	 * Multiples of 1 << 16, which share their low bits before mixing, and a few keys around 0.
+	 */
+	private int collidingKey() {
+		int key = random.nextInt(-100, 100) << 16;
+		return random.nextInt(10) == 0 ? random.nextInt(-3, 3) : key;
+	}
+
+	private static int orDefault(Integer value, int defaultValue) {
+		return value == null ? defaultValue : value;
+	}
+
+	private static Map<Integer, Integer> toMap(IntIntMap map) {
+		Map<Integer, Integer> result = new HashMap<>();
+		map.forEach(result::put);
+		return result;
+	}
+
+	/**
+	 * A key whose hash codes collide in groups of 25.
+	 */
+	private record CollidingKey(int value) {
+
+		@Override
+		public int hashCode() {
+			return value % 8;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.java.stream.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveSortsTest {
+
+	/** Around the radix and parallel thresholds. */
+	private static final int[] SIZES = {0, 1, 2, 100, 1023, 1024, 1025, 10_000, (1 << 20) + 3};
+
+	private final SplittableRandom random = new SplittableRandom(13);
+
+	@Test
+	void intSortsMatchArraysSort() {
+		for (int size : SIZES) {
+			for (int[] input : List.of(randomInts(size, Integer.MIN_VALUE, Integer.MAX_VALUE), randomInts(size, -50, 50),
+					randomInts(size, 0, 1_000), withExtremes(randomInts(size, -1_000_000, 1_000_000)))) {
+				int[] expected = input.clone();
+				Arrays.sort(expected);
+
+				int[] sorted = input.clone();
+				PrimitiveSorts.sort(sorted);
+				assertThat(sorted).isEqualTo(expected);
+
+				int[] radix = input.clone();
+				PrimitiveSorts.radixSort(radix);
+				assertThat(radix).isEqualTo(expected);
+
+				int[] parallel = input.clone();
+				PrimitiveSorts.parallelSort(parallel);
+				assertThat(parallel).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void intRangeSortsLeaveTheRestUntouched() {
+		int[] input = withExtremes(randomInts(5_000, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		int[] expected = input.clone();
+		Arrays.sort(expected, 1_000, 4_000);
+
+		int[] radix = input.clone();
+		PrimitiveSorts.radixSort(radix, 1_000, 4_000);
+		int[] sorted = input.clone();
+		PrimitiveSorts.sort(sorted, 1_000, 4_000);
+
+		assertThat(radix).isEqualTo(expected);
+		assertThat(sorted).isEqualTo(expected);
+	}
+
+	@Test
+	void longSortsMatchArraysSort() {
+		for (int size : SIZES) {
+			long[] input = random.longs(size).toArray();
+			if (size > 4) {
+				input[0] = Long.MIN_VALUE;
+				input[1] = Long.MAX_VALUE;
+				input[2] = -1;
+				input[3] = 0;
+			}
+			long[] expected = input.clone();
+			Arrays.sort(expected);
+
+			long[] radix = input.clone();
+			PrimitiveSorts.radixSort(radix);
+			long[] sorted = input.clone();
+			PrimitiveSorts.sort(sorted);
+
+			assertThat(radix).isEqualTo(expected);
+			assertThat(sorted).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void charSortsMatchArraysSort() {
+		for (int size : SIZES) {
+			char[] input = new char[size];
+			for (int i = 0; i < size; i++) {
+				input[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+			}
+			char[] expected = input.clone();
+			Arrays.sort(expected);
+
+			char[] radix = input.clone();
+			PrimitiveSorts.radixSort(radix);
+			char[] sorted = input.clone();
+			PrimitiveSorts.sort(sorted);
+
+			assertThat(radix).isEqualTo(expected);
+			assertThat(sorted).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void sortByIntIsStableAndMatchesComparatorSort() {
+		for (int size : new int[] {0, 1, 500, 5_000, (1 << 20) + 3}) {
+			// Few distinct keys, so stability is visible; the index is the element
+			int[] keys = withExtremes(randomInts(size, -20, 20));
+			List<Integer> elements = IntStream.range(0, size).boxed().toList();
+
+			assertThat(PrimitiveSorts.sortByInt(elements, i -> keys[i]))
+					.isEqualTo(elements.stream().sorted(Comparator.comparingInt(i -> keys[i])).toList());
+			assertThat(PrimitiveSorts.sortByIntDescending(elements, i -> keys[i]))
+					.isEqualTo(elements.stream().sorted(Comparator.comparingInt((Integer i) -> keys[i]).reversed()).toList());
+		}
+	}
+
+	@Test
+	void sortByLongAndDoubleMatchComparatorSort() {
+		long[] longKeys = random.longs(3_000, -10, 10).toArray();
+		longKeys[0] = Long.MIN_VALUE;
+		longKeys[1] = Long.MAX_VALUE;
+		double[] doubleKeys = random.doubles(3_000, -5, 5).map(Math::rint).toArray();
+		doubleKeys[0] = Double.NaN;
+		doubleKeys[1] = -0.0;
+		doubleKeys[2] = 0.0;
+		doubleKeys[3] = Double.NEGATIVE_INFINITY;
+		doubleKeys[4] = Double.POSITIVE_INFINITY;
+		doubleKeys[5] = -0.0;
+		List<Integer> elements = IntStream.range(0, 3_000).boxed().toList();
+
+		assertThat(PrimitiveSorts.sortByLong(elements, i -> longKeys[i]))
+				.isEqualTo(elements.stream().sorted(Comparator.comparingLong(i -> longKeys[i])).toList());
+		assertThat(PrimitiveSorts.sortByDouble(elements, i -> doubleKeys[i]))
+				.isEqualTo(elements.stream().sorted(Comparator.comparingDouble(i -> doubleKeys[i])).toList());
+	}
+
+	@Test
+	void intListSortAndSortedCollectorUseTheSameOrder() {
+		int[] values = withExtremes(randomInts(3_000, -100, 100));
+		IntList list = IntList.of(values.clone());
+		list.sort();
+		int[] expected = values.clone();
+		Arrays.sort(expected);
+
+		assertThat(list.toArray()).isEqualTo(expected);
+		assertThat(Arrays.stream(values).boxed().collect(PrimitiveCollectors.toListSortedByInt(Integer::intValue)))
+				.isEqualTo(Arrays.stream(expected).boxed().toList());
+	}
+
+	private int[] randomInts(int size, int origin, int bound) {
+		return origin == Integer.MIN_VALUE && bound == Integer.MAX_VALUE
+				? random.ints(size).toArray()
+				: random.ints(size, origin, bound).toArray();
+	}
+
+	private static int[] withExtremes(int[] values) {
+		if (values.length > 4) {
+			values[0] = Integer.MIN_VALUE;
+			values[1] = Integer.MAX_VALUE;
+			values[2] = -1;
+			values[values.length - 1] = Integer.MIN_VALUE;
+		}
+		return values;
+	}
+}
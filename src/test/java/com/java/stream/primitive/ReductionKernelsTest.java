@@ -0,0 +1,194 @@
+package com.java.stream.primitive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The scalar and the Vector API kernels against the JDK streams, on every range length up to a few vectors,
+ * so the full-vector loop, the scalar tail and unaligned starts are all covered. Doubles are whole numbers,
+ * so their sums are exact whatever the order of the additions.
+ */
+class ReductionKernelsTest {
+
+	private static final int MAX_LENGTH = 80;
+	private static final int MAX_OFFSET = 9;
+
+	private final SplittableRandom random = new SplittableRandom(17);
+
+	private static List<ReductionKernels> kernels() {
+		return List.of(new ScalarReductionKernels(), new VectorReductionKernels());
+	}
+
+	@Test
+	void vectorKernelsAreLoaded() {
+		assertThat(PrimitiveReductions.isVectorized()).isTrue();
+	}
+
+	@Test
+	void intKernelsMatchIntStream() {
+		for (ReductionKernels kernel : kernels()) {
+			for (int length = 0; length <= MAX_LENGTH; length++) {
+				for (int from = 0; from <= MAX_OFFSET; from++) {
+					int[] array = withExtremes(random.ints(from + length + 3).toArray(), from, length);
+					int to = from + length;
+					int threshold = random.nextInt();
+					IntSummaryStatistics expected = Arrays.stream(array, from, to).summaryStatistics();
+
+					assertThat(kernel.sum(array, from, to)).isEqualTo(expected.getSum());
+					assertThat(kernel.countGreaterThan(array, from, to, threshold))
+							.isEqualTo(Arrays.stream(array, from, to).filter(value -> value > threshold).count());
+					assertStatistics(kernel.summaryStatistics(array, from, to), expected);
+					if (length > 0) {
+						assertThat(kernel.min(array, from, to)).isEqualTo(expected.getMin());
+						assertThat(kernel.max(array, from, to)).isEqualTo(expected.getMax());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void longKernelsMatchLongStream() {
+		for (ReductionKernels kernel : kernels()) {
+			for (int length = 0; length <= MAX_LENGTH; length++) {
+				for (int from = 0; from <= MAX_OFFSET; from++) {
+					long[] array = random.longs(from + length + 3).toArray();
+					if (length > 1) {
+						array[from + random.nextInt(length)] = Long.MIN_VALUE;
+						array[from + random.nextInt(length)] = Long.MAX_VALUE;
+					}
+					int to = from + length;
+					long threshold = random.nextLong();
+					LongSummaryStatistics expected = Arrays.stream(array, from, to).summaryStatistics();
+
+					assertThat(kernel.sum(array, from, to)).isEqualTo(expected.getSum());
+					assertThat(kernel.countGreaterThan(array, from, to, threshold))
+							.isEqualTo(Arrays.stream(array, from, to).filter(value -> value > threshold).count());
+					assertStatistics(kernel.summaryStatistics(array, from, to), expected);
+					if (length > 0) {
+						assertThat(kernel.min(array, from, to)).isEqualTo(expected.getMin());
+						assertThat(kernel.max(array, from, to)).isEqualTo(expected.getMax());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void doubleKernelsMatchDoubleStream() {
+		for (ReductionKernels kernel : kernels()) {
+			for (int length = 0; length <= MAX_LENGTH; length++) {
+				for (int from = 0; from <= MAX_OFFSET; from++) {
+					double[] array = random.ints(from + length + 3, -1_000_000, 1_000_000).asDoubleStream().toArray();
+					if (length > 1) {
+						array[from + random.nextInt(length)] = -0.0;
+						array[from + length - 1] = random.nextBoolean() ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+					}
+					int to = from + length;
+					double threshold = random.nextInt(-1_000_000, 1_000_000) + 0.5;
+					DoubleSummaryStatistics expected = Arrays.stream(array, from, to).summaryStatistics();
+
+					assertThat(kernel.sum(array, from, to)).isEqualTo(expected.getSum());
+					assertThat(kernel.countGreaterThan(array, from, to, threshold))
+							.isEqualTo(Arrays.stream(array, from, to).filter(value -> value > threshold).count());
+					assertStatistics(kernel.summaryStatistics(array, from, to), expected);
+					if (length > 0) {
+						assertSameDouble(kernel.min(array, from, to), expected.getMin());
+						assertSameDouble(kernel.max(array, from, to), expected.getMax());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void nanAndBothInfinitiesMatchDoubleStream() {
+		for (ReductionKernels kernel : kernels()) {
+			for (int length = 2; length <= MAX_LENGTH; length++) {
+				double[] infinities = random.ints(length, -100, 100).asDoubleStream().toArray();
+				infinities[random.nextInt(length)] = Double.POSITIVE_INFINITY;
+				infinities[random.nextInt(length)] = Double.NEGATIVE_INFINITY;
+				double[] nan = random.ints(length, -100, 100).asDoubleStream().toArray();
+				nan[random.nextInt(length)] = Double.NaN;
+
+				for (double[] array : List.of(infinities, nan)) {
+					DoubleSummaryStatistics expected = DoubleStream.of(array).summaryStatistics();
+					assertStatistics(kernel.summaryStatistics(array, 0, length), expected);
+					assertSameDouble(kernel.min(array, 0, length), expected.getMin());
+					assertSameDouble(kernel.max(array, 0, length), expected.getMax());
+				}
+			}
+		}
+	}
+
+	@Test
+	void parallelReductionsMatchSequentialOnes() throws Exception {
+		int[] ints = random.ints((1 << 20) + 7).toArray();
+		long[] longs = random.longs((1 << 20) + 7).toArray();
+		double[] doubles = random.ints((1 << 20) + 7, -1_000, 1_000).asDoubleStream().toArray();
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			for (int length : new int[] {0, 1, 1 << 16, (1 << 17) + 1, ints.length}) {
+				int[] intRange = Arrays.copyOf(ints, length);
+				long[] longRange = Arrays.copyOf(longs, length);
+				double[] doubleRange = Arrays.copyOf(doubles, length);
+				IntSummaryStatistics expected = IntStream.of(intRange).summaryStatistics();
+
+				assertThat(PrimitiveReductions.parallelSum(intRange)).isEqualTo(expected.getSum());
+				assertThat(pool.submit(() -> PrimitiveReductions.parallelSum(intRange)).get()).isEqualTo(expected.getSum());
+				assertThat(PrimitiveReductions.parallelCountGreaterThan(intRange, 0))
+						.isEqualTo(IntStream.of(intRange).filter(value -> value > 0).count());
+				assertStatistics(PrimitiveReductions.parallelSummaryStatistics(intRange), expected);
+				assertThat(PrimitiveReductions.parallelSum(longRange)).isEqualTo(LongStream.of(longRange).sum());
+				assertStatistics(PrimitiveReductions.parallelSummaryStatistics(longRange),
+						LongStream.of(longRange).summaryStatistics());
+				assertStatistics(PrimitiveReductions.parallelSummaryStatistics(doubleRange),
+						DoubleStream.of(doubleRange).summaryStatistics());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private int[] withExtremes(int[] array, int from, int length) {
+		if (length > 1) {
+			array[from + random.nextInt(length)] = Integer.MIN_VALUE;
+			array[from + random.nextInt(length)] = Integer.MAX_VALUE;
+		}
+		return array;
+	}
+
+	private static void assertStatistics(IntSummaryStatistics actual, IntSummaryStatistics expected) {
+		assertThat(actual).hasToString(expected.toString());
+	}
+
+	private static void assertStatistics(LongSummaryStatistics actual, LongSummaryStatistics expected) {
+		assertThat(actual).hasToString(expected.toString());
+	}
+
+	private static void assertStatistics(DoubleSummaryStatistics actual, DoubleSummaryStatistics expected) {
+		assertThat(actual.getCount()).isEqualTo(expected.getCount());
+		assertSameDouble(actual.getSum(), expected.getSum());
+		assertSameDouble(actual.getMin(), expected.getMin());
+		assertSameDouble(actual.getMax(), expected.getMax());
+	}
+
+	/**
+	 * Double.equals: NaN equals NaN, and -0.0 differs from 0.0.
+	 */
+	private static void assertSameDouble(double actual, double expected) {
+		assertThat(Double.valueOf(actual)).isEqualTo(Double.valueOf(expected));
+	}
+}
@@ -0,0 +1,97 @@
+package com.java.stream.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The same seed must give the same numbers sequentially, in parallel on pools of any size, and in every run.
+ */
+class RandomSourcesTest {
+
+	private static final long[] COUNTS = {0, 1, RandomSources.BLOCK_SIZE - 1, RandomSources.BLOCK_SIZE,
+			RandomSources.BLOCK_SIZE + 1, 100_003};
+
+	@Test
+	void parallelStreamsMatchSequentialOnes() throws Exception {
+		for (long count : COUNTS) {
+			assertSameEverywhere(() -> RandomSources.ints(7, count).toArray(),
+					() -> RandomSources.ints(7, count).parallel().toArray());
+			assertSameEverywhere(() -> RandomSources.ints(7, count, -5, 1_000).toArray(),
+					() -> RandomSources.ints(7, count, -5, 1_000).parallel().toArray());
+			assertSameEverywhere(() -> RandomSources.longs(7, count).toArray(),
+					() -> RandomSources.longs(7, count).parallel().toArray());
+			assertSameEverywhere(() -> RandomSources.longs(7, count, Long.MIN_VALUE, 0).toArray(),
+					() -> RandomSources.longs(7, count, Long.MIN_VALUE, 0).parallel().toArray());
+			assertSameEverywhere(() -> RandomSources.doubles(7, count).toArray(),
+					() -> RandomSources.doubles(7, count).parallel().toArray());
+			assertSameEverywhere(() -> RandomSources.doubles(7, count, -1.5, 2.5).toArray(),
+					() -> RandomSources.doubles(7, count, -1.5, 2.5).parallel().toArray());
+		}
+	}
+
+	@Test
+	void aShorterStreamIsAPrefixOfALongerOne() {
+		long[] longer = RandomSources.longs(11, 50_000).parallel().toArray();
+
+		assertThat(RandomSources.longs(11, 3_333).toArray()).isEqualTo(Arrays.copyOf(longer, 3_333));
+		assertThat(RandomSources.longs(12, 3_333).toArray()).isNotEqualTo(Arrays.copyOf(longer, 3_333));
+	}
+
+	@Test
+	void valuesStayWithinTheirBounds() {
+		assertThat(RandomSources.ints(3, 100_000, -5, 5).parallel().summaryStatistics())
+				.satisfies(statistics -> {
+					assertThat(statistics.getMin()).isEqualTo(-5);
+					assertThat(statistics.getMax()).isEqualTo(4);
+				});
+		assertThat(RandomSources.doubles(3, 100_000).parallel().allMatch(d -> d >= 0 && d < 1)).isTrue();
+		// every block draws fresh values: no two blocks repeat each other
+		int[] values = RandomSources.ints(3, 8L * RandomSources.BLOCK_SIZE).toArray();
+		assertThat(IntStream.range(1, 8).allMatch(block -> values[block * RandomSources.BLOCK_SIZE] != values[0])).isTrue();
+	}
+
+	@Test
+	void splitsFallOnBlockBoundariesEvenAfterAdvancing() {
+		long count = 10L * RandomSources.BLOCK_SIZE + 17;
+		long[] expected = RandomSources.longs(5, count).toArray();
+		Spliterator.OfLong suffix = RandomSources.longs(5, count).spliterator();
+		long[] actual = new long[(int) count];
+		int[] position = {0};
+		for (int i = 0; i < 100; i++) {
+			suffix.tryAdvance((long value) -> actual[position[0]++] = value);
+		}
+
+		Spliterator.OfLong prefix = suffix.trySplit();
+
+		assertThat(prefix.estimateSize() + 100).isEqualTo(5L * RandomSources.BLOCK_SIZE);
+		assertThat(suffix.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+		prefix.forEachRemaining((long value) -> actual[position[0]++] = value);
+		suffix.forEachRemaining((long value) -> actual[position[0]++] = value);
+		assertThat(actual).isEqualTo(expected);
+		assertThat(RandomSources.longs(5, RandomSources.BLOCK_SIZE).spliterator().trySplit()).isNull();
+	}
+
+	/**
+	 * The parallel run on the common pool and on pools of 1, 3 and 8 workers, twice each, against the sequential run.
+	 */
+	private static <A> void assertSameEverywhere(Supplier<A> sequential, Supplier<A> parallel) throws Exception {
+		A expected = sequential.get();
+		assertThat(parallel.get()).isEqualTo(expected);
+		for (int parallelism : new int[] {1, 3, 8}) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				assertThat(pool.submit(parallel::get).get()).isEqualTo(expected);
+				assertThat(pool.submit(parallel::get).get()).isEqualTo(expected);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+}
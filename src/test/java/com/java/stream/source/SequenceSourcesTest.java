@@ -0,0 +1,123 @@
+package com.java.stream.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Parallel toArray() of the jump-ahead sources against plain step-by-step iteration, including ranges that end
+ * at Long.MAX_VALUE, where the split midpoint (lo + fence) overflows.
+ */
+class SequenceSourcesTest {
+
+	private static final List<Recurrence> RECURRENCES = List.of(
+			new Recurrence(1, 1, 0, 1),
+			new Recurrence(2, -1, 5, 8),
+			new Recurrence(3, 7, -4, 1_000_000_007L),
+			new Recurrence(-6_000_000_001L, 123_456_789_013L, Long.MAX_VALUE, Long.MIN_VALUE));
+
+	@Test
+	void fibonacciMatchesTheKnownValues() {
+		assertThat(LinearRecurrence.fibonacci().longs(12).toArray()).containsExactly(0, 1, 1, 2, 3, 5, 8, 13, 21, 34, 55, 89);
+		assertThat(LinearRecurrence.fibonacci().element(92)).isEqualTo(7_540_113_804_746_346_429L);
+	}
+
+	@Test
+	void parallelRecurrencesMatchIteration() {
+		for (Recurrence definition : RECURRENCES) {
+			LinearRecurrence recurrence = definition.source();
+			for (int count : new int[] {0, 1, 2, 3, 17, 10_000}) {
+				long[] expected = definition.iterate(count);
+
+				assertThat(recurrence.longs(count).toArray()).isEqualTo(expected);
+				assertThat(recurrence.longs(count).parallel().toArray()).isEqualTo(expected);
+				if (count > 0) {
+					assertThat(recurrence.element(count - 1)).isEqualTo(expected[count - 1]);
+				}
+			}
+			long[] all = definition.iterate(5_000);
+			assertThat(recurrence.range(1_234, 4_321).parallel().toArray())
+					.isEqualTo(LongStream.range(1_234, 4_321).map(k -> all[(int) k]).toArray());
+		}
+	}
+
+	@Test
+	void rangesNearLongMaxValueSplitAndJumpCorrectly() {
+		long from = Long.MAX_VALUE - 20_000;
+		for (Recurrence definition : RECURRENCES) {
+			LinearRecurrence recurrence = definition.source();
+			// the jump to from, then plain steps, against a parallel walk that jumps to every split point
+			long[] sequential = recurrence.range(from, Long.MAX_VALUE).toArray();
+
+			assertThat(recurrence.range(from, Long.MAX_VALUE).parallel().toArray()).isEqualTo(sequential);
+			assertThat(sequential).hasSize(20_000);
+			for (int i = 2; i < sequential.length; i++) {
+				assertThat(sequential[i]).isEqualTo(definition.step(sequential[i - 1], sequential[i - 2]));
+			}
+			assertThat(recurrence.element(Long.MAX_VALUE - 1)).isEqualTo(sequential[sequential.length - 1]);
+		}
+	}
+
+	@Test
+	void spliteratorSplitsIntoSizedHalves() {
+		Spliterator.OfLong suffix = LinearRecurrence.fibonacci().range(Long.MAX_VALUE - 7, Long.MAX_VALUE).spliterator();
+		Spliterator.OfLong prefix = suffix.trySplit();
+
+		assertThat(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+		assertThat(prefix.estimateSize()).isEqualTo(3);
+		assertThat(suffix.estimateSize()).isEqualTo(4);
+		Spliterator.OfLong single = LinearRecurrence.fibonacci().range(5, 6).spliterator();
+		assertThat(single.trySplit()).isNull();
+		assertThatThrownBy(() -> LinearRecurrence.fibonacci().range(5, 4)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LinearRecurrence.fibonacci().range(-1, 4)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void arithmeticSequencesWrapLikeRepeatedAddition() {
+		int[][] intCases = {{0, 3}, {Integer.MAX_VALUE - 10, 7}, {Integer.MIN_VALUE, -1_000_003}, {5, Integer.MIN_VALUE}};
+		for (int[] sequence : intCases) {
+			int[] expected = Stream.iterate(sequence[0], n -> n + sequence[1]).limit(10_000).mapToInt(Integer::intValue).toArray();
+
+			assertThat(ArithmeticSequence.ints(sequence[0], sequence[1], 10_000).toArray()).isEqualTo(expected);
+			assertThat(ArithmeticSequence.ints(sequence[0], sequence[1], 10_000).parallel().toArray()).isEqualTo(expected);
+		}
+		long[][] longCases = {{1, 1}, {Long.MAX_VALUE - 3, 2}, {Long.MIN_VALUE, 9_000_000_000_000_000_001L}};
+		for (long[] sequence : longCases) {
+			long[] expected = LongStream.iterate(sequence[0], n -> n + sequence[1]).limit(10_000).toArray();
+
+			assertThat(ArithmeticSequence.longs(sequence[0], sequence[1], 10_000).parallel().toArray()).isEqualTo(expected);
+			assertThat(ArithmeticSequence.element(sequence[0], sequence[1], 9_999)).isEqualTo(expected[9_999]);
+		}
+		assertThat(ArithmeticSequence.ints(1, 1, 0).count()).isZero();
+		assertThatThrownBy(() -> ArithmeticSequence.ints(1, 1, -1)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(ArithmeticSequence.ints(0, 2, 5).toArray()).containsExactly(0, 2, 4, 6, 8);
+	}
+
+	/**
+	 * A recurrence's definition, iterated step by step as the reference.
+	 */
+	private record Recurrence(long p, long q, long a0, long a1) {
+
+		LinearRecurrence source() {
+			return new LinearRecurrence(p, q, a0, a1);
+		}
+
+		long step(long previous, long beforePrevious) {
+			return p * previous + q * beforePrevious;
+		}
+
+		long[] iterate(int count) {
+			long[] values = new long[count];
+			for (int k = 0; k < count; k++) {
+				values[k] = k == 0 ? a0 : k == 1 ? a1 : step(values[k - 1], values[k - 2]);
+			}
+			return values;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.java.stream.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.stream.customclass.Employee;
+import com.java.stream.execution.ParallelStreamExecutor;
+import com.java.stream.execution.PoolSettings;
+import com.java.stream.metrics.PipelineMetricsRegistry;
+
+class EmployeeControllerTest {
+
+	private final ParallelStreamExecutor executor = new ParallelStreamExecutor(
+			Map.of("analytics", new PoolSettings(2, 4)), Duration.ofSeconds(5));
+
+	private final List<Employee> employees = List.of(
+			new Employee("John Doe", 1001, 45000, "IT", "Software Engineer", 5, "Full-time", List.of("Java")),
+			new Employee("Alice Smith", 1002, 55000, "HR", "HR Manager", 10, "Full-time", List.of("Recruiting")),
+			new Employee("Jane Roe", 1003, 65000, "IT", "Architect", 10, "Full-time", List.of("Java", "SQL")),
+			new Employee("David Brown", 1005, 75000, "Finance", "Finance Manager", 12, "Part-time", List.of("Leadership")));
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final EmployeeController controller = new EmployeeController(new EmployeeDataset(employees), objectMapper,
+			executor, new PipelineMetricsRegistry(false, 64));
+
+	private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+	@AfterEach
+	void close() {
+		executor.close();
+	}
+
+	@Test
+	void topReturnsTheBestEmployeesFirst() {
+		assertThat(controller.top("salary", 2, "desc")).extracting(Employee::getId).containsExactly(1005, 1003);
+		assertThat(controller.top("yearsOfExperience", 1, "asc")).extracting(Employee::getId).containsExactly(1001);
+	}
+
+	@Test
+	void topAcceptsNUpToTheCapEvenAboveTheDatasetSize() {
+		assertThat(controller.top("salary", EmployeeController.MAX_TOP_N, "desc")).hasSize(4);
+		assertThat(controller.top("salary", 0, "desc")).isEmpty();
+	}
+
+	@Test
+	void topRejectsNOutsideTheCap() {
+		assertThatThrownBy(() -> controller.top("salary", EmployeeController.MAX_TOP_N + 1, "desc"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> controller.top("salary", 2_000_000_000, "desc"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> controller.top("salary", -1, "desc"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void filterStreamsTheMatchingEmployeesAsNdjson() throws Exception {
+		MvcResult started = mockMvc.perform(get("/employees").param("department", "IT").param("minSalary", "50000"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().string(objectMapper.writeValueAsString(employees.get(2)) + "\n"));
+	}
+
+	@Test
+	void filterWritesOneLinePerEmployeeInDatasetOrder() throws Exception {
+		MvcResult all = mockMvc.perform(get("/employees").param("employmentType", "Full-time").param("skill", "Java"))
+				.andReturn();
+		MvcResult none = mockMvc.perform(get("/employees").param("department", "Marketing")).andReturn();
+
+		mockMvc.perform(asyncDispatch(all))
+				.andExpect(content().string(objectMapper.writeValueAsString(employees.get(0)) + "\n"
+						+ objectMapper.writeValueAsString(employees.get(2)) + "\n"));
+		mockMvc.perform(asyncDispatch(none))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void groupByCountsPerValueSortedByValue() throws Exception {
+		mockMvc.perform(get("/employees/group-by/department"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(content().json("{\"Finance\":1,\"HR\":1,\"IT\":2}", true));
+		mockMvc.perform(get("/employees/group-by/yearsOfExperience"))
+				.andExpect(content().json("{\"5\":1,\"10\":2,\"12\":1}", true));
+	}
+
+	@Test
+	void aggregateSummarizesAFieldOverallAndPerGroup() throws Exception {
+		mockMvc.perform(get("/employees/aggregate"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.all.count").value(4))
+				.andExpect(jsonPath("$.all.sum").value(240000))
+				.andExpect(jsonPath("$.all.min").value(45000))
+				.andExpect(jsonPath("$.all.max").value(75000))
+				.andExpect(jsonPath("$.all.average").value(60000.0));
+		mockMvc.perform(get("/employees/aggregate").param("field", "yearsOfExperience").param("groupBy", "department"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.IT.count").value(2))
+				.andExpect(jsonPath("$.IT.min").value(5))
+				.andExpect(jsonPath("$.IT.max").value(10))
+				.andExpect(jsonPath("$.Finance.sum").value(12))
+				.andExpect(jsonPath("$.HR.average").value(10.0));
+	}
+
+	@Test
+	void unknownOrNonNumericFieldNamesAreRejected() throws Exception {
+		mockMvc.perform(get("/employees/group-by/salary"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error", containsString("Cannot group by 'salary'")));
+		mockMvc.perform(get("/employees/group-by/unknown"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/employees/aggregate").param("field", "department"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error", containsString("Unknown numeric field 'department'")));
+		mockMvc.perform(get("/employees/aggregate").param("groupBy", "name"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error", containsString("Cannot group by 'name'")));
+		mockMvc.perform(get("/employees/top").param("by", "name"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error", containsString("Unknown numeric field 'name'")));
+		mockMvc.perform(get("/employees/top").param("n", String.valueOf(EmployeeController.MAX_TOP_N + 1)))
+				.andExpect(status().isBadRequest());
+	}
+}
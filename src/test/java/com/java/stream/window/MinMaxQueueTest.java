@@ -0,0 +1,65 @@
+package com.java.stream.window;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * MinMaxQueue against a plain queue whose aggregates are recomputed from scratch after every operation.
+ */
+class MinMaxQueueTest {
+
+	private final SplittableRandom random = new SplittableRandom(22);
+
+	@Test
+	void matchesABruteForceQueue() {
+		MinMaxQueue queue = new MinMaxQueue();
+		ArrayDeque<long[]> expected = new ArrayDeque<>();
+		for (int i = 0; i < 100_000; i++) {
+			// Phases that grow and shrink the queue, so both stacks are refilled at many sizes
+			boolean growing = (i / 5_000) % 2 == 0;
+			if (expected.isEmpty() || random.nextInt(10) < (growing ? 6 : 3)) {
+				long value = random.nextInt(4) == 0 ? extreme() : random.nextLong(-1_000, 1_000);
+				queue.add(i, value);
+				expected.add(new long[] {i, value});
+			} else {
+				assertThat(queue.oldestKey()).isEqualTo(expected.peek()[0]);
+				assertThat(queue.removeOldest()).isEqualTo(expected.poll()[1]);
+			}
+
+			assertThat(queue.size()).isEqualTo(expected.size());
+			assertThat(queue.sum()).isEqualTo(expected.stream().mapToLong(pair -> pair[1]).sum());
+			if (!expected.isEmpty()) {
+				assertThat(queue.min()).isEqualTo(expected.stream().mapToLong(pair -> pair[1]).min().getAsLong());
+				assertThat(queue.max()).isEqualTo(expected.stream().mapToLong(pair -> pair[1]).max().getAsLong());
+			}
+			if (i % 10_000 == 9_999) {
+				queue.clear();
+				expected.clear();
+			}
+		}
+	}
+
+	@Test
+	void emptyQueueHasNoOldestMinOrMax() {
+		MinMaxQueue queue = new MinMaxQueue();
+		queue.add(1, 7);
+		queue.removeOldest();
+
+		assertThat(queue.isEmpty()).isTrue();
+		assertThat(queue.sum()).isZero();
+		assertThatThrownBy(queue::min).isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(queue::max).isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(queue::oldestKey).isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(queue::removeOldest).isInstanceOf(NoSuchElementException.class);
+	}
+
+	private long extreme() {
+		return random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+	}
+}
@@ -0,0 +1,115 @@
+package com.java.stream.window;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class WindowsTest {
+
+	private static Stream<Point> series() {
+		return Stream.of(new Point(0, 5), new Point(3, 1), new Point(9, 7), new Point(10, 2), new Point(14, 4));
+	}
+
+	@Test
+	void tumblingWindowsOfElements() {
+		assertThat(Windows.tumbling(LongStream.rangeClosed(1, 10).boxed(), 3, Long::longValue).toList()).containsExactly(
+				new Window(0, 3, 3, 6, 1, 3),
+				new Window(3, 6, 3, 15, 4, 6),
+				new Window(6, 9, 3, 24, 7, 9),
+				new Window(9, 10, 1, 10, 10, 10));
+	}
+
+	@Test
+	void slidingWindowsOfElements() {
+		assertThat(Windows.sliding(Stream.of(3L, 1L, 4L, 1L, 5L), 3, Long::longValue).toList()).containsExactly(
+				new Window(0, 3, 3, 8, 1, 4),
+				new Window(1, 4, 3, 6, 1, 4),
+				new Window(2, 5, 3, 10, 1, 5));
+		assertThat(Windows.sliding(Stream.of(1L, 2L), 3, Long::longValue)).isEmpty();
+	}
+
+	@Test
+	void tumblingWindowsByTime() {
+		assertThat(Windows.tumblingByTime(series(), Point::time, 5, Point::value).toList()).containsExactly(
+				new Window(0, 5, 2, 6, 1, 5),
+				new Window(5, 10, 1, 7, 7, 7),
+				new Window(10, 15, 2, 6, 2, 4));
+		// Negative timestamps and disorder inside a window
+		assertThat(Windows.tumblingByTime(Stream.of(new Point(-1, 3), new Point(-7, 8), new Point(2, 1)),
+				Point::time, 10, Point::value).toList()).containsExactly(
+				new Window(-10, 0, 2, 11, 3, 8),
+				new Window(0, 10, 1, 1, 1, 1));
+	}
+
+	@Test
+	void slidingWindowsByTime() {
+		assertThat(Windows.slidingByTime(series(), Point::time, 5, Point::value).toList()).containsExactly(
+				new Window(-5, 0, 1, 5, 5, 5),
+				new Window(-2, 3, 2, 6, 1, 5),
+				new Window(4, 9, 1, 7, 7, 7),
+				new Window(5, 10, 2, 9, 2, 7),
+				new Window(9, 14, 2, 6, 2, 4));
+	}
+
+	@Test
+	void sessionWindows() {
+		assertThat(Windows.session(series(), Point::time, 3, Point::value).toList()).containsExactly(
+				new Window(0, 3, 2, 6, 1, 5),
+				new Window(9, 10, 2, 9, 2, 7),
+				new Window(14, 14, 1, 4, 4, 4));
+		assertThat(Windows.session(series(), Point::time, 0, Point::value).count()).isEqualTo(5);
+	}
+
+	@Test
+	void timestampsGoingBackFailTheTimeWindows() {
+		Stream<Point> late = Stream.of(new Point(10, 1), new Point(20, 1), new Point(15, 1));
+
+		assertThatThrownBy(() -> Windows.slidingByTime(late, Point::time, 5, Point::value).toList())
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> Windows.session(Stream.of(new Point(10, 1), new Point(5, 1)), Point::time, 3, Point::value)
+				.toList())
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> Windows.tumblingByTime(Stream.of(new Point(10, 1), new Point(20, 1), new Point(5, 1)),
+				Point::time, 10, Point::value).toList())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void infiniteSourcesYieldWindowsLazily() {
+		assertThat(Windows.sliding(Stream.iterate(0L, i -> i + 1), 3, Long::longValue).skip(1_000).findFirst())
+				.contains(new Window(1_000, 1_003, 3, 3_003, 1_000, 1_002));
+		assertThat(Windows.session(Stream.iterate(0L, i -> i + 1), i -> i / 10 * 100 + i % 10, 1, i -> i)
+				.limit(3)
+				.toList()).containsExactly(
+				new Window(0, 9, 10, 45, 0, 9),
+				new Window(100, 109, 10, 145, 10, 19),
+				new Window(200, 209, 10, 245, 20, 29));
+	}
+
+	@Test
+	void closingTheWindowsClosesTheSource() {
+		AtomicBoolean closed = new AtomicBoolean();
+		try (Stream<Window> windows = Windows.tumbling(Stream.of(1L, 2L).onClose(() -> closed.set(true)), 1, Long::longValue)) {
+			assertThat(windows.count()).isEqualTo(2);
+		}
+		assertThat(closed).isTrue();
+	}
+
+	@Test
+	void rejectsInvalidSizes() {
+		assertThatThrownBy(() -> Windows.tumbling(Stream.of(1L), 0, Long::longValue))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Windows.slidingByTime(Stream.of(1L), i -> i, 0, Long::longValue))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Windows.session(Stream.of(1L), i -> i, -1, Long::longValue))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private record Point(long time, long value) {
+	}
+}